@@ -0,0 +1,161 @@
+package com.sdemo1.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sdemo1.entity.FoodItem;
+import com.sdemo1.util.CategoryTable.CategoryInfo;
+
+/**
+ * 항목별 카테고리 정보 채우기: CategoryTable vs 기존 문자열 키 맵 (메인 20개, 서브 270개, 재료 1만 건)
+ * - spacing 3은 서브 카테고리 ID가 촘촘한 경우(직접 인덱싱), 1000은 듬성한 경우(이진 탐색)
+ * - 한 번 호출에 1만 건을 채우고 OperationsPerInvocation으로 나누므로 결과는 항목 하나당 시간이다
+ * - 항목 하나당 할당량은 GC 프로파일러의 gc.alloc.rate.norm (B/op)으로 본다: ./gradlew jmh -Pjmh.includes=CategoryTable
+ * - parent_id 문자열은 항목마다 별도 객체로 두고 200벌을 돌려 쓴다 (두 번째 바퀴부터는 기준 쪽 HashMap이 hash 캐시 덕을 봄)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(CategoryTableBenchmark.ITEMS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class CategoryTableBenchmark {
+
+    static final int ITEMS = 10_000;
+    private static final int MAINS = 20;
+    private static final int SUBS = 270;
+    private static final int BATCHES = 200;
+
+    @Param({"3", "1000"})
+    private int spacing;
+
+    private CategoryTable table;
+    private Map<String, Map<String, Object>> categoryMap;
+    private List<List<FoodItem>> batches;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<FoodItem> categories = new ArrayList<>();
+        for (int m = 0; m < MAINS; m++) {
+            categories.add(new FoodItem(m, 100 + m, "메인" + m, m % 2 == 0 ? "P" : "R", null, null, null, 0, 0, null, null));
+        }
+        for (int s = 0; s < SUBS; s++) {
+            categories.add(new FoodItem(MAINS + s, 1000 + s * spacing, "서브" + s, String.valueOf(100 + s % MAINS),
+                    null, null, null, 0, 0, null, null));
+        }
+        categoryMap = FoodCategoryUtil.buildCategoryMap(categories);
+        table = CategoryTable.of(categories);
+
+        Random random = new Random(3);
+        List<String> parentIds = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            parentIds.add(String.valueOf(1000 + random.nextInt(SUBS) * spacing));
+        }
+        batches = new ArrayList<>(BATCHES);
+        for (int b = 0; b < BATCHES; b++) {
+            batches.add(items(parentIds));
+        }
+
+        // 두 방식이 같은 값을 채우는지 먼저 확인
+        List<FoodItem> mapItems = items(parentIds);
+        List<FoodItem> tableItems = items(parentIds);
+        enrichWithMap(categoryMap, mapItems);
+        enrichWithTable(table, tableItems);
+        for (int i = 0; i < ITEMS; i++) {
+            FoodItem expected = mapItems.get(i);
+            FoodItem actual = tableItems.get(i);
+            if (actual.getSID() != expected.getSID() || actual.getMID() != expected.getMID()
+                    || !Objects.equals(actual.getSName(), expected.getSName())
+                    || !Objects.equals(actual.getMName(), expected.getMName())) {
+                throw new IllegalStateException("카테고리 정보가 다릅니다: parent_id " + parentIds.get(i));
+            }
+        }
+    }
+
+    @Benchmark
+    public int categoryTable() {
+        return enrichWithTable(table, nextBatch());
+    }
+
+    /**
+     * 기준: CategoryTable 도입 전 문자열 키 맵
+     */
+    @Benchmark
+    public int stringKeyMap() {
+        return enrichWithMap(categoryMap, nextBatch());
+    }
+
+    private List<FoodItem> nextBatch() {
+        List<FoodItem> batch = batches.get(cursor);
+        cursor = cursor + 1 == BATCHES ? 0 : cursor + 1;
+        return batch;
+    }
+
+    private static List<FoodItem> items(List<String> parentIds) {
+        List<FoodItem> items = new ArrayList<>(parentIds.size());
+        for (int i = 0; i < parentIds.size(); i++) {
+            items.add(new FoodItem(i, 50000 + i, "재료" + i, new String(parentIds.get(i).toCharArray()),
+                    null, null, null, 0, 0, null, null));
+        }
+        return items;
+    }
+
+    // 채운 항목 수 반환
+    private static int enrichWithTable(CategoryTable table, List<FoodItem> items) {
+        int enriched = 0;
+        for (FoodItem item : items) {
+            CategoryInfo info = table.get(item.getParentID());
+            if (info != null) {
+                item.setSID(info.sId());
+                item.setSName(info.sName());
+                if (info.hasMain()) {
+                    item.setMID(info.mId());
+                    item.setMName(info.mName());
+                }
+                enriched++;
+            }
+        }
+        return enriched;
+    }
+
+    // CategoryTable 도입 전 CategoryService.enrichWithCategoryInfo 와 같은 처리
+    private static int enrichWithMap(Map<String, Map<String, Object>> categoryMap, List<FoodItem> items) {
+        int enriched = 0;
+        for (FoodItem item : items) {
+            String parentID = item.getParentID();
+            Map<String, Object> categoryInfo = categoryMap.get(parentID);
+            if (categoryInfo != null) {
+                try {
+                    item.setSID(Integer.parseInt(parentID));
+                    item.setSName(String.valueOf(categoryInfo.get("sName")));
+                    item.setMID(Integer.parseInt(String.valueOf(categoryInfo.get("mID"))));
+                    item.setMName(String.valueOf(categoryInfo.get("mName")));
+                    enriched++;
+                } catch (Exception e) {
+                    System.out.println("데이터 변환 중 오류: " + e.getMessage());
+                }
+            }
+        }
+        return enriched;
+    }
+}
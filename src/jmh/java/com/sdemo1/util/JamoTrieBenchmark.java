@@ -0,0 +1,128 @@
+package com.sdemo1.util;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sdemo1.bench.FoodNames;
+
+/**
+ * 자동완성 키 입력 한 번의 조회 시간: 트라이 조회 vs 전체 이름 순차 비교 (1만 건, 한 글자씩 입력하는 접두사)
+ * - 질의는 임의 이름의 자모/초성 접두사 (1키 ~ 전체) 2천 개를 돌아가며 쓴다
+ * - 결과 배열을 반환해 JMH가 소비하므로 조회가 지워지지 않는다
+ * - 준비 단계에서 트라이 결과가 순차 비교 결과와 같은지 먼저 확인한다
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class JamoTrieBenchmark {
+
+    private static final int NAMES = 10_000;
+    private static final int QUERIES = 2_000;
+    private static final int LIMIT = 10;
+
+    private List<String> jamoKeys;
+    private List<String> chosungKeys;
+    private Integer[] jamoOrder;
+    private Integer[] chosungOrder;
+    private JamoTrie jamoTrie;
+    private JamoTrie chosungTrie;
+    private String[] jamoQueries;
+    private String[] chosungQueries;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<String> names = FoodNames.generate(NAMES, 42);
+        jamoKeys = names.stream().map(HangulUtils::toJamo).toList();
+        chosungKeys = names.stream().map(HangulUtils::toChosung).toList();
+        jamoTrie = JamoTrie.build(jamoKeys, 20);
+        chosungTrie = JamoTrie.build(chosungKeys, 20);
+        jamoOrder = priorityOrder(jamoKeys);
+        chosungOrder = priorityOrder(chosungKeys);
+
+        // 입력 중인 상태: 임의 이름의 자모/초성 접두사 (1키 ~ 전체)
+        Random random = new Random(7);
+        jamoQueries = new String[QUERIES];
+        chosungQueries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            String jamo = jamoKeys.get(random.nextInt(NAMES));
+            jamoQueries[i] = jamo.substring(0, 1 + random.nextInt(jamo.length()));
+            String chosung = chosungKeys.get(random.nextInt(NAMES));
+            chosungQueries[i] = chosung.substring(0, 1 + random.nextInt(chosung.length()));
+        }
+
+        for (int i = 0; i < QUERIES; i++) {
+            if (!Arrays.equals(jamoTrie.topK(jamoQueries[i], LIMIT), scan(jamoKeys, jamoOrder, jamoQueries[i], LIMIT))
+                    || !Arrays.equals(chosungTrie.topK(chosungQueries[i], LIMIT),
+                            scan(chosungKeys, chosungOrder, chosungQueries[i], LIMIT))) {
+                throw new IllegalStateException("트라이 결과가 순차 비교와 다릅니다: " + jamoQueries[i] + " / " + chosungQueries[i]);
+            }
+        }
+    }
+
+    @Benchmark
+    public int[] jamoTrie() {
+        return jamoTrie.topK(jamoQueries[next()], LIMIT);
+    }
+
+    @Benchmark
+    public int[] chosungTrie() {
+        return chosungTrie.topK(chosungQueries[next()], LIMIT);
+    }
+
+    /**
+     * 기준: 트라이 도입 전처럼 전체 이름을 우선순위 순으로 훑으며 접두사 비교
+     */
+    @Benchmark
+    public int[] jamoScan() {
+        return scan(jamoKeys, jamoOrder, jamoQueries[next()], LIMIT);
+    }
+
+    @Benchmark
+    public int[] chosungScan() {
+        return scan(chosungKeys, chosungOrder, chosungQueries[next()], LIMIT);
+    }
+
+    private int next() {
+        int index = cursor;
+        cursor = index + 1 == QUERIES ? 0 : index + 1;
+        return index;
+    }
+
+    // 트라이와 같은 우선순위 (키 길이 → 문서 번호)
+    private static Integer[] priorityOrder(List<String> keys) {
+        Integer[] order = new Integer[keys.size()];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, Comparator.<Integer>comparingInt(doc -> keys.get(doc).length()).thenComparingInt(doc -> doc));
+        return order;
+    }
+
+    private static int[] scan(List<String> keys, Integer[] order, String prefix, int limit) {
+        int[] result = new int[limit];
+        int count = 0;
+        for (int i = 0; i < order.length && count < limit; i++) {
+            if (keys.get(order[i]).startsWith(prefix)) {
+                result[count++] = order[i];
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+}
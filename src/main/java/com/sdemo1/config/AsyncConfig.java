@@ -12,14 +12,14 @@ import java.util.concurrent.Executor;
 public class AsyncConfig {
 
     /**
-     * 레시피 추천 전용 스레드 풀
+     * 레시피 추천 전용 스레드 풀 (IngredientOutboxRelay가 남은 용량만큼만 가져와 RecommendationCoalescer가 사용자별로 묶어서 넣음)
      * - corePoolSize: 기본 스레드 수 (항상 유지)
      * - maxPoolSize: 최대 스레드 수 (부하 시 증가)
      * - queueCapacity: 작업 큐 크기 (FIFO 처리)
      * - keepAliveTime: 유휴 스레드 유지 시간
      */
     @Bean(name = "recipeRecommendationExecutor")
-    public Executor recipeRecommendationExecutor() {
+    public ThreadPoolTaskExecutor recipeRecommendationExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         
         // 기본 스레드 개수 (항상 활성화)
@@ -41,8 +41,9 @@ public class AsyncConfig {
         executor.setWaitForTasksToCompleteOnShutdown(true);
         executor.setAwaitTerminationSeconds(30);
         
-        // 거부된 작업 처리 정책 (호출자 스레드에서 실행)
-        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy());
+        // 거부된 작업 처리 정책 (예외 발생)
+        // 호출자 스레드에서 실행하면 추천 작업이 스케줄러 스레드를 붙잡으므로, 거부된 묶음은 RecommendationCoalescer가 보관했다가 다음 주기에 다시 넣는다
+        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.AbortPolicy());
         
         executor.initialize();
         return executor;
@@ -0,0 +1,20 @@
+package com.sdemo1.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 백그라운드 주기 작업(@Scheduled) 활성화
+ * - 카테고리 맵 사전 갱신 (CategoryRegistry.refreshAhead)
+ * - 놓친 캐시 무효화 메시지 보정 (CatalogInvalidationBus.reconcile)
+ * - 재료 등록 아웃박스 전달 (IngredientOutboxRelay.drain)
+ * - 사용자별로 묶인 추천 트리거 실행 (RecommendationCoalescer.flushDue)
+ * - 레시피 역색인 동기화/재생성 (RecipeIndexService.syncRecent, rebuild)
+ *
+ * 스케줄러 스레드 수는 spring.task.scheduling.pool.size(application.yml)로 주기 작업 수만큼 둔다.
+ * 기본값(1개)이면 오래 걸리는 역색인 재생성/카탈로그 재적재 동안 추천 묶음 실행(200ms)과 아웃박스 전달이 멈춘다.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
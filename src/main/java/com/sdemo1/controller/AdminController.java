@@ -8,7 +8,16 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.sdemo1.common.response.ApiResponse;
+import com.sdemo1.service.CatalogInvalidationBus;
 import com.sdemo1.service.CategoryService;
+import com.sdemo1.service.FoodCatalogService;
+import com.sdemo1.service.IngredientOutboxRelay;
+import com.sdemo1.service.PantryCache;
+import com.sdemo1.service.RecipeIndexService;
+import com.sdemo1.service.RecommendationCoalescer;
+import com.sdemo1.service.RecommendationStore;
+import com.sdemo1.util.CatalogCountCache;
+import com.sdemo1.util.FilterResultCache;
 
 @RestController
 @RequestMapping("/admin")
@@ -17,22 +26,55 @@ public class AdminController {
     @Autowired
     private CategoryService categoryService;
 
+    @Autowired
+    private FoodCatalogService foodCatalogService;
+
+    @Autowired
+    private CatalogCountCache catalogCountCache;
+
+    @Autowired
+    private FilterResultCache filterResultCache;
+
+    @Autowired
+    private CatalogInvalidationBus catalogInvalidationBus;
+
+    @Autowired
+    private PantryCache pantryCache;
+
+    @Autowired
+    private IngredientOutboxRelay ingredientOutboxRelay;
+
+    @Autowired
+    private RecommendationCoalescer recommendationCoalescer;
+
+    @Autowired
+    private RecipeIndexService recipeIndexService;
+
+    @Autowired
+    private RecommendationStore recommendationStore;
+
     /**
      * 카테고리 캐시 상태 확인
      */
     @GetMapping("/cache/status")
     public ApiResponse<String> getCacheStatus() {
-        String status = categoryService.getCacheStatus();
+        String status = categoryService.getCacheStatus() + " / " + foodCatalogService.getStatus()
+                + " / " + catalogCountCache.getStatus() + " / " + filterResultCache.getStatus()
+                + " / " + catalogInvalidationBus.getStatus() + " / " + pantryCache.getStatus()
+                + " / " + ingredientOutboxRelay.getStatus() + " / " + recommendationCoalescer.getStatus()
+                + " / " + recipeIndexService.getStatus() + " / " + recommendationStore.getStatus();
         return new ApiResponse<>("캐시 상태 조회 완료", status, HttpStatus.OK);
     }
 
     /**
-     * 카테고리 캐시 수동 갱신
+     * 카테고리 캐시 수동 갱신 (클러스터 전체)
+     * 이 노드를 먼저 갱신한 뒤 Redis로 무효화를 발행해 다른 노드도 같은 버전으로 재적재한다
+     * 카탈로그 재적재 시 버전이 올라가므로 COUNT 캐시와 필터 결과 캐시도 함께 비워진다
      */
     @PostMapping("/cache/refresh")
     public ApiResponse<String> refreshCache() {
         try {
-            categoryService.refreshCategoryMap();
+            catalogInvalidationBus.publishInvalidation();
             return new ApiResponse<>("캐시가 성공적으로 갱신되었습니다.", null, HttpStatus.OK);
         } catch (Exception e) {
             return new ApiResponse<>("캐시 갱신 중 오류 발생: " + e.getMessage(), null, HttpStatus.INTERNAL_SERVER_ERROR);
@@ -8,10 +8,15 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -21,15 +26,19 @@ import com.sdemo1.dto.FoodCategoryDto;
 import com.sdemo1.dto.PageRequestDto;
 import com.sdemo1.entity.FoodItem;
 import com.sdemo1.service.FoodService;
+import com.sdemo1.util.CategoryTreeResponseCache;
+import com.sdemo1.util.CategoryTreeResponseCache.Entry;
 
 @RestController
 @RequestMapping("/food")
 public class FoodCategoryController {
 
     private final FoodService foodService;
+    private final CategoryTreeResponseCache categoryTreeResponseCache;
 
-    public FoodCategoryController(FoodService foodService) {
+    public FoodCategoryController(FoodService foodService, CategoryTreeResponseCache categoryTreeResponseCache) {
         this.foodService = foodService;
+        this.categoryTreeResponseCache = categoryTreeResponseCache;
     }
 
     @GetMapping("/category")
@@ -39,8 +48,37 @@ public class FoodCategoryController {
         return new ApiResponse<>( "성공", foodItems, HttpStatus.OK);
     }
 
+    // 카탈로그 버전마다 직렬화/압축해 둔 바이트를 그대로 내려주고, If-None-Match가 일치하면 304로 응답
     @GetMapping("/allCategory")
-    public ApiResponse<List<Map<String, Object>>> findFoodCategory() {
+    public ResponseEntity<byte[]> findFoodCategory(
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        Entry tree = categoryTreeResponseCache.getOrBuild(
+                () -> new ApiResponse<>( null, buildCategoryTree(), HttpStatus.OK));
+        boolean gzip = CategoryTreeResponseCache.acceptsGzip(acceptEncoding);
+        String etag = gzip ? tree.gzipEtag() : tree.etag();
+
+        if (tree.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(tree.gzip());
+        }
+        return response.body(tree.json());
+    }
+
+    private List<Map<String, Object>> buildCategoryTree() {
         List<FoodItem> foodItems = foodService.findFoodCategory();
         
         // 서브 카테고리 맵 생성
@@ -72,7 +110,7 @@ public class FoodCategoryController {
                 })
                 .collect(Collectors.toList());
 
-        return new ApiResponse<>( null, result, HttpStatus.OK);
+        return result;
     }
 
     @GetMapping("/sub-ingredient") //사용하진 않으나 그냥 테스트용
@@ -83,24 +121,52 @@ public class FoodCategoryController {
     }
 
     // 재료선택 화면 API
+    // cursor 파라미터가 있으면(첫 페이지는 빈 값) 커서 방식으로 조회하고 전체 건수 대신 hasNext/nextCursor를 반환
     @GetMapping("/findIngredientByFilter")
     public ApiResponse<?> findIngredientByFilter(
             @ModelAttribute FoodCategoryDto params,
             @RequestParam(name = "page", required = false) Integer page,
-            @RequestParam(name = "size", required = false) Integer size) {
+            @RequestParam(name = "size", required = false) Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
         
-        params.setPageRequest(new PageRequestDto(page, size));
+        PageRequestDto pageRequest = new PageRequestDto(page, size);
+        pageRequest.setCursor(cursor);
+        params.setPageRequest(pageRequest);
+
+        if (pageRequest.isCursorMode()) {
+            return new ApiResponse<>( null, foodService.findIngredientSliceByFilter(params), HttpStatus.OK);
+        }
         return new ApiResponse<>( null, foodService.findIngredientByFilter(params), HttpStatus.OK);
     }
 
+    // mode=fuzzy 이면 오타 허용 검색 (예: 양퍄 → 양파)
+    // mode=ranked 이면 정확도순 검색 (mID를 주면 해당 메인 카테고리 재료에 가산점)
     @GetMapping("/search/{keyword}")
     public ApiResponse<Page<FoodItem>> findByFoodName(
             @PathVariable(name = "keyword") String keyword,
             @RequestParam(name = "page", required = false) Integer page,
-            @RequestParam(name = "size", required = false) Integer size) {
+            @RequestParam(name = "size", required = false) Integer size,
+            @RequestParam(name = "mode", required = false) String mode,
+            @RequestParam(name = "mID", required = false) String mID) {
         
         PageRequestDto pageRequest = new PageRequestDto(page, size);
-        Page<FoodItem> foodItems = foodService.findByFoodName(keyword, pageRequest);
+        Page<FoodItem> foodItems;
+        if ("fuzzy".equalsIgnoreCase(mode)) {
+            foodItems = foodService.findByFoodNameFuzzy(keyword, pageRequest);
+        } else if ("ranked".equalsIgnoreCase(mode)) {
+            foodItems = foodService.findByFoodNameRanked(keyword, mID, pageRequest);
+        } else {
+            foodItems = foodService.findByFoodName(keyword, pageRequest);
+        }
         return new ApiResponse<>( null, foodItems, HttpStatus.OK);
     } 
+
+    // 재료 입력 자동완성 API (예: q=ㄷㅍ → 대파)
+    @GetMapping("/autocomplete")
+    public ApiResponse<List<FoodItem>> autocomplete(
+            @RequestParam(name = "q") String query,
+            @RequestParam(name = "limit", required = false) Integer limit) {
+
+        return new ApiResponse<>( null, foodService.autocomplete(query, limit), HttpStatus.OK);
+    }
 } 
@@ -6,13 +6,21 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import com.sdemo1.service.FoodIngredientService;
+import com.sdemo1.service.PantrySyncService;
+import com.sdemo1.service.RecommendationStore;
+import com.sdemo1.response.PantryChangesResponse;
+import com.sdemo1.response.RecipeMatchResponse;
+import com.sdemo1.response.RecommendationPageResponse;
 import com.sdemo1.request.FoodIngredientRequest;
 import com.sdemo1.common.response.ApiResponse;
+import com.sdemo1.dto.PageRequestDto;
 import com.sdemo1.entity.FoodItem;
 import com.sdemo1.exception.CustomException;
 
@@ -28,6 +36,8 @@ import java.util.List;
 public class FoodController {
 
     private final FoodIngredientService foodIngredientService;
+    private final PantrySyncService pantrySyncService;
+    private final RecommendationStore recommendationStore;
 
     /**
      * 음식재료 등록 API (배열) - Bulk Insert
@@ -75,15 +85,25 @@ public class FoodController {
 
     /**
      * 사용자의 음식재료 목록 조회 API (전체 조회)
+     * cursor 파라미터가 있으면(첫 페이지는 빈 값) 조인 프로젝션 커서 방식으로 size건씩 조회
      */
     @GetMapping("/my-ingredient")
-    public ApiResponse<List<FoodItem>> getFoodIngredients() {
+    public ApiResponse<?> getFoodIngredients(
+            @RequestParam(name = "size", required = false) Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
         try {
             // JWT 토큰에서 member_id 추출 (안전한 방식)
             Integer memberId = extractMemberIdFromAuth();
             
             log.debug("🔐 인증된 사용자 ID: {}", memberId);
 
+            if (cursor != null) {
+                PageRequestDto pageRequest = new PageRequestDto(1, size);
+                pageRequest.setCursor(cursor);
+                return new ApiResponse<>(null,
+                        foodIngredientService.findIngredientSliceByMemberId(memberId, pageRequest), HttpStatus.OK);
+            }
+
             // 전체 조회
             List<FoodItem> ingredients = foodIngredientService.findAllIngredientsByMemberId(memberId);
 
@@ -106,6 +126,87 @@ public class FoodController {
         }
     }
 
+    /**
+     * 음식재료 변경분 동기화 API
+     * since(마지막으로 받은 버전) 이후 추가/삭제된 재료만 반환하며,
+     * fullResync가 true면 added에 담긴 전체 목록으로 교체한 뒤 응답의 version부터 이어서 동기화한다
+     */
+    @GetMapping("/my-ingredient/changes")
+    public ApiResponse<PantryChangesResponse> getFoodIngredientChanges(
+            @RequestParam(name = "since", defaultValue = "0") long since) {
+        try {
+            Integer memberId = extractMemberIdFromAuth();
+
+            return new ApiResponse<>(null, pantrySyncService.getChanges(memberId, since), HttpStatus.OK);
+
+        } catch (CustomException e) {
+            log.warn("⚠️ 재료 변경분 조회 비즈니스 오류: {}", e.getMessage());
+            return new ApiResponse<>(e.getMessage(), null, HttpStatus.BAD_REQUEST);
+
+        } catch (SecurityException | NumberFormatException e) {
+            log.error("❌ 재료 변경분 조회 인증 오류: {}", e.getMessage());
+            return new ApiResponse<>("인증 정보가 올바르지 않습니다", null, HttpStatus.UNAUTHORIZED);
+
+        } catch (Exception e) {
+            log.error("💥 재료 변경분 조회 중 예상치 못한 오류 발생", e);
+            return new ApiResponse<>("음식재료 변경분 조회 중 오류가 발생했습니다: " + e.getMessage(),
+                                   null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * 냉장고 재료와 레시피 재료 비교 API (부족한 재료 확인)
+     */
+    @GetMapping("/my-ingredient/match/{cookId}")
+    public ApiResponse<RecipeMatchResponse> matchRecipe(@PathVariable(name = "cookId") int cookId) {
+        try {
+            Integer memberId = extractMemberIdFromAuth();
+
+            return new ApiResponse<>(null, foodIngredientService.matchRecipe(memberId, cookId), HttpStatus.OK);
+
+        } catch (CustomException e) {
+            log.warn("⚠️ 레시피 재료 비교 비즈니스 오류: {}", e.getMessage());
+            return new ApiResponse<>(e.getMessage(), null, HttpStatus.BAD_REQUEST);
+
+        } catch (SecurityException | NumberFormatException e) {
+            log.error("❌ 레시피 재료 비교 인증 오류: {}", e.getMessage());
+            return new ApiResponse<>("인증 정보가 올바르지 않습니다", null, HttpStatus.UNAUTHORIZED);
+
+        } catch (Exception e) {
+            log.error("💥 레시피 재료 비교 중 예상치 못한 오류 발생", e);
+            return new ApiResponse<>("레시피 재료 비교 중 오류가 발생했습니다: " + e.getMessage(),
+                                   null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * 추천 레시피 조회 API
+     * 재료 등록 후 백그라운드에서 계산해 Redis에 저장해 둔 결과를 페이지 단위로 반환한다 (요청 시 다시 계산하지 않음)
+     */
+    @GetMapping("/recommendations")
+    public ApiResponse<RecommendationPageResponse> getRecommendations(
+            @RequestParam(name = "page", defaultValue = "1") int page,
+            @RequestParam(name = "size", defaultValue = "10") int size) {
+        try {
+            Integer memberId = extractMemberIdFromAuth();
+
+            return new ApiResponse<>(null, recommendationStore.getPage(memberId, page, size), HttpStatus.OK);
+
+        } catch (CustomException e) {
+            log.warn("⚠️ 추천 레시피 조회 비즈니스 오류: {}", e.getMessage());
+            return new ApiResponse<>(e.getMessage(), null, HttpStatus.BAD_REQUEST);
+
+        } catch (SecurityException | NumberFormatException e) {
+            log.error("❌ 추천 레시피 조회 인증 오류: {}", e.getMessage());
+            return new ApiResponse<>("인증 정보가 올바르지 않습니다", null, HttpStatus.UNAUTHORIZED);
+
+        } catch (Exception e) {
+            log.error("💥 추천 레시피 조회 중 예상치 못한 오류 발생", e);
+            return new ApiResponse<>("추천 레시피 조회 중 오류가 발생했습니다: " + e.getMessage(),
+                                   null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     /**
      * 음식재료 삭제 API
      */
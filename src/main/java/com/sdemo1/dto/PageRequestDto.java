@@ -1,5 +1,12 @@
 package com.sdemo1.dto;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.sdemo1.exception.CustomException;
+
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.data.domain.PageRequest;
@@ -9,8 +16,13 @@ import org.springframework.data.domain.Sort;
 @Getter
 @Setter
 public class PageRequestDto {
+    private static final String CURSOR_PREFIX = "f:";
+    private static final String PANTRY_CURSOR_PREFIX = "p:";
+
     private Integer page;
     private Integer size;
+    // 커서 페이지네이션 토큰 (null이면 OFFSET 방식, 빈 문자열이면 커서 방식 첫 페이지)
+    private String cursor;
 
     public static PageRequestDto getDefault() {
         return new PageRequestDto(1, 10);
@@ -30,11 +42,92 @@ public class PageRequestDto {
         if (page == null && size == null) {
             return Pageable.unpaged();
         }
-        int pageSize = (size == null) ? Integer.MAX_VALUE : size;
-        return PageRequest.of(validatePage(page) - 1, pageSize, Sort.by(Sort.Direction.ASC, "foodID"));
+        return PageRequest.of(validatePage(page) - 1, validateSize(size), Sort.by(Sort.Direction.ASC, "foodID"));
+    }
+
+    /**
+     * 커서(keyset) 페이지네이션 요청 여부
+     */
+    public boolean isCursorMode() {
+        return cursor != null;
+    }
+
+    /**
+     * 커서 토큰에서 이전 페이지 마지막 foodID 추출
+     * @return 마지막 foodID, 첫 페이지면 null
+     * @throws CustomException 토큰 형식이 올바르지 않은 경우
+     */
+    public Integer decodeAfterFoodId() {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(CURSOR_PREFIX)) {
+                throw new IllegalArgumentException(decoded);
+            }
+            return Integer.parseInt(decoded.substring(CURSOR_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new CustomException("잘못된 커서 값입니다: " + cursor, 400);
+        }
+    }
+
+    /**
+     * 마지막 foodID를 다음 페이지 커서 토큰으로 변환
+     */
+    public static String encodeCursor(int lastFoodId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + lastFoodId).getBytes(StandardCharsets.UTF_8));
     }
 
-    private int validatePage(Integer page) {
+    /**
+     * 냉장고 재료 목록 커서 위치 (등록일 내림차순, 같은 시각이면 f_in_id 내림차순)
+     */
+    public record PantryCursor(LocalDateTime createdAt, int fInId) {
+    }
+
+    /**
+     * 커서 토큰에서 냉장고 재료 목록의 이전 페이지 마지막 위치 추출
+     * @return 마지막 위치, 첫 페이지면 null
+     * @throws CustomException 토큰 형식이 올바르지 않은 경우
+     */
+    public PantryCursor decodeAfterPantryItem() {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(':');
+            if (!decoded.startsWith(PANTRY_CURSOR_PREFIX) || separator <= PANTRY_CURSOR_PREFIX.length()) {
+                throw new IllegalArgumentException(decoded);
+            }
+            return new PantryCursor(
+                    LocalDateTime.parse(decoded.substring(PANTRY_CURSOR_PREFIX.length(), separator)),
+                    Integer.parseInt(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new CustomException("잘못된 커서 값입니다: " + cursor, 400);
+        }
+    }
+
+    /**
+     * 냉장고 재료 목록의 마지막 위치를 다음 페이지 커서 토큰으로 변환
+     */
+    public static String encodePantryCursor(LocalDateTime createdAt, int fInId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PANTRY_CURSOR_PREFIX + createdAt + ":" + fInId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * OFFSET 방식 페이지 번호 정규화 (없거나 1보다 작으면 1)
+     */
+    public static int validatePage(Integer page) {
         return (page == null || page < 1) ? 1 : page;
     }
+
+    /**
+     * OFFSET 방식 페이지 크기 정규화 (없으면 전체, 1보다 작으면 1)
+     */
+    public static int validateSize(Integer size) {
+        return (size == null) ? Integer.MAX_VALUE : Math.max(1, size);
+    }
 }
\ No newline at end of file
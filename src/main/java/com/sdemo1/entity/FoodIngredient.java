@@ -16,7 +16,11 @@ import java.time.LocalDateTime;
 @Setter
 @Builder
 @Entity
-@Table(name = "food_ingredient")
+// 인덱스와 created_at NOT NULL은 자동 생성되지 않으므로 db/food_ingredient_member_created_index.sql로 만든다
+@Table(name = "food_ingredient", indexes = {
+    // 냉장고 재료 목록 커서 페이지네이션: member_id 고정 후 등록일 역순 탐색
+    @Index(name = "idx_food_ingredient_member_created", columnList = "member_id, created_at, f_in_id")
+})
 public class FoodIngredient {
 
     @Id
@@ -33,7 +37,8 @@ public class FoodIngredient {
     @Column(name = "food_name", length = 100)
     private String foodName;
 
-    @Column(name = "created_at")
+    // 냉장고 재료 목록 커서의 정렬 키 (null이면 다음 페이지 커서를 만들 수 없음)
+    @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
     @Column(name = "modified_at")
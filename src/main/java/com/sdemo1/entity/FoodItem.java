@@ -3,6 +3,7 @@ package com.sdemo1.entity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
 import lombok.AccessLevel;
@@ -10,6 +11,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 @NoArgsConstructor(access= AccessLevel.PROTECTED)
@@ -17,7 +19,14 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 @Getter
 @Setter
 @Entity
-@Table(name="food_item")
+// 인덱스는 자동 생성되지 않으므로 db/food_item_parent_food_index.sql, db/food_item_category_columns.sql로 만든다
+@Table(name="food_item", indexes = {
+    // 커서 페이지네이션: food_id 범위 탐색 / parent_id 고정 후 food_id 순 탐색
+    @Index(name = "idx_food_item_food_id", columnList = "food_id"),
+    @Index(name = "idx_food_item_parent_food", columnList = "parent_id, food_id"),
+    // 메인 카테고리 조회: main_category_id 고정 후 food_id 순 범위 탐색
+    @Index(name = "idx_food_item_main_food", columnList = "main_category_id, food_id")
+})
 public class FoodItem {
 
     @Id
@@ -36,6 +45,15 @@ public class FoodItem {
 
     @Column(name="food_img")
     private String foodImg;
+
+    // 카탈로그 정비 작업이 채우는 비정규화 컬럼 (재료 행만 해당, 카테고리 행은 null)
+    @JsonIgnore
+    @Column(name="main_category_id")
+    private Integer mainCategoryId;
+
+    @JsonIgnore
+    @Column(name="sub_category_id")
+    private Integer subCategoryId;
     
     @Transient
     @JsonProperty("sID")
@@ -0,0 +1,58 @@
+package com.sdemo1.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 재료 등록 이벤트 아웃박스
+ * - 재료 등록과 같은 트랜잭션에서 한 행을 남기고, IngredientOutboxRelay가 주기적으로 꺼내 레시피 추천에 전달한다
+ * - availableAt: 이 시각 이후에 가져갈 수 있음 (가져갈 때 임대 만료 시각으로 미뤄 두므로 처리 중 서버가 죽으면 만료 후 다시 전달됨)
+ * - leaseToken: 마지막으로 가져간 쪽의 토큰 (다른 쪽이 다시 가져간 행의 상태를 덮어쓰지 않기 위해 사용)
+ * - 처리에 성공하면 행을 지우고, MAX_ATTEMPTS번 실패하면 FAILED로 남긴다
+ */
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+@Entity
+@Table(name = "ingredient_outbox", indexes = {
+    // 가져갈 행 탐색: 상태 고정 후 가용 시각 순
+    @Index(name = "idx_ingredient_outbox_status_available", columnList = "status, available_at")
+})
+public class IngredientOutbox {
+
+    public static final String PENDING = "PENDING";
+    public static final String FAILED = "FAILED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "member_id", nullable = false)
+    private Integer memberId;
+
+    // {"foodIds":[...],"foodNames":[...]}
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "status", nullable = false, length = 10)
+    private String status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(name = "lease_token", length = 36)
+    private String leaseToken;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,45 @@
+package com.sdemo1.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 냉장고 재료 변경 기록 (추가 A / 삭제 D)
+ * 한 번의 등록/삭제 요청에 포함된 재료는 같은 버전을 가진다
+ */
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+@Entity
+@Table(name = "pantry_change_log", indexes = {
+    // 변경 조회/정리: member_id 고정 후 버전 순 탐색
+    @Index(name = "idx_pantry_change_member_version", columnList = "member_id, change_version")
+})
+public class PantryChangeLog {
+
+    public static final String ADDED = "A";
+    public static final String REMOVED = "D";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "member_id", nullable = false)
+    private Integer memberId;
+
+    @Column(name = "change_version", nullable = false)
+    private long version;
+
+    @Column(name = "food_id", nullable = false)
+    private Integer foodId;
+
+    @Column(name = "op", nullable = false, length = 1)
+    private String op;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
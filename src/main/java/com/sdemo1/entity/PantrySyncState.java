@@ -0,0 +1,36 @@
+package com.sdemo1.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 사용자별 냉장고 변경 버전
+ * - version: 마지막으로 기록된 변경 버전 (변경 요청마다 1씩 증가)
+ * - compactedVersion: 이 버전 이하의 변경 기록은 정리되어 없음 (이보다 오래된 클라이언트는 전체 목록을 다시 받아야 함)
+ * 변경 기록 시 이 행을 비관적 락으로 잡아 같은 사용자의 변경을 직렬화한다
+ */
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+@Setter
+@Entity
+@Table(name = "pantry_sync_state")
+public class PantrySyncState {
+
+    @Id
+    @Column(name = "member_id")
+    private Integer memberId;
+
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    @Column(name = "compacted_version", nullable = false)
+    private long compactedVersion;
+
+    @Column(name = "modified_at")
+    private LocalDateTime modifiedAt;
+}
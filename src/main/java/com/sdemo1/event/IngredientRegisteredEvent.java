@@ -8,7 +8,7 @@ import java.util.List;
 /**
  * 재료 등록 완료 이벤트
  * - 사용자가 냉장고에 재료를 등록했을 때 발생
- * - 비동기 레시피 추천 작업을 트리거
+ * - 재료 등록 아웃박스(IngredientOutboxRelay)가 커밋된 행으로 만들어 레시피 추천 작업에 전달
  */
 @Getter
 public class IngredientRegisteredEvent extends ApplicationEvent {
@@ -1,5 +1,6 @@
 package com.sdemo1.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -12,4 +13,5 @@ public interface CookItemRepository extends JpaRepository<CookItem, Integer> {
     List<CookItem> findByUserId(Integer userId);
     List<CookItem> findByCookId(Integer cookId);
     List<CookItem> findByUserIdOrderByCreatedAtDesc(Integer userId);
+    List<CookItem> findByModifiedAtAfterOrderByModifiedAtAsc(LocalDateTime modifiedAt);
 }
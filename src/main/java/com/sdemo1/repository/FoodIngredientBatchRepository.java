@@ -0,0 +1,96 @@
+package com.sdemo1.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.sdemo1.request.FoodIngredientRequest;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 냉장고 재료(food_ingredient) 일괄 등록용 JDBC 저장소
+ * - 재료마다 INSERT IGNORE를 한 번씩 보내던 방식 대신, 여러 행을 한 문장(VALUES (...),(...))으로 보낸다
+ * - 이미 등록된 재료는 IN 조회 한 번으로 미리 가려내므로 요청 수와 관계없이 왕복 2회로 끝난다
+ * - 같은 방식으로 냉장고 변경 기록(pantry_change_log)도 한 문장으로 추가한다
+ */
+@Repository
+@RequiredArgsConstructor
+public class FoodIngredientBatchRepository {
+
+    // 한 문장에 넣는 최대 행 수 (바인딩 파라미터 3 × 500 = 1,500개)
+    static final int MAX_ROWS_PER_STATEMENT = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 사용자가 이미 등록한 재료 ID 조회
+     * @param memberId 사용자 ID
+     * @param foodIds 확인할 재료 ID 목록
+     * @return 이미 등록된 재료 ID 목록
+     */
+    public List<Integer> findExistingFoodIds(Integer memberId, List<Integer> foodIds) {
+        if (foodIds.isEmpty()) {
+            return List.of();
+        }
+        String placeholders = String.join(",", Collections.nCopies(foodIds.size(), "?"));
+        List<Object> args = new ArrayList<>(foodIds.size() + 1);
+        args.add(memberId);
+        args.addAll(foodIds);
+        return jdbcTemplate.queryForList(
+                "SELECT food_id FROM food_ingredient WHERE member_id = ? AND food_id IN (" + placeholders + ")",
+                Integer.class, args.toArray());
+    }
+
+    /**
+     * 다중 행 INSERT IGNORE (MAX_ROWS_PER_STATEMENT 행마다 한 문장)
+     * @param memberId 사용자 ID
+     * @param requests 등록할 재료 목록
+     * @return 실제로 추가된 행 수 (중복은 무시되어 제외)
+     */
+    public int insertIgnoreAll(Integer memberId, List<FoodIngredientRequest> requests) {
+        int inserted = 0;
+        for (int from = 0; from < requests.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<FoodIngredientRequest> chunk =
+                    requests.subList(from, Math.min(requests.size(), from + MAX_ROWS_PER_STATEMENT));
+            StringBuilder sql = new StringBuilder(
+                    "INSERT IGNORE INTO food_ingredient (member_id, food_id, food_name, created_at, modified_at) VALUES ");
+            Object[] args = new Object[chunk.size() * 3];
+            for (int i = 0; i < chunk.size(); i++) {
+                sql.append(i == 0 ? "" : ",").append("(?, ?, ?, NOW(), NOW())");
+                args[i * 3] = memberId;
+                args[i * 3 + 1] = chunk.get(i).getFoodID();
+                args[i * 3 + 2] = chunk.get(i).getFoodName();
+            }
+            inserted += jdbcTemplate.update(sql.toString(), args);
+        }
+        return inserted;
+    }
+
+    /**
+     * 냉장고 변경 기록 다중 행 INSERT (같은 버전, 같은 작업)
+     * @param memberId 사용자 ID
+     * @param version 변경 버전
+     * @param op 작업 (PantryChangeLog.ADDED / REMOVED)
+     * @param foodIds 변경된 재료 ID 목록
+     */
+    public void insertChangeLog(Integer memberId, long version, String op, List<Integer> foodIds) {
+        for (int from = 0; from < foodIds.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<Integer> chunk = foodIds.subList(from, Math.min(foodIds.size(), from + MAX_ROWS_PER_STATEMENT));
+            StringBuilder sql = new StringBuilder(
+                    "INSERT INTO pantry_change_log (member_id, change_version, food_id, op, created_at) VALUES ");
+            Object[] args = new Object[chunk.size() * 4];
+            for (int i = 0; i < chunk.size(); i++) {
+                sql.append(i == 0 ? "" : ",").append("(?, ?, ?, ?, NOW())");
+                args[i * 4] = memberId;
+                args[i * 4 + 1] = version;
+                args[i * 4 + 2] = chunk.get(i);
+                args[i * 4 + 3] = op;
+            }
+            jdbcTemplate.update(sql.toString(), args);
+        }
+    }
+}
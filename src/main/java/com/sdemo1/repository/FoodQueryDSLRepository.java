@@ -63,45 +63,159 @@
 
 package com.sdemo1.repository;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
-import com.querydsl.core.types.EntityPath;
-import com.querydsl.core.types.Predicate;
-import com.querydsl.core.types.SubQueryExpression;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.sdemo1.dto.PageRequestDto.PantryCursor;
 import com.sdemo1.entity.FoodItem;
+import com.sdemo1.entity.QFoodIngredient;
 import com.sdemo1.entity.QFoodItem;
+import com.sdemo1.response.PantryItemResponse;
+import com.sdemo1.util.CatalogCountCache;
+import com.sdemo1.util.CatalogCountCache.CountKey;
 
 @Repository
 public class FoodQueryDSLRepository {
     private final JPAQueryFactory queryFactory;
+    private final CatalogCountCache countCache;
 
-    public FoodQueryDSLRepository(JPAQueryFactory queryFactory) {
+    // 마지막 카탈로그 적재 때 비정규화 카테고리 컬럼이 카테고리 계층과 일치했는지 여부
+    private volatile boolean categoryColumnsReady = false;
+
+    public FoodQueryDSLRepository(JPAQueryFactory queryFactory, CatalogCountCache countCache) {
         this.queryFactory = queryFactory;
+        this.countCache = countCache;
     }
 
+    /**
+     * 메인 카테고리(parent_id가 P/R)와 그 하위 서브 카테고리 목록 조회
+     * food_id를 문자열로 변환하는 상관 서브쿼리 대신, 메인 카테고리 ID를 먼저 읽어 parent_id IN 목록으로 조회한다
+     */
     public List<FoodItem> findFoodCategory() {
-        return ((JPAQuery)this.queryFactory.selectFrom(QFoodItem.foodItem).where(QFoodItem.foodItem.parentID.in(new String[]{"P", "R"}).or(QFoodItem.foodItem.parentID.in((SubQueryExpression)JPAExpressions.select(QFoodItem.foodItem.foodID.stringValue()).from(new EntityPath[]{QFoodItem.foodItem}).where(new Predicate[]{QFoodItem.foodItem.parentID.in(new String[]{"P", "R"})}))))).fetch();
+        List<FoodItem> mains = queryFactory
+            .selectFrom(QFoodItem.foodItem)
+            .where(QFoodItem.foodItem.parentID.in("P", "R"))
+            .fetch();
+        if (mains.isEmpty()) {
+            return mains;
+        }
+
+        List<String> mainIds = mains.stream()
+            .map(main -> String.valueOf(main.getFoodID()))
+            .toList();
+        List<FoodItem> subs = queryFactory
+            .selectFrom(QFoodItem.foodItem)
+            .where(QFoodItem.foodItem.parentID.in(mainIds))
+            .fetch();
+
+        List<FoodItem> result = new ArrayList<>(mains.size() + subs.size());
+        result.addAll(mains);
+        result.addAll(subs);
+        return result;
     }
 
-    public Page<FoodItem> findByMainCategoryWithPaging(String mainCategoryId, Pageable pageable) {
-        JPAQuery<FoodItem> query = (JPAQuery)this.queryFactory.selectFrom(QFoodItem.foodItem).where(QFoodItem.foodItem.parentID.in((SubQueryExpression)JPAExpressions.select(QFoodItem.foodItem.foodID.stringValue()).from(new EntityPath[]{QFoodItem.foodItem}).where(new Predicate[]{QFoodItem.foodItem.parentID.eq(mainCategoryId)})));
-        List content;
-        if (pageable.isUnpaged()) {
-            content = query.fetch();
-            return new PageImpl(content, pageable, (long)content.size());
-        } else {
-            content = ((JPAQuery)((JPAQuery)query.offset(pageable.getOffset())).limit((long)pageable.getPageSize())).fetch();
-            Long count = (Long)((JPAQuery)((JPAQuery)this.queryFactory.select(QFoodItem.foodItem.count()).from(QFoodItem.foodItem)).where(QFoodItem.foodItem.parentID.in((SubQueryExpression)JPAExpressions.select(QFoodItem.foodItem.foodID.stringValue()).from(new EntityPath[]{QFoodItem.foodItem}).where(new Predicate[]{QFoodItem.foodItem.parentID.eq(mainCategoryId)})))).fetchOne();
-            return new PageImpl(content, pageable, count);
+    /**
+     * 재료 행의 비정규화 카테고리 컬럼(main_category_id, sub_category_id) 동기화
+     * - 관리자 캐시 갱신 때 무효화를 발행하는 노드에서만 호출되며, 값이 달라진 행만 갱신하므로 변경이 없으면 UPDATE 대상 행이 없다
+     * - 서브 카테고리에 속하지 않게 된 행은 두 컬럼을 비운다
+     * - 동기화가 한 번 끝나면 메인 카테고리 조회는 (main_category_id, food_id) 인덱스 범위 탐색으로 바뀐다
+     *
+     * 컬럼과 인덱스는 자동 생성되지 않으므로 배포 전에 db/food_item_category_columns.sql을 실행해야 한다
+     *
+     * @param subToMain 서브 카테고리 ID → 메인 카테고리 ID
+     * @return 갱신된 행 수
+     */
+    @Transactional
+    public long syncCategoryColumns(Map<Integer, Integer> subToMain) {
+        QFoodItem item = QFoodItem.foodItem;
+        long updated = 0;
+
+        for (Map.Entry<Integer, Integer> entry : subToMain.entrySet()) {
+            Integer subId = entry.getKey();
+            Integer mainId = entry.getValue();
+            updated += queryFactory
+                .update(item)
+                .set(item.mainCategoryId, mainId)
+                .set(item.subCategoryId, subId)
+                .where(
+                    item.parentID.eq(String.valueOf(subId)),
+                    item.mainCategoryId.isNull()
+                        .or(item.mainCategoryId.ne(mainId))
+                        .or(item.subCategoryId.isNull())
+                        .or(item.subCategoryId.ne(subId))
+                )
+                .execute();
         }
+
+        List<String> validParents = subToMain.keySet().stream()
+            .map(String::valueOf)
+            .toList();
+        updated += queryFactory
+            .update(item)
+            .setNull(item.mainCategoryId)
+            .setNull(item.subCategoryId)
+            .where(
+                item.mainCategoryId.isNotNull().or(item.subCategoryId.isNotNull()),
+                validParents.isEmpty() ? null : item.parentID.notIn(validParents)
+            )
+            .execute();
+
+        return updated;
+    }
+
+    /**
+     * 비정규화 카테고리 컬럼 사용 여부 설정 (카탈로그 적재 때 컬럼이 계층과 일치하는지 확인해 설정)
+     */
+    public void setCategoryColumnsReady(boolean ready) {
+        categoryColumnsReady = ready;
+    }
+
+    /**
+     * 비정규화 카테고리 컬럼이 계층과 일치해 메인 카테고리 조회에 쓸 수 있는지 여부
+     */
+    public boolean isCategoryColumnsReady() {
+        return categoryColumnsReady;
+    }
+
+    /**
+     * 메인 카테고리에 속한 재료 페이징 조회
+     * 전체 건수는 첫 페이지가 size보다 적게 조회되면 생략하고, 그 외에는 COUNT 캐시를 사용한다
+     */
+    public Page<FoodItem> findByMainCategoryWithPaging(String mainCategoryId, Pageable pageable) {
+        CountKey key = CountKey.of("main", mainCategoryId, null, null);
+        return fetchPage(mainCategoryCondition(key.mainCategoryId()), pageable, key);
+    }
+
+    /**
+     * 서브 카테고리(parent_id)에 속한 재료 페이징 조회
+     */
+    public Page<FoodItem> findBySubCategoryWithPaging(String subCategoryId, Pageable pageable) {
+        CountKey key = CountKey.of("sub", null, subCategoryId, null);
+        return fetchPage(QFoodItem.foodItem.parentID.eq(key.subCategoryId()), pageable, key);
+    }
+
+    /**
+     * foodID 범위 내 전체 재료 페이징 조회
+     */
+    public Page<FoodItem> findByFoodIdBetweenWithPaging(int start, int end, Pageable pageable) {
+        return fetchPage(
+            QFoodItem.foodItem.foodID.between(start, end),
+            pageable,
+            CountKey.of("range:" + start + "-" + end, null, null, null)
+        );
     }
     
     /**
@@ -112,53 +226,48 @@ public class FoodQueryDSLRepository {
      */
  
     public Page<FoodItem> findByFoodNameContainingAndFoodIdStartingWithFive(String keyword, Pageable pageable) {
-        JPAQuery<FoodItem> query = queryFactory
-            .selectFrom(QFoodItem.foodItem)
-            .where(
-                QFoodItem.foodItem.foodName.containsIgnoreCase(keyword)
+        // 건수 캐시 키와 같은 정규화 값으로 조건을 만든다
+        CountKey key = CountKey.of("search", null, null, keyword);
+        return fetchPage(
+            QFoodItem.foodItem.foodName.containsIgnoreCase(key.keyword())
                 .and(QFoodItem.foodItem.foodID.stringValue().startsWith("5"))
-                .and(QFoodItem.foodItem.foodID.stringValue().length().goe(2))
-            );
-
-        if (pageable.isUnpaged()) {
-            List<FoodItem> content = query.fetch();
-            return new PageImpl<>(content, pageable, content.size());
-        }
+                .and(QFoodItem.foodItem.foodID.stringValue().length().goe(2)),
+            pageable,
+            key
+        );
+    }
 
-        List<FoodItem> content = query
-            .offset(pageable.getOffset())
-            .limit(pageable.getPageSize())
-            .fetch();
 
-        Long count = queryFactory
-            .select(QFoodItem.foodItem.count())
-            .from(QFoodItem.foodItem)
+    /**
+     * foodID 목록으로 재료 일괄 조회 (food_id 정수 컬럼 IN 비교이므로 인덱스를 사용한다)
+     * 한 자리 foodID는 제외하며(기존 길이 2 이상 조건과 동일), 결과 순서는 보장하지 않는다
+     *
+     * @param foodIds 조회할 foodID 목록
+     * @return 조건에 맞는 FoodItem 목록
+     */
+    public List<FoodItem> findByFoodIdIn(List<Integer> foodIds) {
+        if (foodIds.isEmpty()) {
+            return List.of();
+        }
+        return queryFactory
+            .selectFrom(QFoodItem.foodItem)
             .where(
-                QFoodItem.foodItem.foodName.containsIgnoreCase(keyword)
-                .and(QFoodItem.foodItem.foodID.stringValue().startsWith("5"))
-                .and(QFoodItem.foodItem.foodID.stringValue().length().goe(2))
+                QFoodItem.foodItem.foodID.in(foodIds),
+                QFoodItem.foodItem.foodID.goe(10)
             )
-            .fetchOne();
-
-        return new PageImpl<>(content, pageable, count);
+            .fetch();
     }
 
-
-       
     /**
-     * 음식고유id 배열의 정보를 조회한다
-     * 
-     * @param keyword 검색 키워드
-     * @return 조건에 맞는 FoodItem 목록
+     * 공통 페이징 조회 (foodID 오름차순)
+     * - 첫 페이지가 size보다 적거나 마지막 페이지면 content 크기로 전체 건수를 계산하여 COUNT를 생략한다
+     * - COUNT가 필요하면 카탈로그 버전 단위로 캐시된 값을 사용한다
      */
- 
-     public Page<FoodItem> findIngredientByFoodId(List<String> foodIdList, Pageable pageable) {
+    private Page<FoodItem> fetchPage(BooleanExpression condition, Pageable pageable, CountKey countKey) {
         JPAQuery<FoodItem> query = queryFactory
             .selectFrom(QFoodItem.foodItem)
-            .where(
-                QFoodItem.foodItem.foodID.stringValue().in(foodIdList)
-                .and(QFoodItem.foodItem.foodID.stringValue().length().goe(2))
-            );
+            .where(condition)
+            .orderBy(QFoodItem.foodItem.foodID.asc());
 
         if (pageable.isUnpaged()) {
             List<FoodItem> content = query.fetch();
@@ -170,15 +279,112 @@ public class FoodQueryDSLRepository {
             .limit(pageable.getPageSize())
             .fetch();
 
-        Long count = queryFactory
-            .select(QFoodItem.foodItem.count())
-            .from(QFoodItem.foodItem)
+        return PageableExecutionUtils.getPage(content, pageable, () -> countCache.getOrCount(countKey, () -> {
+            Long count = queryFactory
+                .select(QFoodItem.foodItem.count())
+                .from(QFoodItem.foodItem)
+                .where(condition)
+                .fetchOne();
+            return count != null ? count : 0L;
+        }));
+    }
+
+    /**
+     * 메인 카테고리 조건
+     * 비정규화 컬럼이 동기화된 뒤에는 main_category_id 동등 비교, 그 전에는 parent_id 서브쿼리를 사용한다
+     */
+    private BooleanExpression mainCategoryCondition(String mainCategoryId) {
+        if (categoryColumnsReady && mainCategoryId != null) {
+            try {
+                return QFoodItem.foodItem.mainCategoryId.eq(Integer.parseInt(mainCategoryId.trim()));
+            } catch (NumberFormatException e) {
+                // 숫자가 아닌 ID는 기존 서브쿼리 조건으로 처리
+            }
+        }
+        QFoodItem sub = new QFoodItem("sub");
+        return QFoodItem.foodItem.parentID.in(
+            JPAExpressions.select(sub.foodID.stringValue())
+                .from(sub)
+                .where(sub.parentID.eq(mainCategoryId))
+        );
+    }
+
+    /**
+     * 커서(keyset) 방식 전체 재료 조회 - foodID 범위 내에서 afterFoodId 다음 행부터 조회
+     * OFFSET/COUNT 없이 food_id 인덱스를 바로 탐색하므로 몇 번째 페이지든 비용이 같다
+     *
+     * @param start foodID 시작 (포함)
+     * @param end foodID 끝 (포함)
+     * @param afterFoodId 이전 페이지 마지막 foodID (첫 페이지는 null)
+     * @param limit 조회할 최대 행 수
+     * @return foodID 오름차순 FoodItem 목록
+     */
+    public List<FoodItem> findByFoodIdBetweenAfter(int start, int end, Integer afterFoodId, int limit) {
+        return fetchAfter(QFoodItem.foodItem.foodID.between(start, end), afterFoodId, limit);
+    }
+
+    /**
+     * 커서(keyset) 방식 서브 카테고리 재료 조회
+     *
+     * @param subCategoryId 서브 카테고리 ID (parent_id)
+     * @param afterFoodId 이전 페이지 마지막 foodID (첫 페이지는 null)
+     * @param limit 조회할 최대 행 수
+     * @return foodID 오름차순 FoodItem 목록
+     */
+    public List<FoodItem> findBySubCategoryAfter(String subCategoryId, Integer afterFoodId, int limit) {
+        return fetchAfter(QFoodItem.foodItem.parentID.eq(subCategoryId), afterFoodId, limit);
+    }
+
+    /**
+     * 커서(keyset) 방식 메인 카테고리 재료 조회
+     *
+     * @param mainCategoryId 메인 카테고리 ID
+     * @param afterFoodId 이전 페이지 마지막 foodID (첫 페이지는 null)
+     * @param limit 조회할 최대 행 수
+     * @return foodID 오름차순 FoodItem 목록
+     */
+    public List<FoodItem> findByMainCategoryAfter(String mainCategoryId, Integer afterFoodId, int limit) {
+        return fetchAfter(mainCategoryCondition(mainCategoryId), afterFoodId, limit);
+    }
+
+    /**
+     * 냉장고 재료 목록 커서(keyset) 조회 (food_ingredient → food_item 정수 키 조인, 한 번의 쿼리)
+     * 엔티티 대신 필요한 컬럼만 DTO로 프로젝션하므로 영속성 컨텍스트에 엔티티가 쌓이지 않는다
+     *
+     * @param memberId 사용자 ID
+     * @param after 이전 페이지 마지막 위치 (첫 페이지는 null)
+     * @param limit 조회할 최대 행 수
+     * @return 등록일 최신순(같으면 f_in_id 내림차순) 재료 목록
+     */
+    public List<PantryItemResponse> findPantryItemsAfter(Integer memberId, PantryCursor after, int limit) {
+        QFoodIngredient ingredient = QFoodIngredient.foodIngredient;
+        QFoodItem item = QFoodItem.foodItem;
+        return queryFactory
+            .select(Projections.constructor(PantryItemResponse.class,
+                ingredient.fInId, item.foodID, item.foodName, item.parentID, item.foodImg, ingredient.createdAt))
+            .from(ingredient)
+            .join(item).on(item.foodID.eq(ingredient.foodId))
             .where(
-                QFoodItem.foodItem.foodID.stringValue().in(foodIdList)
-                .and(QFoodItem.foodItem.foodID.stringValue().length().goe(2))
+                ingredient.memberId.eq(memberId),
+                after != null
+                    ? ingredient.createdAt.lt(after.createdAt())
+                        .or(ingredient.createdAt.eq(after.createdAt()).and(ingredient.fInId.lt(after.fInId())))
+                    : null
             )
-            .fetchOne();
+            .orderBy(ingredient.createdAt.desc(), ingredient.fInId.desc())
+            .limit(limit)
+            .fetch();
+    }
 
-        return new PageImpl<>(content, pageable, count);
+    private List<FoodItem> fetchAfter(BooleanExpression condition, Integer afterFoodId, int limit) {
+        return queryFactory
+            .selectFrom(QFoodItem.foodItem)
+            .where(
+                condition,
+                afterFoodId != null ? QFoodItem.foodItem.foodID.gt(afterFoodId) : null
+            )
+            .orderBy(QFoodItem.foodItem.foodID.asc())
+            .limit(limit)
+            .fetch();
     }
 }
@@ -0,0 +1,112 @@
+package com.sdemo1.repository;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.sdemo1.entity.IngredientOutbox;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 재료 등록 아웃박스(ingredient_outbox) JDBC 저장소
+ * - 가져가기는 FOR UPDATE SKIP LOCKED로 잠긴 행을 건너뛰므로 여러 서버가 동시에 가져가도 같은 행을 나눠 갖지 않는다
+ * - 가져간 행은 가용 시각을 임대 만료 시각으로 미뤄 두고, 처리 결과(삭제/재시도/실패)는 임대 토큰이 같을 때만 반영한다
+ */
+@Repository
+@RequiredArgsConstructor
+public class IngredientOutboxRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 가져간 아웃박스 행
+     */
+    public record ClaimedRow(long id, int memberId, String payload, int attempts) {
+    }
+
+    /**
+     * 아웃박스 행 추가 (재료 등록 트랜잭션 안에서만 호출)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void insert(Integer memberId, String payload) {
+        jdbcTemplate.update("""
+                INSERT INTO ingredient_outbox (member_id, payload, status, attempts, available_at, created_at)
+                VALUES (?, ?, ?, 0, NOW(), NOW())
+                """, memberId, payload, IngredientOutbox.PENDING);
+    }
+
+    /**
+     * 가용 시각이 지난 행을 최대 limit건 가져가기 (짧은 별도 트랜잭션)
+     * @param limit 최대 행 수
+     * @param leaseSeconds 임대 시간 (이 시간 안에 처리 결과를 반영하지 못하면 다시 가져갈 수 있음)
+     * @param leaseToken 이번에 가져가는 쪽의 토큰
+     * @return 가져간 행 (attempts는 이번 시도를 포함한 값)
+     */
+    @Transactional
+    public List<ClaimedRow> claim(int limit, int leaseSeconds, String leaseToken) {
+        List<Long> ids = jdbcTemplate.queryForList("""
+                SELECT id FROM ingredient_outbox
+                WHERE status = ? AND available_at <= NOW()
+                ORDER BY available_at, id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+                """, Long.class, IngredientOutbox.PENDING, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+        Object[] args = new Object[ids.size() + 2];
+        args[0] = leaseSeconds;
+        args[1] = leaseToken;
+        for (int i = 0; i < ids.size(); i++) {
+            args[i + 2] = ids.get(i);
+        }
+        jdbcTemplate.update("UPDATE ingredient_outbox"
+                + " SET available_at = NOW() + INTERVAL ? SECOND, lease_token = ?, attempts = attempts + 1"
+                + " WHERE id IN (" + placeholders + ")", args);
+
+        return jdbcTemplate.query(
+                "SELECT id, member_id, payload, attempts FROM ingredient_outbox WHERE id IN (" + placeholders + ") ORDER BY id",
+                (rs, rowNum) -> new ClaimedRow(rs.getLong("id"), rs.getInt("member_id"),
+                        rs.getString("payload"), rs.getInt("attempts")),
+                ids.toArray());
+    }
+
+    /**
+     * 처리 완료 - 행 삭제
+     */
+    public void delete(long id, String leaseToken) {
+        jdbcTemplate.update("DELETE FROM ingredient_outbox WHERE id = ? AND lease_token = ?", id, leaseToken);
+    }
+
+    /**
+     * 처리 실패 - delaySeconds 후 다시 가져갈 수 있게 함
+     */
+    public void retryLater(long id, String leaseToken, int delaySeconds, String error) {
+        jdbcTemplate.update("""
+                UPDATE ingredient_outbox SET available_at = NOW() + INTERVAL ? SECOND, last_error = ?
+                WHERE id = ? AND lease_token = ?
+                """, delaySeconds, truncate(error), id, leaseToken);
+    }
+
+    /**
+     * 재시도 한도 초과 - FAILED로 남김 (더 이상 가져가지 않음)
+     */
+    public void markFailed(long id, String leaseToken, String error) {
+        jdbcTemplate.update("UPDATE ingredient_outbox SET status = ?, last_error = ? WHERE id = ? AND lease_token = ?",
+                IngredientOutbox.FAILED, truncate(error), id, leaseToken);
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() <= 500 ? error : error.substring(0, 500);
+    }
+}
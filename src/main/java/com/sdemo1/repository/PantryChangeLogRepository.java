@@ -0,0 +1,20 @@
+package com.sdemo1.repository;
+
+import com.sdemo1.entity.PantryChangeLog;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PantryChangeLogRepository extends JpaRepository<PantryChangeLog, Long> {
+
+    List<PantryChangeLog> findByMemberIdAndVersionGreaterThanOrderByVersionAscIdAsc(Integer memberId, long version);
+
+    @Modifying
+    @Query("DELETE FROM PantryChangeLog c WHERE c.memberId = :memberId AND c.version <= :version")
+    int deleteUpToVersion(@Param("memberId") Integer memberId, @Param("version") long version);
+}
@@ -0,0 +1,30 @@
+package com.sdemo1.repository;
+
+import com.sdemo1.entity.PantrySyncState;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface PantrySyncStateRepository extends JpaRepository<PantrySyncState, Integer> {
+
+    // 상태 행 생성 또는 기존 행에 배타 락 (동시에 생성해도 한 행만 남음)
+    // 중복 키일 때 INSERT IGNORE는 공유 락을 잡지만 ON DUPLICATE KEY UPDATE는 배타 락을 잡는다
+    @Modifying
+    @Query(value = """
+        INSERT INTO pantry_sync_state (member_id, version, compacted_version, modified_at)
+        VALUES (:memberId, :initialVersion, :initialVersion, NOW())
+        ON DUPLICATE KEY UPDATE member_id = member_id
+        """, nativeQuery = true)
+    int upsertLock(@Param("memberId") Integer memberId, @Param("initialVersion") long initialVersion);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM PantrySyncState s WHERE s.memberId = :memberId")
+    Optional<PantrySyncState> findForUpdate(@Param("memberId") Integer memberId);
+}
@@ -0,0 +1,19 @@
+package com.sdemo1.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 커서(keyset) 페이지네이션 응답
+ * - 전체 건수 대신 다음 페이지 존재 여부와 다음 커서만 내려준다 (COUNT 쿼리 없음)
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor; // 다음 페이지 요청 시 cursor 파라미터로 전달 (마지막 페이지면 null)
+}
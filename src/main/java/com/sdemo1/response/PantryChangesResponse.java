@@ -0,0 +1,23 @@
+package com.sdemo1.response;
+
+import java.util.List;
+
+import com.sdemo1.entity.FoodItem;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 냉장고 변경분 동기화 응답
+ * - version: 서버의 현재 변경 버전 (다음 요청의 since로 전달)
+ * - fullResync: true면 변경 기록이 정리되었거나 버전이 맞지 않은 경우로, added가 전체 목록이므로 로컬 목록을 교체함
+ * - added / removed: since 이후 최종적으로 추가된 재료(상세 정보)와 삭제된 재료 ID (전체 재동기화면 removed는 비어 있음)
+ */
+@Getter
+@AllArgsConstructor
+public class PantryChangesResponse {
+    private long version;
+    private boolean fullResync;
+    private List<FoodItem> added;
+    private List<Integer> removed;
+}
@@ -0,0 +1,51 @@
+package com.sdemo1.response;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 냉장고 재료 목록 항목 (food_ingredient + food_item 조인 프로젝션)
+ * - 엔티티 대신 화면에 필요한 컬럼만 담으며, JSON 필드 이름은 FoodItem 응답과 같다
+ * - 카테고리 정보(sID, sName, mID, mName)는 조회 후 채운다
+ */
+@Getter
+@Setter
+public class PantryItemResponse {
+
+    // 커서(keyset) 위치 계산용 (응답에는 포함하지 않음)
+    @JsonIgnore
+    private final int fInId;
+
+    private final int foodID;
+    private final String foodName;
+    private final String parentID;
+    private final String foodImg;
+    private final LocalDateTime createdAt;
+
+    @JsonProperty("sID")
+    private int sID;
+
+    @JsonProperty("mID")
+    private int mID;
+
+    @JsonProperty("sName")
+    private String sName;
+
+    @JsonProperty("mName")
+    private String mName;
+
+    public PantryItemResponse(int fInId, int foodID, String foodName, String parentID, String foodImg,
+                              LocalDateTime createdAt) {
+        this.fInId = fInId;
+        this.foodID = foodID;
+        this.foodName = foodName;
+        this.parentID = parentID;
+        this.foodImg = foodImg;
+        this.createdAt = createdAt;
+    }
+}
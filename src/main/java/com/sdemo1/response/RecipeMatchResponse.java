@@ -0,0 +1,23 @@
+package com.sdemo1.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 냉장고 재료와 레시피 재료 비교 결과
+ * - hasAll: 레시피 재료를 모두 가지고 있음
+ * - hasAny: 레시피 재료를 하나 이상 가지고 있음
+ * - missingFoodIds: 부족한 재료 ID (오름차순)
+ */
+@Getter
+@AllArgsConstructor
+public class RecipeMatchResponse {
+    private int cookId;
+    private int ingredientCount;
+    private int matchedCount;
+    private boolean hasAll;
+    private boolean hasAny;
+    private List<Integer> missingFoodIds;
+}
@@ -0,0 +1,25 @@
+package com.sdemo1.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 저장된 추천 결과 페이지
+ * - version: 추천 결과 버전 (다시 계산될 때마다 증가, 저장된 결과가 없으면 0)
+ * - computedAt: 추천 계산 시각 (저장된 결과가 없으면 null)
+ * - content: 순위 순 추천 레시피
+ */
+@Getter
+@AllArgsConstructor
+public class RecommendationPageResponse {
+    private long version;
+    private LocalDateTime computedAt;
+    private int page;
+    private int size;
+    private int total;
+    private boolean hasNext;
+    private List<RecommendedRecipeResponse> content;
+}
@@ -0,0 +1,20 @@
+package com.sdemo1.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 추천 레시피 한 건
+ * - cookable: 필수 재료를 모두 가지고 있음 (missingRequiredCount == 0)
+ */
+@Getter
+@AllArgsConstructor
+public class RecommendedRecipeResponse {
+    private int cookId;
+    private int matchedCount;
+    private int ingredientCount;
+    private int missingRequiredCount;
+    private int optionalMatchedCount;
+    private int optionalCount;
+    private boolean cookable;
+}
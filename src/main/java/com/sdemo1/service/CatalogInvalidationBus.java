@@ -0,0 +1,149 @@
+package com.sdemo1.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 클러스터 전체 카테고리/카탈로그 캐시 무효화 버스 (Redis pub/sub)
+ * - 관리자 갱신 시 Redis 카운터(INCR)로 클러스터 버전을 올리고, 그 버전을 채널로 발행한다
+ * - 각 노드는 자신이 적용한 버전보다 큰 버전을 받았을 때만 카테고리 레지스트리와 카탈로그를 다시 적재한다
+ *   (같은 버전을 여러 번 받거나 자기 메시지를 다시 받아도 재적재는 버전당 한 번)
+ * - pub/sub은 연결이 끊긴 동안의 메시지를 보관하지 않으므로, 주기적으로 카운터를 읽어 놓친 버전을 보정한다
+ * - Redis 장애 시에도 요청받은 노드는 로컬 재적재를 진행한다
+ * - 비정규화 카테고리 컬럼 동기화(DB 일괄 UPDATE)는 요청받은 노드만 발행 전에 한 번 실행한다 (다른 노드는 재적재만)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogInvalidationBus implements MessageListener {
+
+    static final String CHANNEL = "catalog:invalidate";
+    static final String VERSION_KEY = "catalog:version";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final CategoryRegistry categoryRegistry;
+    private final FoodCatalogService foodCatalogService;
+
+    // 이 노드가 반영한 클러스터 버전
+    private final AtomicLong appliedVersion = new AtomicLong();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong applied = new AtomicLong();
+
+    /**
+     * 채널 구독, 그리고 현재 클러스터 버전을 기준으로 삼음 (기동 시 적재가 최신 데이터를 읽으므로)
+     */
+    @PostConstruct
+    public void subscribe() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+        try {
+            appliedVersion.set(readClusterVersion());
+        } catch (Exception e) {
+            log.warn("⚠️ 클러스터 캐시 버전 조회 실패 - 다음 보정 때 다시 읽습니다: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 모든 노드의 카테고리/카탈로그 캐시 무효화 (관리자 캐시 갱신)
+     * 요청받은 노드는 발행 전에 카테고리 컬럼을 동기화하고 직접 재적재하므로, 응답 시점에는 이 노드의 캐시가 갱신되어 있다
+     */
+    public void publishInvalidation() {
+        foodCatalogService.syncCategoryColumns();
+
+        long version;
+        try {
+            version = stringRedisTemplate.opsForValue().increment(VERSION_KEY);
+        } catch (Exception e) {
+            log.warn("⚠️ 클러스터 캐시 버전 증가 실패 - 이 노드만 갱신합니다: {}", e.getMessage());
+            reloadLocal();
+            return;
+        }
+
+        apply(version);
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, String.valueOf(version));
+            log.info("📣 캐시 무효화 발행 - 클러스터 버전: {}", version);
+        } catch (Exception e) {
+            log.warn("⚠️ 캐시 무효화 발행 실패 - 다른 노드는 주기 보정으로 반영됩니다: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        received.incrementAndGet();
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            apply(Long.parseLong(body.replace("\"", "").trim()));
+        } catch (NumberFormatException e) {
+            log.warn("⚠️ 잘못된 캐시 무효화 메시지 무시: {}", body);
+        } catch (Exception e) {
+            log.error("❌ 캐시 무효화 반영 실패 - 다음 보정 때 다시 시도합니다: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 놓친 무효화 메시지 보정 (1분마다 클러스터 버전 확인)
+     */
+    @Scheduled(fixedDelay = 60 * 1000L, initialDelay = 60 * 1000L)
+    public void reconcile() {
+        try {
+            apply(readClusterVersion());
+        } catch (Exception e) {
+            log.debug("클러스터 캐시 버전 확인 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 상태 확인 (디버깅용)
+     */
+    public String getStatus() {
+        return String.format("무효화 버스 [적용 버전: %d, 수신: %d, 재적재: %d]",
+                appliedVersion.get(), received.get(), applied.get());
+    }
+
+    /**
+     * 적용한 버전보다 큰 버전이면 한 번만 재적재
+     * 여러 스레드가 같은 버전을 받아도 CAS에 성공한 스레드만 재적재한다
+     */
+    private void apply(long version) {
+        long current;
+        do {
+            current = appliedVersion.get();
+            if (version <= current) {
+                return;
+            }
+        } while (!appliedVersion.compareAndSet(current, version));
+
+        log.info("🔄 캐시 무효화 반영 - 클러스터 버전: {} → {}", current, version);
+        try {
+            reloadLocal();
+            applied.incrementAndGet();
+        } catch (RuntimeException e) {
+            // 재적재 실패 시 버전을 되돌려 다음 보정 때 다시 시도
+            appliedVersion.compareAndSet(version, current);
+            throw e;
+        }
+    }
+
+    private void reloadLocal() {
+        categoryRegistry.refresh();
+        foodCatalogService.reload();
+    }
+
+    private long readClusterVersion() {
+        String value = stringRedisTemplate.opsForValue().get(VERSION_KEY);
+        return value == null ? 0 : Long.parseLong(value);
+    }
+}
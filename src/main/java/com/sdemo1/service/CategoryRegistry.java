@@ -0,0 +1,175 @@
+package com.sdemo1.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.sdemo1.entity.FoodItem;
+import com.sdemo1.exception.CustomException;
+import com.sdemo1.repository.FoodQueryDSLRepository;
+import com.sdemo1.util.CatalogVersion;
+import com.sdemo1.util.CategoryTable;
+import com.sdemo1.util.FoodCategoryUtil;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 카테고리 맵(서브 카테고리 ID → {sName, mID, mName}) 레지스트리
+ * - 같은 내용을 int 키 조회 테이블(CategoryTable)로도 만들어 항목별 카테고리 정보 채우기에 사용한다
+ * - 불변 스냅샷을 AtomicReference로 게시하므로 조회는 락 없이 참조 하나만 읽는다
+ * - 만료(7일) 하루 전부터 스케줄러가 백그라운드에서 미리 갱신하므로 조회 요청이 적재를 기다리지 않는다
+ * - 적재는 single-flight: 동시에 여러 요청이 적재를 시작해도 DB 조회(findFoodCategory)는 한 번만 실행된다
+ * - 갱신에 실패하면 이전 스냅샷을 계속 사용한다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CategoryRegistry {
+
+    private static final long TTL_MILLIS = 7 * 24 * 60 * 60 * 1000L; // 7일
+    private static final long REFRESH_AHEAD_MILLIS = 24 * 60 * 60 * 1000L; // 만료 1일 전부터 갱신
+
+    private final FoodQueryDSLRepository foodQueryDSLRepository;
+    private final CatalogVersion catalogVersion;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<Snapshot>> inFlight = new AtomicReference<>();
+    private final AtomicLong loadCount = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+
+    /**
+     * 게시된 카테고리 맵/조회 테이블과 적재 시각
+     */
+    private record Snapshot(Map<String, Map<String, Object>> categoryMap, CategoryTable categoryTable, long loadedAt) {
+    }
+
+    /**
+     * 애플리케이션 시작 시 미리 적재 (실패하면 첫 조회 시 다시 시도)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.error("❌ 카테고리 맵 적재 실패 - 첫 조회 시 다시 시도합니다: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 카테고리 맵 조회
+     * 스냅샷이 없을 때(첫 조회)만 적재를 기다리며, 이후에는 락 없이 현재 스냅샷을 반환한다
+     */
+    public Map<String, Map<String, Object>> getCategoryMap() {
+        Snapshot current = snapshot.get();
+        if (current != null) {
+            return current.categoryMap();
+        }
+        return load().categoryMap();
+    }
+
+    /**
+     * int 키 카테고리 조회 테이블 (getCategoryMap 과 같은 스냅샷)
+     */
+    public CategoryTable getCategoryTable() {
+        Snapshot current = snapshot.get();
+        if (current != null) {
+            return current.categoryTable();
+        }
+        return load().categoryTable();
+    }
+
+    /**
+     * 즉시 다시 적재 (관리자 캐시 갱신)
+     * 이미 적재 중이면 그 결과를 함께 기다린다
+     */
+    public void refresh() {
+        load();
+    }
+
+    /**
+     * 만료가 가까운 스냅샷을 백그라운드에서 미리 갱신 (1시간마다 확인)
+     */
+    @Scheduled(fixedDelay = 60 * 60 * 1000L, initialDelay = 60 * 60 * 1000L)
+    public void refreshAhead() {
+        Snapshot current = snapshot.get();
+        if (current != null && age(current) < TTL_MILLIS - REFRESH_AHEAD_MILLIS) {
+            return;
+        }
+        try {
+            load();
+            log.info("🔄 카테고리 맵 사전 갱신 완료");
+        } catch (Exception e) {
+            log.warn("⚠️ 카테고리 맵 사전 갱신 실패 - 기존 스냅샷을 유지합니다: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 캐시 상태 확인 (디버깅용)
+     */
+    public String getStatus() {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            return "캐시 없음";
+        }
+        return String.format("캐시 크기: %d, 남은 시간: %d분, 적재: %d회, 실패: %d회",
+                current.categoryMap().size(),
+                (TTL_MILLIS - age(current)) / (60 * 1000),
+                loadCount.get(),
+                failureCount.get());
+    }
+
+    /**
+     * single-flight 적재: 먼저 시작한 스레드만 DB를 조회하고 나머지는 같은 결과를 기다린다
+     */
+    private Snapshot load() {
+        CompletableFuture<Snapshot> future = new CompletableFuture<>();
+        CompletableFuture<Snapshot> running = inFlight.compareAndExchange(null, future);
+        if (running != null) {
+            return await(running);
+        }
+
+        try {
+            List<FoodItem> categories = foodQueryDSLRepository.findFoodCategory();
+            Snapshot loaded = new Snapshot(
+                    FoodCategoryUtil.buildCategoryMap(categories),
+                    CategoryTable.of(categories),
+                    System.currentTimeMillis());
+            snapshot.set(loaded);
+            loadCount.incrementAndGet();
+            // 카테고리 정보가 채워진 결과를 보관하는 캐시 무효화
+            catalogVersion.bump();
+            future.complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            failureCount.incrementAndGet();
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.set(null);
+        }
+    }
+
+    private static Snapshot await(CompletableFuture<Snapshot> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CustomException("카테고리 정보를 불러오지 못했습니다", 503);
+        }
+    }
+
+    private static long age(Snapshot current) {
+        return System.currentTimeMillis() - current.loadedAt();
+    }
+}
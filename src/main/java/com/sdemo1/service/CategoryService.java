@@ -4,89 +4,100 @@ import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
 
 import com.sdemo1.entity.FoodItem;
-import com.sdemo1.repository.FoodQueryDSLRepository;
-import com.sdemo1.util.FoodCategoryUtil;
+import com.sdemo1.util.CategoryTable;
+import com.sdemo1.util.CategoryTable.CategoryInfo;
 
 @Service
 public class CategoryService {
 
     @Autowired
-    private FoodQueryDSLRepository foodQueryDSLRepository;
-
-    // 카테고리 맵 캐싱 - 완전 정적 데이터이므로 7일 캐싱
-    private Map<String, Map<String, Object>> cachedCategoryMap;
-    private long lastCacheUpdate = 0;
-    private static final long CACHE_EXPIRY_TIME = 7 * 24 * 60 * 60 * 1000L; // 7일
+    private CategoryRegistry categoryRegistry;
 
     /**
-     * 카테고리 맵 조회 (캐시 적용)
+     * 카테고리 맵 조회 (CategoryRegistry의 불변 스냅샷)
      */
     public Map<String, Map<String, Object>> getCategoryMap() {
-        long currentTime = System.currentTimeMillis();
-        
-        // 캐시가 없거나 만료된 경우에만 새로 조회
-        if (cachedCategoryMap == null || (currentTime - lastCacheUpdate) > CACHE_EXPIRY_TIME) {
-            refreshCategoryMap();
-        }
-        
-        return cachedCategoryMap;
+        return categoryRegistry.getCategoryMap();
     }
 
     /**
      * 카테고리 맵 수동 갱신 (관리자용)
      */
     public void refreshCategoryMap() {
-        List<FoodItem> foodItems = findFoodCategory();
-        cachedCategoryMap = FoodCategoryUtil.getCategoryMap(foodItems);
-        lastCacheUpdate = System.currentTimeMillis();
-    }
-
-    /**
-     * 음식 카테고리 조회
-     */
-    private List<FoodItem> findFoodCategory() {
-        return foodQueryDSLRepository.findFoodCategory();
+        categoryRegistry.refresh();
     }
 
     /**
      * 캐시 상태 확인 (디버깅용)
      */
     public String getCacheStatus() {
-        if (cachedCategoryMap == null) {
-            return "캐시 없음";
-        }
-        
-        long cacheAge = System.currentTimeMillis() - lastCacheUpdate;
-        long remainingTime = CACHE_EXPIRY_TIME - cacheAge;
-        
-        return String.format("캐시 크기: %d, 남은 시간: %d분", 
-                           cachedCategoryMap.size(), 
-                           remainingTime / (60 * 1000));
+        return categoryRegistry.getStatus();
     }
 
     /**
      * FoodItem에 카테고리 정보 추가 (공통 메소드)
+     * 모든 조회 응답의 항목마다 호출되므로 int 키 조회 테이블을 사용한다 (문자열 변환/박싱/예외 없음)
      * @param foodItem 카테고리 정보를 추가할 FoodItem
      * @return 카테고리 정보가 추가된 FoodItem
      */
     public FoodItem enrichWithCategoryInfo(FoodItem foodItem) {
-        Map<String, Map<String, Object>> categoryMap = getCategoryMap();
-        String parentID = foodItem.getParentID();
-        Map<String, Object> categoryInfo = categoryMap.get(parentID);
+        return enrich(categoryRegistry.getCategoryTable(), foodItem);
+    }
+
+    /**
+     * parent_id(서브 카테고리 ID)로 카테고리 정보 조회
+     * @return 카테고리 정보, 없으면 null
+     */
+    public CategoryInfo findCategoryInfo(String parentId) {
+        return categoryRegistry.getCategoryTable().get(parentId);
+    }
+
+    /**
+     * 목록 전체에 카테고리 정보 추가 (항목을 직접 수정)
+     * 조회 테이블은 한 번만 읽고 순차 처리한다
+     * (항목당 수십 ns라 1만 건도 수백 us 이내이므로 병렬 분배는 두지 않음, CategoryEnrichBenchmark 참고)
+     * @param foodItems 카테고리 정보를 추가할 목록
+     * @return 같은 목록
+     */
+    public List<FoodItem> enrichAll(List<FoodItem> foodItems) {
+        return enrichAll(categoryRegistry.getCategoryTable(), foodItems);
+    }
+
+    /**
+     * 페이지 내용 전체에 카테고리 정보 추가 (항목을 직접 수정)
+     * @return 같은 페이지
+     */
+    public Page<FoodItem> enrichAll(Page<FoodItem> page) {
+        enrichAll(page.getContent());
+        return page;
+    }
+
+    /**
+     * 주어진 조회 테이블로 목록 전체에 카테고리 정보 추가
+     */
+    static List<FoodItem> enrichAll(CategoryTable table, List<FoodItem> foodItems) {
+        for (FoodItem foodItem : foodItems) {
+            enrich(table, foodItem);
+        }
+        return foodItems;
+    }
+
+    private static FoodItem enrich(CategoryTable table, FoodItem foodItem) {
+        CategoryInfo categoryInfo = table.get(foodItem.getParentID());
         
         if (categoryInfo != null) {
-            try {
-                foodItem.setSID(Integer.parseInt(parentID));
-                foodItem.setSName(String.valueOf(categoryInfo.get("sName")));
-                foodItem.setMID(Integer.parseInt(String.valueOf(categoryInfo.get("mID"))));
-                foodItem.setMName(String.valueOf(categoryInfo.get("mName")));
-            } catch (Exception e) {
-                System.out.println("데이터 변환 중 오류: " + e.getMessage());
+            foodItem.setSID(categoryInfo.sId());
+            foodItem.setSName(categoryInfo.sName());
+            // 메인 카테고리가 없는 서브 카테고리는 서브 정보만 채운다
+            if (categoryInfo.hasMain()) {
+                foodItem.setMID(categoryInfo.mId());
+                foodItem.setMName(categoryInfo.mName());
             }
         }
         return foodItem;
     }
-} 
\ No newline at end of file
+}
@@ -14,6 +14,8 @@ import com.sdemo1.entity.RecipeStep;
 import com.sdemo1.repository.RecipeStepRepository;
 import org.springframework.transaction.annotation.Transactional;
 import com.sdemo1.util.DefaultFieldHandler;
+import com.sdemo1.util.FoodIdBitmap;
+import com.sdemo1.exception.CustomException;
 
 @Service
 public class CookRecipeService {
@@ -26,6 +28,8 @@ public class CookRecipeService {
     private ObjectMapper objectMapper;
     @Autowired
     private DefaultFieldHandler defaultFieldHandler;
+    @Autowired
+    private RecipeIndexService recipeIndexService;
 
     public CookRecipeService() {
     }
@@ -44,6 +48,25 @@ public class CookRecipeService {
             .collect(Collectors.toList());
     }
     
+    /**
+     * 레시피 재료 foodId 집합 (재료 매칭용 비트맵)
+     * @param cookId 레시피 ID
+     * @throws CustomException 레시피가 없거나 재료 정보를 읽을 수 없는 경우
+     */
+    public FoodIdBitmap getIngredientBitmap(int cookId) {
+        CookItem item = cookItemRepository.findById(cookId)
+            .orElseThrow(() -> new CustomException("해당하는 레시피가 없습니다.", 404));
+        try {
+            List<CookRecipeRequest.Ingredient> ingredients = objectMapper.readValue(
+                item.getIngredients(),
+                objectMapper.getTypeFactory().constructCollectionType(List.class, CookRecipeRequest.Ingredient.class)
+            );
+            return FoodIdBitmap.of(ingredients.stream().map(CookRecipeRequest.Ingredient::getFoodId).toList());
+        } catch (JsonProcessingException e) {
+            throw new CustomException("레시피 재료 정보를 읽을 수 없습니다.", 500);
+        }
+    }
+
     /**
      * CookItem을 CookRecipeResponse로 변환
      */
@@ -92,6 +115,7 @@ public class CookRecipeService {
             .build();
         
         cookItem = cookItemRepository.save(cookItem);
+        recipeIndexService.putAfterCommit(cookItem);
         
         RecipeStep recipeStep = RecipeStep.builder()
             .cookId(cookItem.getCookId())
@@ -116,6 +140,7 @@ public class CookRecipeService {
             existingCookItem.setCookTitle(request.getCookTitle());
             existingCookItem.setCookImg(request.getCookImg());
             existingCookItem.setIngredients(objectMapper.writeValueAsString(request.getIngredients()));
+            recipeIndexService.putAfterCommit(existingCookItem);
             
             // RecipeStep 업데이트
             recipeStepRepository.findByCookId(cookId)
@@ -161,5 +186,6 @@ public class CookRecipeService {
         
         // CookItem 삭제
         cookItemRepository.delete(existingCookItem);
+        recipeIndexService.removeAfterCommit(cookId);
     }
 }
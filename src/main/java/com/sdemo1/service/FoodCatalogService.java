@@ -0,0 +1,579 @@
+package com.sdemo1.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.IntUnaryOperator;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import com.sdemo1.entity.FoodItem;
+import com.sdemo1.exception.CustomException;
+import com.sdemo1.repository.FoodQueryDSLRepository;
+import com.sdemo1.repository.FoodRepository;
+import com.sdemo1.util.CatalogSnapshot;
+import com.sdemo1.util.CatalogVersion;
+import com.sdemo1.util.HangulBigramIndex;
+import com.sdemo1.util.HangulUtils;
+import com.sdemo1.util.JamoFuzzyIndex;
+import com.sdemo1.util.JamoTrie;
+import com.sdemo1.util.LatencyStats;
+import com.sdemo1.util.TopKSelector;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 음식 카탈로그(food_item) 인메모리 조회 서비스
+ * - 애플리케이션 시작 시 food_item 전체를 한 번 읽어 컬럼형 스냅샷(CatalogSnapshot)과 검색 색인을 만든다
+ * - /food/* 조회(카테고리 목록, 카테고리별/전체 재료 페이지, 커서 조회, 검색, 자동완성)는 스냅샷에서 응답하므로 DB를 조회하지 않는다
+ * - 정확도순 검색(mode=ranked)은 일치 유형별 점수로 요청 페이지 끝까지만 상위 K개를 힙으로 고른다
+ * - 오타 검색(mode=fuzzy)은 자모 색인(JamoFuzzyIndex)에서 길이가 비슷한 이름만 비트 병렬로 비교해 편집 거리 1~2 이내 이름을 찾는다
+ * - foodID 일괄 조회(회원 재료 목록 등)는 스냅샷의 이진 탐색으로 응답하고, 스냅샷에 없는 ID만 DB에서 한 번에 조회한다
+ * - 재적재 시 재료 행의 비정규화 카테고리 컬럼(main_category_id, sub_category_id)을 함께 동기화한다
+ * - 재적재 시 새 스냅샷과 색인을 만든 뒤 참조만 교체하므로 조회 중인 요청은 이전 버전을 그대로 사용한다
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FoodCatalogService {
+
+    // 자동완성 노드별로 보관하는 최대 결과 수
+    public static final int AUTOCOMPLETE_MAX_K = 20;
+    // 자모 길이가 이 값 이상이면 편집 거리 2까지 허용 (짧은 검색어는 1)
+    private static final int FUZZY_LONG_QUERY = 6;
+
+    // 정확도순 검색 점수 (일치 유형 + 카테고리 가산점 - 이름 길이 차이)
+    private static final int SCORE_EXACT = 1000;
+    private static final int SCORE_PREFIX = 600;
+    private static final int SCORE_WORD_BOUNDARY = 400;
+    private static final int SCORE_SUBSTRING = 200;
+    private static final int SCORE_CATEGORY_BOOST = 150;
+    private static final int MAX_LENGTH_PENALTY = 100;
+
+    private final FoodRepository foodRepository;
+    private final FoodQueryDSLRepository foodQueryDSLRepository;
+    private final CatalogVersion catalogVersion;
+
+    // 카탈로그 스냅샷과 검색 색인 (한 번에 교체)
+    private volatile CatalogIndex catalogIndex;
+
+    // 자동완성 조회 시간 (키 입력 1회당 트라이 조회 비용)
+    private final LatencyStats autocompleteLatency = new LatencyStats(4096);
+    // 오타 검색 조회 시간
+    private final LatencyStats fuzzyLatency = new LatencyStats(4096);
+
+    /**
+     * @param searchRows 검색 색인의 문서 번호 → 스냅샷 행 번호
+     * @param entityBytes 같은 데이터를 엔티티 목록으로 보관할 때의 추정 메모리 (비교용)
+     */
+    private record CatalogIndex(CatalogSnapshot snapshot, int[] searchRows, HangulBigramIndex nameIndex,
+                                JamoTrie jamoTrie, JamoTrie chosungTrie, JamoFuzzyIndex fuzzyIndex,
+                                long entityBytes, long loadedAt) {
+    }
+
+    /**
+     * 애플리케이션 시작 시 카탈로그 적재
+     * 실패하더라도 조회는 DB로 동작하므로 기동을 막지 않는다
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("❌ 음식 카탈로그 적재 실패 - DB 조회로 대체합니다: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 카탈로그 재적재 (관리자 캐시 갱신 시 모든 노드에서 호출)
+     * DB에는 쓰지 않는다. 비정규화 카테고리 컬럼은 읽어 온 행으로 계층과 일치하는지만 확인한다
+     */
+    public synchronized void reload() {
+        long start = System.currentTimeMillis();
+
+        List<FoodItem> items = foodRepository.findAllByOrderByFoodIDAsc();
+        foodQueryDSLRepository.setCategoryColumnsReady(categoryColumnsInSync(items));
+        CatalogSnapshot snapshot = CatalogSnapshot.of(items);
+        long entityBytes = CatalogSnapshot.estimateEntityBytes(items);
+
+        int searchCount = 0;
+        int[] searchRows = new int[snapshot.size()];
+        for (int row = 0; row < snapshot.size(); row++) {
+            if (isSearchable(snapshot.foodId(row))) {
+                searchRows[searchCount++] = row;
+            }
+        }
+        searchRows = Arrays.copyOf(searchRows, searchCount);
+
+        List<String> names = new ArrayList<>(searchCount);
+        for (int row : searchRows) {
+            names.add(snapshot.name(row));
+        }
+        HangulBigramIndex nameIndex = HangulBigramIndex.build(names);
+        List<String> jamoNames = names.stream().map(HangulUtils::toJamo).toList();
+        JamoTrie jamoTrie = JamoTrie.build(jamoNames, AUTOCOMPLETE_MAX_K);
+        JamoTrie chosungTrie = JamoTrie.build(names.stream().map(HangulUtils::toChosung).toList(), AUTOCOMPLETE_MAX_K);
+        JamoFuzzyIndex fuzzyIndex = JamoFuzzyIndex.build(jamoNames);
+        this.catalogIndex = new CatalogIndex(snapshot, searchRows, nameIndex,
+                jamoTrie, chosungTrie, fuzzyIndex, entityBytes, System.currentTimeMillis());
+        // 카탈로그에서 파생된 캐시(COUNT 등) 무효화
+        catalogVersion.bump();
+
+        log.info("📚 음식 카탈로그 적재 완료 - 전체: {}개, 검색 대상: {}개, bigram: {}개, 트라이 노드: {}/{}개, "
+                        + "스냅샷: {}B/건 (엔티티 추정 {}B/건), 소요시간: {}ms",
+                snapshot.size(), nameIndex.size(), nameIndex.bigramCount(), jamoTrie.nodeCount(), chosungTrie.nodeCount(),
+                bytesPerItem(snapshot.estimatedBytes(), snapshot.size()), bytesPerItem(entityBytes, snapshot.size()),
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 카테고리 계층(메인 → 서브)을 읽어 재료 행의 비정규화 컬럼 동기화 (DB 일괄 UPDATE)
+     * 관리자 캐시 갱신 때 무효화를 발행하는 노드에서만, 발행 전에 한 번 호출한다 (다른 노드는 재적재만 함)
+     * 실패하면 메인 카테고리 조회가 기존 서브쿼리 방식으로 남을 뿐이므로 캐시 갱신은 계속 진행한다
+     */
+    public void syncCategoryColumns() {
+        try {
+            Map<Integer, Integer> subToMain = subToMain(foodQueryDSLRepository.findFoodCategory());
+            long updated = foodQueryDSLRepository.syncCategoryColumns(subToMain);
+            log.info("🗂️ 카테고리 컬럼 동기화 완료 - 서브 카테고리: {}개, 갱신 행: {}개", subToMain.size(), updated);
+        } catch (Exception e) {
+            log.warn("⚠️ 카테고리 컬럼 동기화 실패 - 메인 카테고리 조회는 서브쿼리로 동작합니다: {}", e.getMessage());
+        }
+    }
+
+    // 서브 카테고리 ID → 메인 카테고리 ID (메인은 parent_id가 P/R인 행, 서브는 parent_id가 메인 ID인 행)
+    private static Map<Integer, Integer> subToMain(List<FoodItem> rows) {
+        Set<String> mainIds = new HashSet<>();
+        for (FoodItem row : rows) {
+            if ("P".equals(row.getParentID()) || "R".equals(row.getParentID())) {
+                mainIds.add(String.valueOf(row.getFoodID()));
+            }
+        }
+        Map<Integer, Integer> subToMain = new HashMap<>();
+        for (FoodItem row : rows) {
+            if (mainIds.contains(row.getParentID())) {
+                subToMain.put(row.getFoodID(), Integer.parseInt(row.getParentID()));
+            }
+        }
+        return subToMain;
+    }
+
+    // 모든 행의 비정규화 컬럼이 syncCategoryColumns 결과와 같은지 (서브 카테고리 아래 행은 (메인, 서브), 나머지는 null)
+    static boolean categoryColumnsInSync(List<FoodItem> items) {
+        Map<String, Integer> mainBySubKey = new HashMap<>();
+        subToMain(items).forEach((subId, mainId) -> mainBySubKey.put(String.valueOf(subId), mainId));
+        for (FoodItem item : items) {
+            Integer mainId = mainBySubKey.get(item.getParentID());
+            Integer subId = mainId == null ? null : Integer.valueOf(item.getParentID());
+            if (!Objects.equals(mainId, item.getMainCategoryId()) || !Objects.equals(subId, item.getSubCategoryId())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 카탈로그가 메모리에 적재되었는지 여부
+     */
+    public boolean isLoaded() {
+        return catalogIndex != null;
+    }
+
+    /**
+     * parent_id 목록에 속한 행 조회 (FoodRepository.findByParentIDIn 대체, foodID 오름차순)
+     */
+    public List<FoodItem> findByParentIds(List<String> parentIds) {
+        CatalogSnapshot snapshot = catalogIndex.snapshot();
+        List<int[]> groups = new ArrayList<>(parentIds.size());
+        for (String parentId : parentIds) {
+            groups.add(snapshot.rowsWithParent(parentId));
+        }
+        return toItems(snapshot, mergeRows(groups));
+    }
+
+    /**
+     * 메인 카테고리(parent_id가 P/R)와 그 하위 서브 카테고리 목록 (FoodQueryDSLRepository.findFoodCategory 대체)
+     */
+    public List<FoodItem> findFoodCategory() {
+        CatalogSnapshot snapshot = catalogIndex.snapshot();
+        List<FoodItem> result = findByParentIds(List.of("P", "R"));
+        List<int[]> subGroups = new ArrayList<>(result.size());
+        for (FoodItem main : result) {
+            subGroups.add(snapshot.rowsWithParent(String.valueOf(main.getFoodID())));
+        }
+        result = new ArrayList<>(result);
+        result.addAll(toItems(snapshot, mergeRows(subGroups)));
+        return result;
+    }
+
+    /**
+     * 서브 카테고리(parent_id)에 속한 재료 페이지 (foodID 오름차순)
+     */
+    public Page<FoodItem> findBySubCategory(String subCategoryId, Pageable pageable) {
+        CatalogSnapshot snapshot = catalogIndex.snapshot();
+        int[] rows = snapshot.rowsWithParent(subCategoryId);
+        return toPage(snapshot, rows.length, i -> rows[i], pageable);
+    }
+
+    /**
+     * 메인 카테고리에 속한 재료 페이지 (foodID 오름차순)
+     */
+    public Page<FoodItem> findByMainCategory(String mainCategoryId, Pageable pageable) {
+        CatalogSnapshot snapshot = catalogIndex.snapshot();
+        int[] rows = snapshot.rowsWithGrandParent(mainCategoryId);
+        return toPage(snapshot, rows.length, i -> rows[i], pageable);
+    }
+
+    /**
+     * foodID 범위 내 전체 재료 페이지 (foodID 오름차순)
+     */
+    public Page<FoodItem> findByFoodIdBetween(int start, int end, Pageable pageable) {
+        CatalogSnapshot snapshot = catalogIndex.snapshot();
+        int from = snapshot.lowerBound(start);
+        int to = end == Integer.MAX_VALUE ? snapshot.size() : snapshot.lowerBound(end + 1);
+        return toPage(snapshot, Math.max(0, to - from), i -> from + i, pageable);
+    }
+
+    /**
+     * 커서(keyset) 방식 서브 카테고리 재료 조회 - afterFoodId 다음 행부터 최대 limit건
+     */
+    public List<FoodItem> findBySubCategoryAfter(String subCategoryId, Integer afterFoodId, int limit) {
+        CatalogSnapshot snapshot = catalogIndex.snapshot();
+        int[] rows = snapshot.rowsWithParent(subCategoryId);
+        return toSlice(snapshot, rows.length, i -> rows[i], afterFoodId, limit);
+    }
+
+    /**
+     * 커서(keyset) 방식 메인 카테고리 재료 조회 - afterFoodId 다음 행부터 최대 limit건
+     */
+    public List<FoodItem> findByMainCategoryAfter(String mainCategoryId, Integer afterFoodId, int limit) {
+        CatalogSnapshot snapshot = catalogIndex.snapshot();
+        int[] rows = snapshot.rowsWithGrandParent(mainCategoryId);
+        return toSlice(snapshot, rows.length, i -> rows[i], afterFoodId, limit);
+    }
+
+    /**
+     * 커서(keyset) 방식 foodID 범위 재료 조회 - afterFoodId 다음 행부터 최대 limit건
+     */
+    public List<FoodItem> findByFoodIdBetweenAfter(int start, int end, Integer afterFoodId, int limit) {
+        CatalogSnapshot snapshot = catalogIndex.snapshot();
+        int from = snapshot.lowerBound(start);
+        int to = end == Integer.MAX_VALUE ? snapshot.size() : snapshot.lowerBound(end + 1);
+        return toSlice(snapshot, Math.max(0, to - from), i -> from + i, afterFoodId, limit);
+    }
+
+    /**
+     * 음식 이름 부분 일치 검색 (foodID가 '5'로 시작하는 두 자리 이상 재료 대상)
+     * FoodQueryDSLRepository.findByFoodNameContainingAndFoodIdStartingWithFive 와 같은 결과를 반환한다
+     * @param keyword 검색 키워드 (대소문자 무시)
+     * @param pageable 페이지 정보
+     * @return foodID 오름차순 검색 결과
+     */
+    public Page<FoodItem> searchByFoodName(String keyword, Pageable pageable) {
+        CatalogIndex index = this.catalogIndex;
+        int[] matches = index.nameIndex().search(keyword);
+        int[] searchRows = index.searchRows();
+        return toPage(index.snapshot(), matches.length, i -> searchRows[matches[i]], pageable);
+    }
+
+    /**
+     * 정확도순 이름 검색
+     * - 검색어와 이름이 같으면 > 이름이 검색어로 시작하면 > 단어 경계(공백, 괄호 등 뒤)에서 일치하면 > 중간에 포함되면 순
+     * - 같은 유형이면 이름이 짧을수록, boostMainCategoryId 가 주어지면 그 메인 카테고리 재료를 앞에 둔다
+     * - 요청 페이지 끝(offset + size)까지만 힙으로 선택하므로 일치 건수가 많아도 전체 정렬을 하지 않는다
+     * @param keyword 검색 키워드 (대소문자 무시)
+     * @param boostMainCategoryId 가산점을 줄 메인 카테고리 ID (없으면 null)
+     * @param pageable 페이지 정보
+     * @return 점수 내림차순(동점은 foodID 오름차순) 검색 결과
+     */
+    public Page<FoodItem> rankedSearchByFoodName(String keyword, String boostMainCategoryId, Pageable pageable) {
+        CatalogIndex index = this.catalogIndex;
+        if (index == null) {
+            throw new CustomException("검색 색인이 아직 준비되지 않았습니다", 503);
+        }
+
+        String kw = HangulBigramIndex.normalize(keyword);
+        int[] matches = index.nameIndex().search(keyword);
+        int[] searchRows = index.searchRows();
+        int[] boostRows = boostMainCategoryId == null
+                ? new int[0]
+                : index.snapshot().rowsWithGrandParent(boostMainCategoryId.trim());
+
+        int k = pageable.isPaged()
+                ? (int) Math.min((long) pageable.getOffset() + pageable.getPageSize(), matches.length)
+                : matches.length;
+        int[] ranked = TopKSelector.select(matches.length, i -> {
+            int doc = matches[i];
+            int score = matchScore(index.nameIndex().normalizedName(doc), kw);
+            if (boostRows.length > 0 && Arrays.binarySearch(boostRows, searchRows[doc]) >= 0) {
+                score += SCORE_CATEGORY_BOOST;
+            }
+            // 동점이면 문서 번호(foodID 순서)가 작은 쪽이 앞
+            return ((long) score << 32) | (Integer.MAX_VALUE - doc);
+        }, k);
+
+        int from = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), ranked.length) : 0;
+        List<FoodItem> content = new ArrayList<>(ranked.length - from);
+        for (int i = from; i < ranked.length; i++) {
+            content.add(index.snapshot().toFoodItem(searchRows[matches[ranked[i]]]));
+        }
+        return new PageImpl<>(content, pageable, matches.length);
+    }
+
+    /**
+     * 검색어 일치 유형 점수 (name, kw 모두 정규화된 값이며 name은 kw를 포함한다)
+     */
+    private static int matchScore(String name, String kw) {
+        int base;
+        if (name.equals(kw)) {
+            base = SCORE_EXACT;
+        } else if (name.startsWith(kw)) {
+            base = SCORE_PREFIX;
+        } else if (matchesAtWordBoundary(name, kw)) {
+            base = SCORE_WORD_BOUNDARY;
+        } else {
+            base = SCORE_SUBSTRING;
+        }
+        return base + MAX_LENGTH_PENALTY - Math.min(name.length() - kw.length(), MAX_LENGTH_PENALTY);
+    }
+
+    private static boolean matchesAtWordBoundary(String name, String kw) {
+        for (int pos = name.indexOf(kw, 1); pos > 0; pos = name.indexOf(kw, pos + 1)) {
+            char before = name.charAt(pos - 1);
+            if (Character.isWhitespace(before) || "()[],/-_·".indexOf(before) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 오타 허용 이름 검색 (예: "양퍄" → 양파)
+     * - 검색어와 이름을 자모로 분해한 편집 거리가 1(짧은 검색어) 또는 2 이내인 재료를 찾는다
+     * @param keyword 검색 키워드
+     * @param pageable 페이지 정보
+     * @return 편집 거리 → foodID 오름차순 검색 결과
+     */
+    public Page<FoodItem> fuzzySearchByFoodName(String keyword, Pageable pageable) {
+        CatalogIndex index = this.catalogIndex;
+        if (index == null) {
+            throw new CustomException("오타 검색 색인이 아직 준비되지 않았습니다", 503);
+        }
+
+        long start = System.nanoTime();
+        String query = HangulUtils.toJamo(keyword == null ? "" : keyword.trim());
+        int maxDistance = query.length() >= FUZZY_LONG_QUERY ? 2 : 1;
+        JamoFuzzyIndex.Result result = index.fuzzyIndex().search(query, maxDistance);
+
+        // (거리, 문서 번호) 순 정렬 - 문서 번호는 foodID 순서
+        int[] docs = result.docs();
+        int[] distances = result.distances();
+        long[] keys = new long[docs.length];
+        for (int i = 0; i < docs.length; i++) {
+            keys[i] = ((long) distances[i] << 32) | docs[i];
+        }
+        Arrays.sort(keys);
+        fuzzyLatency.record(System.nanoTime() - start);
+
+        int[] searchRows = index.searchRows();
+        return toPage(index.snapshot(), keys.length, i -> searchRows[(int) keys[i]], pageable);
+    }
+
+    /**
+     * foodID 배열로 재료 일괄 조회
+     * - 카탈로그가 적재되어 있으면 스냅샷에서 바로 찾고, 스냅샷에 없는 ID(적재 이후 추가된 재료 등)만 DB에서 한 번에 조회한다
+     * - 카탈로그가 없으면 food_id 정수 IN 조회 한 번으로 처리한다
+     * @param ids 조회할 foodID 배열
+     * @return 입력 순서를 유지한 재료 목록 (존재하지 않는 ID는 제외)
+     */
+    public List<FoodItem> getFoodItems(int[] ids) {
+        if (ids == null || ids.length == 0) {
+            return List.of();
+        }
+
+        CatalogIndex index = this.catalogIndex;
+        FoodItem[] found = new FoodItem[ids.length];
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < ids.length; i++) {
+            if (!isIngredient(ids[i])) {
+                continue;
+            }
+            int row = index != null ? index.snapshot().rowOf(ids[i]) : -1;
+            if (row >= 0) {
+                found[i] = index.snapshot().toFoodItem(row);
+            } else {
+                missing.add(ids[i]);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            Map<Integer, FoodItem> loaded = new HashMap<>();
+            for (FoodItem item : foodQueryDSLRepository.findByFoodIdIn(missing)) {
+                loaded.putIfAbsent(item.getFoodID(), item);
+            }
+            for (int i = 0; i < ids.length; i++) {
+                if (found[i] == null) {
+                    found[i] = loaded.get(ids[i]);
+                }
+            }
+        }
+
+        List<FoodItem> result = new ArrayList<>(ids.length);
+        for (FoodItem item : found) {
+            if (item != null) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 재료 이름 자동완성
+     * - 자음으로만 된 입력("ㄷㅍ")은 초성 트라이, 그 외("대ㅍ", "댚")는 자모 트라이의 접두사로 조회한다
+     * @param query 입력 중인 문자열
+     * @param limit 최대 결과 수 (AUTOCOMPLETE_MAX_K 이하)
+     * @return 짧은 이름 → foodID 순으로 정렬된 재료 목록
+     */
+    public List<FoodItem> autocomplete(String query, int limit) {
+        CatalogIndex index = this.catalogIndex;
+        if (index == null) {
+            throw new CustomException("자동완성 색인이 아직 준비되지 않았습니다", 503);
+        }
+
+        long start = System.nanoTime();
+        String trimmed = query == null ? "" : query.trim();
+        int[] docs = HangulUtils.isChosungOnly(trimmed)
+                ? index.chosungTrie().topK(HangulUtils.toChosung(trimmed), limit)
+                : index.jamoTrie().topK(HangulUtils.toJamo(trimmed), limit);
+        autocompleteLatency.record(System.nanoTime() - start);
+
+        List<FoodItem> result = new ArrayList<>(docs.length);
+        for (int doc : docs) {
+            result.add(index.snapshot().toFoodItem(index.searchRows()[doc]));
+        }
+        return result;
+    }
+
+    /**
+     * 캐시 상태 확인 (디버깅용)
+     */
+    public String getStatus() {
+        CatalogIndex index = this.catalogIndex;
+        if (index == null) {
+            return "카탈로그 미적재";
+        }
+        CatalogSnapshot snapshot = index.snapshot();
+        return String.format("전체: %d, 스냅샷: %dKB (%dB/건, 엔티티 추정 %dB/건), 검색 대상: %d, bigram: %d, "
+                        + "트라이: %dKB, 적재 후 경과: %d분, 자동완성 [%s], 오타 검색 [%s]",
+                snapshot.size(),
+                snapshot.estimatedBytes() / 1024,
+                bytesPerItem(snapshot.estimatedBytes(), snapshot.size()),
+                bytesPerItem(index.entityBytes(), snapshot.size()),
+                index.nameIndex().size(),
+                index.nameIndex().bigramCount(),
+                (index.jamoTrie().estimatedBytes() + index.chosungTrie().estimatedBytes()) / 1024,
+                (System.currentTimeMillis() - index.loadedAt()) / (60 * 1000),
+                autocompleteLatency.summary(),
+                fuzzyLatency.summary());
+    }
+
+    /**
+     * 재료 조회 대상 여부 (두 자리 이상 foodID - 기존 food_id 길이 2 이상 조건과 동일)
+     */
+    private static boolean isIngredient(int foodID) {
+        return foodID >= 10;
+    }
+
+    /**
+     * 검색 대상 여부 (foodID가 '5'로 시작하는 두 자리 이상)
+     */
+    private static boolean isSearchable(int foodID) {
+        String id = Integer.toString(foodID);
+        return id.length() >= 2 && id.charAt(0) == '5';
+    }
+
+    private static long bytesPerItem(long bytes, int count) {
+        return count == 0 ? 0 : bytes / count;
+    }
+
+    /**
+     * 행 목록(count건, i번째 행 = rowAt(i))에서 요청 페이지만 FoodItem으로 만든다
+     */
+    private static Page<FoodItem> toPage(CatalogSnapshot snapshot, int count, IntUnaryOperator rowAt, Pageable pageable) {
+        int from = 0;
+        int to = count;
+        if (pageable.isPaged()) {
+            from = (int) Math.min(pageable.getOffset(), count);
+            to = (int) Math.min((long) from + pageable.getPageSize(), count);
+        }
+
+        List<FoodItem> content = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            content.add(snapshot.toFoodItem(rowAt.applyAsInt(i)));
+        }
+        return new PageImpl<>(content, pageable, count);
+    }
+
+    /**
+     * foodID 오름차순 행 목록에서 afterFoodId 다음 위치를 이진 탐색한 뒤 limit건을 만든다
+     */
+    private static List<FoodItem> toSlice(CatalogSnapshot snapshot, int count, IntUnaryOperator rowAt,
+                                          Integer afterFoodId, int limit) {
+        int low = 0;
+        if (afterFoodId != null) {
+            int high = count;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (snapshot.foodId(rowAt.applyAsInt(mid)) <= afterFoodId) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+        }
+
+        int to = (int) Math.min((long) low + limit, count);
+        List<FoodItem> result = new ArrayList<>(Math.max(0, to - low));
+        for (int i = low; i < to; i++) {
+            result.add(snapshot.toFoodItem(rowAt.applyAsInt(i)));
+        }
+        return result;
+    }
+
+    /**
+     * 오름차순 행 목록 여러 개를 하나의 오름차순 목록으로 합친다 (행 번호 = foodID 순서)
+     */
+    private static int[] mergeRows(List<int[]> groups) {
+        int total = 0;
+        for (int[] group : groups) {
+            total += group.length;
+        }
+        int[] merged = new int[total];
+        int offset = 0;
+        for (int[] group : groups) {
+            System.arraycopy(group, 0, merged, offset, group.length);
+            offset += group.length;
+        }
+        Arrays.sort(merged);
+        return merged;
+    }
+
+    private static List<FoodItem> toItems(CatalogSnapshot snapshot, int[] rows) {
+        List<FoodItem> result = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            result.add(snapshot.toFoodItem(row));
+        }
+        return result;
+    }
+}
@@ -2,17 +2,25 @@ package com.sdemo1.service;
 
 import com.sdemo1.entity.FoodIngredient;
 import com.sdemo1.entity.FoodItem;
+import com.sdemo1.entity.PantryChangeLog;
+import com.sdemo1.entity.PantrySyncState;
+import com.sdemo1.repository.FoodIngredientBatchRepository;
 import com.sdemo1.repository.FoodIngredientRepository;
 import com.sdemo1.repository.FoodQueryDSLRepository;
 import com.sdemo1.request.FoodIngredientRequest;
-import com.sdemo1.event.IngredientRegisteredEvent;
+import com.sdemo1.response.CursorPageResponse;
+import com.sdemo1.response.PantryItemResponse;
+import com.sdemo1.response.RecipeMatchResponse;
+import com.sdemo1.util.FoodIdBitmap;
+import com.sdemo1.util.CategoryTable.CategoryInfo;
+import com.sdemo1.dto.PageRequestDto;
 import com.sdemo1.exception.CustomException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.data.domain.Page;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -23,12 +31,18 @@ import java.util.stream.Collectors;
 public class FoodIngredientService {
 
     private final FoodIngredientRepository foodIngredientRepository;
+    private final FoodIngredientBatchRepository foodIngredientBatchRepository;
+    private final PantryCache pantryCache;
+    private final PantrySyncService pantrySyncService;
+    private final CookRecipeService cookRecipeService;
     private final FoodQueryDSLRepository foodQueryDSLRepository;
+    private final FoodCatalogService foodCatalogService;
     private final CategoryService categoryService;
-    private final ApplicationEventPublisher eventPublisher;
+    private final IngredientOutboxRelay ingredientOutboxRelay;
     /**
-     * 음식재료 등록 (배열) - Bulk Insert 사용
-     * 등록 성공 시 비동기 레시피 추천 이벤트 발행
+     * 음식재료 등록 (배열) - 기존 재료 IN 조회 1회 + 다중 행 INSERT IGNORE 1회
+     * 같은 트랜잭션에서 냉장고 변경 기록(동기화 버전)도 남긴다
+     * 새로 등록된 재료는 같은 트랜잭션에서 레시피 추천 아웃박스에 기록
      */
     public String createFoodIngredients(Integer memberId, List<FoodIngredientRequest> requests) {
         // 매개변수 검증 및 로깅
@@ -43,39 +57,48 @@ public class FoodIngredientService {
 
         log.info("📋 재료 등록 작업 시작 - 사용자: {}, 요청된 재료 수: {}", memberId, totalRequests);
 
-        // Bulk insert using INSERT IGNORE
-        for (int i = 0; i < requests.size(); i++) {
-            FoodIngredientRequest request = requests.get(i);
-            
+        // 0. 사용자 동기화 버전 락 (같은 사용자의 등록/삭제 직렬화)
+        PantrySyncState syncState = pantrySyncService.lock(memberId);
+
+        // 1. 요청 내 중복 제거 (같은 foodID는 처음 항목만 사용)
+        java.util.Map<Integer, FoodIngredientRequest> uniqueRequests = new java.util.LinkedHashMap<>();
+        for (FoodIngredientRequest request : requests) {
+            uniqueRequests.putIfAbsent(request.getFoodID(), request);
+        }
+
+        // 2. 이미 등록된 재료 조회 (왕복 1회)
+        java.util.Set<Integer> existingFoodIds = new java.util.HashSet<>(
+                foodIngredientBatchRepository.findExistingFoodIds(memberId, new java.util.ArrayList<>(uniqueRequests.keySet())));
+
+        List<FoodIngredientRequest> newRequests = new java.util.ArrayList<>();
+        for (FoodIngredientRequest request : uniqueRequests.values()) {
+            if (existingFoodIds.contains(request.getFoodID())) {
+                log.debug("⚠️ 재료 이미 등록됨 - ID: {}, 이름: '{}'", request.getFoodID(), request.getFoodName());
+            } else {
+                newRequests.add(request);
+                registeredFoodIds.add(request.getFoodID());
+                registeredFoodNames.add(request.getFoodName());
+            }
+        }
+
+        // 3. 새 재료만 다중 행 INSERT IGNORE (왕복 1회, 실패 시 트랜잭션 롤백)
+        if (!newRequests.isEmpty()) {
             try {
-                log.debug("🔄 재료 등록 시도 [{}/{}] - ID: {}, 이름: '{}'", 
-                         i + 1, totalRequests, request.getFoodID(), request.getFoodName());
-                
-                int result = foodIngredientRepository.insertIgnoreIngredient(
-                    memberId, 
-                    request.getFoodID(), 
-                    request.getFoodName()
-                );
-                insertedCount += result;
-                
-                // 성공적으로 등록된 재료 정보 수집
-                if (result > 0) {
-                    registeredFoodIds.add(request.getFoodID());
-                    registeredFoodNames.add(request.getFoodName());
-                    log.debug("✅ 재료 등록 성공 [{}/{}] - ID: {}, 이름: '{}'", 
-                             i + 1, totalRequests, request.getFoodID(), request.getFoodName());
-                } else {
-                    log.debug("⚠️ 재료 이미 등록됨 [{}/{}] - ID: {}, 이름: '{}'", 
-                             i + 1, totalRequests, request.getFoodID(), request.getFoodName());
-                }
-                
+                insertedCount = foodIngredientBatchRepository.insertIgnoreAll(memberId, newRequests);
             } catch (Exception e) {
-                log.error("❌ 재료 등록 실패 [{}/{}] - ID: {}, 이름: '{}', 오류: {}", 
-                         i + 1, totalRequests, request.getFoodID(), request.getFoodName(), e.getMessage());
-                // 개별 재료 등록 실패는 전체 작업을 중단하지 않고 계속 진행
-                // 필요에 따라 예외를 다시 던질 수도 있음
+                log.error("❌ 재료 일괄 등록 실패 - 사용자: {}, 등록 대상: {}개, 오류: {}",
+                         memberId, newRequests.size(), e.getMessage());
                 throw e; // 트랜잭션 롤백을 위해 예외를 다시 던짐
             }
+            pantrySyncService.record(syncState, PantryChangeLog.ADDED, registeredFoodIds);
+            pantryCache.addAfterCommit(memberId, registeredFoodIds);
+            // 레시피 추천 이벤트는 같은 트랜잭션의 아웃박스에 남기고 폴러가 추천 실행기로 전달
+            ingredientOutboxRelay.enqueue(memberId, registeredFoodIds, registeredFoodNames);
+            if (insertedCount < newRequests.size()) {
+                // 조회와 등록 사이에 같은 재료가 동시에 등록된 경우 (INSERT IGNORE로 중복 행은 생기지 않음)
+                log.warn("⚠️ 동시 등록으로 일부 재료가 중복 처리됨 - 사용자: {}, 대상: {}개, 추가: {}개",
+                         memberId, newRequests.size(), insertedCount);
+            }
         }
 
         log.info("📊 재료 등록 결과 - 사용자: {}, 전체: {}개, 성공: {}개, 중복: {}개", 
@@ -93,42 +116,6 @@ public class FoodIngredientService {
             resultMessage = String.format("총 %d개의 음식재료가 모두 등록되었습니다.", insertedCount);
         }
 
-        // // 새로 등록된 재료가 있는 경우 비동기 레시피 추천 이벤트 발행
-        // if (insertedCount > 0) {
-        //     try {
-        //         log.info("🚀 비동기 레시피 추천 이벤트 준비 - 사용자: {}, 등록된 재료 수: {}", 
-        //                 memberId, insertedCount);
-                        
-        //         IngredientRegisteredEvent event = new IngredientRegisteredEvent(
-        //             this, 
-        //             memberId, 
-        //             registeredFoodIds, 
-        //             registeredFoodNames,
-        //             insertedCount
-        //         );
-                
-        //         eventPublisher.publishEvent(event);
-                
-        //         log.info("📢 재료 등록 이벤트 발행 성공 - 사용자: {}, 등록된 재료: {}", 
-        //                 memberId, registeredFoodNames);
-                        
-        //         if (log.isDebugEnabled()) {
-        //             String foodIdsList = registeredFoodIds.stream()
-        //                     .map(String::valueOf)
-        //                     .collect(Collectors.joining(", "));
-        //             log.debug("📝 이벤트 상세 정보 - 재료 ID 목록: [{}]", foodIdsList);
-        //         }
-                
-        //     } catch (Exception e) {
-        //         log.error("❌ 재료 등록 이벤트 발행 실패 - 사용자: {}, 오류: {}", 
-        //                  memberId, e.getMessage(), e);
-        //         // 이벤트 발행 실패해도 메인 기능(재료 등록)은 성공이므로 예외를 다시 던지지 않음
-        //         // 필요시 모니터링 알림 등을 추가할 수 있음
-        //     }
-        // } else {
-        //     log.info("ℹ️ 새로 등록된 재료가 없어 레시피 추천 이벤트를 발행하지 않습니다 - 사용자: {}", memberId);
-        // }
-
         return resultMessage;
     }
 
@@ -297,6 +284,7 @@ public class FoodIngredientService {
 
     /**
      * 음식재료 벌크 삭제
+     * 삭제된 재료가 있으면 같은 트랜잭션에서 레시피 추천 아웃박스에 기록해 남은 재료로 추천을 다시 계산한다
      * @param memberId 사용자 ID
      * @param foodIds 삭제할 음식재료 ID 목록
      * @return 삭제 결과 메시지
@@ -318,7 +306,19 @@ public class FoodIngredientService {
             log.debug("📝 삭제 예정 재료 ID 목록: [{}]", foodIdsList);
         }
 
-        int deletedCount = foodIngredientRepository.deleteByMemberIdAndFoodIdIn(memberId, foodIds);
+        PantrySyncState syncState = pantrySyncService.lock(memberId);
+        // 실제로 등록되어 있던 재료만 삭제/기록 (사용자 버전 락을 잡은 뒤라 조회와 삭제 사이에 바뀌지 않는다)
+        List<Integer> removedFoodIds = foodIngredientBatchRepository.findExistingFoodIds(
+                memberId, foodIds.stream().distinct().toList());
+        int deletedCount = removedFoodIds.isEmpty()
+                ? 0
+                : foodIngredientRepository.deleteByMemberIdAndFoodIdIn(memberId, removedFoodIds);
+        if (deletedCount > 0) {
+            pantrySyncService.record(syncState, PantryChangeLog.REMOVED, removedFoodIds);
+            pantryCache.removeAfterCommit(memberId, removedFoodIds);
+            // 다시 계산하지 않으면 저장된 추천(reco:{memberId})이 TTL까지 삭제된 재료 기준으로 남는다
+            ingredientOutboxRelay.enqueue(memberId, removedFoodIds, List.of());
+        }
         
         log.info("📊 재료 삭제 결과 - 사용자: {}, 요청: {}개, 실제 삭제: {}개", 
                  memberId, foodIds.size(), deletedCount);
@@ -335,12 +335,83 @@ public class FoodIngredientService {
     }
 
 
+    /**
+     * 사용자 냉장고 재료 비트맵 (Redis 냉장고 캐시의 foodId로 생성, 미스일 때만 DB 조회)
+     * @param memberId 사용자 ID
+     * @return foodId 비트맵
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public FoodIdBitmap getPantryBitmap(Integer memberId) {
+        return FoodIdBitmap.of(pantryCache.getOrLoad(memberId,
+                () -> foodIngredientRepository.findByMemberIdOrderByCreatedAtDesc(memberId)));
+    }
+
+    /**
+     * 냉장고 재료와 레시피 재료 비교 (가진 재료 수, 전부/일부 보유 여부, 부족한 재료)
+     * @param memberId 사용자 ID
+     * @param cookId 레시피 ID
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public RecipeMatchResponse matchRecipe(Integer memberId, int cookId) {
+        FoodIdBitmap recipe = cookRecipeService.getIngredientBitmap(cookId);
+        FoodIdBitmap pantry = getPantryBitmap(memberId);
+
+        int[] missing = recipe.andNot(pantry);
+        return new RecipeMatchResponse(cookId, recipe.cardinality(), recipe.andCardinality(pantry),
+                pantry.containsAll(recipe), pantry.intersects(recipe),
+                Arrays.stream(missing).boxed().toList());
+    }
+
+    /**
+     * 사용자가 등록한 음식재료 커서(keyset) 조회
+     * - food_ingredient와 food_item을 조인한 한 번의 쿼리로 등록일 최신순 size+1 건을 DTO로 조회한다
+     * - 재료가 매우 많은 사용자도 페이지마다 같은 비용으로 조회된다
+     * @param memberId 사용자 ID
+     * @param pageRequest 크기(최대 100)와 커서 (빈 문자열이면 첫 페이지)
+     * @return 재료 목록과 다음 커서
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<PantryItemResponse> findIngredientSliceByMemberId(Integer memberId, PageRequestDto pageRequest) {
+        if (memberId == null || memberId <= 0) {
+            log.error("❌ 조회 매개변수 검증 실패: memberId가 유효하지 않습니다. 값: {}", memberId);
+            throw new CustomException("유효하지 않은 사용자 ID입니다: " + memberId, 400);
+        }
+
+        int size = Math.max(1, Math.min(pageRequest.getSize(), 100));
+        List<PantryItemResponse> rows = foodQueryDSLRepository.findPantryItemsAfter(
+                memberId, pageRequest.decodeAfterPantryItem(), size + 1);
+
+        boolean hasNext = rows.size() > size;
+        List<PantryItemResponse> content = hasNext ? rows.subList(0, size) : rows;
+        for (PantryItemResponse item : content) {
+            CategoryInfo categoryInfo = categoryService.findCategoryInfo(item.getParentID());
+            if (categoryInfo != null) {
+                item.setSID(categoryInfo.sId());
+                item.setSName(categoryInfo.sName());
+                if (categoryInfo.hasMain()) {
+                    item.setMID(categoryInfo.mId());
+                    item.setMName(categoryInfo.mName());
+                }
+            }
+        }
+
+        PantryItemResponse last = content.isEmpty() ? null : content.get(content.size() - 1);
+        // created_at은 NOT NULL이므로 다음 페이지가 있으면 항상 커서를 만들 수 있다
+        String nextCursor = hasNext
+                ? PageRequestDto.encodePantryCursor(last.getCreatedAt(), last.getFInId())
+                : null;
+
+        log.info("✅ 재료 목록 커서 조회 완료 - 사용자: {}, 조회된 재료 수: {}, 다음 페이지: {}", memberId, content.size(), hasNext);
+        return new CursorPageResponse<>(content, size, hasNext, nextCursor);
+    }
+
     /**
      * 사용자가 등록한 음식재료들의 상세 정보 전체 조회 (페이지네이션 없음)
      * @param memberId 사용자 ID
      * @return 사용자가 등록한 음식재료들의 FoodItem 정보 전체 목록
+     * 캐시 적중 시 DB 커넥션을 잡지 않도록 트랜잭션을 시작하지 않는다 (미스일 때만 저장소 조회)
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<FoodItem> findAllIngredientsByMemberId(Integer memberId) {
         // 매개변수 검증
         if (memberId == null) {
@@ -355,35 +426,25 @@ public class FoodIngredientService {
 
         log.info("🔍 재료 목록 조회 시작 - 사용자: {}", memberId);
 
-        // 1. 사용자가 등록한 음식재료들의 foodId 조회
-        List<FoodIngredient> userIngredients = foodIngredientRepository.findByMemberIdOrderByCreatedAtDesc(memberId);
+        // 1~2. 등록일 최신순 foodId 배열 (Redis 캐시, 없으면 DB 조회 후 채움)
+        int[] foodIds = pantryCache.getOrLoad(memberId,
+                () -> foodIngredientRepository.findByMemberIdOrderByCreatedAtDesc(memberId));
         
-        if (userIngredients.isEmpty()) {
+        if (foodIds.length == 0) {
             log.info("ℹ️ 재료 목록 조회 결과 - 사용자: {}, 등록된 재료 없음", memberId);
             // 등록한 음식재료가 없는 경우 빈 리스트 반환
             return List.of();
         }
         
-        log.debug("📋 사용자 등록 재료 수: {} - 사용자: {}", userIngredients.size(), memberId);
-        
-        // 2. foodId 리스트 추출
-        List<String> foodIdList = userIngredients.stream()
-                .map(ingredient -> ingredient.getFoodId().toString())
-                .collect(Collectors.toList());
-        
         if (log.isDebugEnabled()) {
-            String foodIdsList = String.join(", ", foodIdList);
-            log.debug("📝 조회할 재료 ID 목록: [{}] - 사용자: {}", foodIdsList, memberId);
+            log.debug("📝 조회할 재료 ID 목록: {} - 사용자: {}", java.util.Arrays.toString(foodIds), memberId);
         }
         
-        // 3. foodId들로 FoodItem 상세 정보 조회 (페이지네이션 없음)
-        Page<FoodItem> foodItems = foodQueryDSLRepository.findIngredientByFoodId(foodIdList, 
-                org.springframework.data.domain.Pageable.unpaged());
+        // 3. foodId들로 FoodItem 상세 정보 일괄 조회 (카탈로그 메모리 조회, 없는 ID만 DB 조회)
+        List<FoodItem> foodItems = foodCatalogService.getFoodItems(foodIds);
         
-        // 4. CategoryService의 공통 메소드 사용하여 List로 변환
-        List<FoodItem> result = foodItems.getContent().stream()
-                .map(categoryService::enrichWithCategoryInfo)
-                .collect(Collectors.toList());
+        // 4. 카테고리 정보 일괄 추가 (조회 테이블 1회 조회)
+        List<FoodItem> result = categoryService.enrichAll(foodItems);
                 
         log.info("✅ 재료 목록 조회 완료 - 사용자: {}, 조회된 재료 수: {}", memberId, result.size());
         
@@ -11,6 +11,9 @@ import com.sdemo1.exception.CustomException;
 import com.sdemo1.repository.FoodQueryDSLRepository;
 import com.sdemo1.repository.FoodRepository;
 import com.sdemo1.dto.PageRequestDto;
+import com.sdemo1.response.CursorPageResponse;
+import com.sdemo1.util.FilterResultCache;
+import com.sdemo1.util.FilterResultCache.FilterKey;
 
 @Service
 public class FoodService {
@@ -21,22 +24,44 @@ public class FoodService {
     FoodQueryDSLRepository foodQueryDSLRepository;
     @Autowired
     CategoryService categoryService;
+    @Autowired
+    FoodCatalogService foodCatalogService;
+    @Autowired
+    FilterResultCache filterResultCache;
+
+    // food_item 조회는 카탈로그 스냅샷이 적재된 경우 메모리에서, 아니면 DB에서 처리한다
 
     public List<FoodItem> findByParentIDIn(List<String> parentID) {
-        return foodRepository.findByParentIDIn(parentID);
+        return foodCatalogService.isLoaded()
+                ? foodCatalogService.findByParentIds(parentID)
+                : foodRepository.findByParentIDIn(parentID);
     }
 
     public List<FoodItem> GetByParentID(String parentID) {
-        return foodRepository.getByParentID(parentID);
+        return foodCatalogService.isLoaded()
+                ? foodCatalogService.findByParentIds(List.of(parentID))
+                : foodRepository.getByParentID(parentID);
     }
 
     public List<FoodItem> findFoodCategory() {
-        return foodQueryDSLRepository.findFoodCategory();
+        return foodCatalogService.isLoaded()
+                ? foodCatalogService.findFoodCategory()
+                : foodQueryDSLRepository.findFoodCategory();
     }
 
 
 
+    /**
+     * 재료선택 화면 페이지 조회 (결과 캐시 적용)
+     * 같은 (mID, sID, page, size) 조합은 카탈로그가 바뀌기 전까지 캐시된 페이지를 반환한다
+     */
     public Page<FoodItem> findIngredientByFilter(FoodCategoryDto params) {
+        PageRequestDto pageRequest = params.getPageRequest();
+        FilterKey key = FilterKey.of(params.getMID(), params.getSID(), pageRequest.getPage(), pageRequest.getSize());
+        return filterResultCache.getOrLoad(key, () -> loadIngredientByFilter(params));
+    }
+
+    private Page<FoodItem> loadIngredientByFilter(FoodCategoryDto params) {
         Page<FoodItem> item = null;
     
         // null 체크 추가
@@ -55,11 +80,55 @@ public class FoodService {
             throw new CustomException("조회된 데이터가 없습니다");
         }
     
-        // CategoryService의 공통 메소드 사용
-        return item.map(categoryService::enrichWithCategoryInfo);
+        // 조회 테이블을 한 번만 읽어 페이지 전체에 카테고리 정보 추가
+        return categoryService.enrichAll(item);
+    }
+
+    /**
+     * 재료선택 화면 커서(keyset) 페이지네이션
+     * - 이전 페이지 마지막 foodID 이후 size+1 건만 조회하여 다음 페이지 존재 여부를 판단한다
+     * - OFFSET과 COUNT 쿼리가 없으므로 뒤쪽 페이지도 첫 페이지와 같은 비용으로 조회된다
+     * - size는 1~100으로 제한한다
+     */
+    public CursorPageResponse<FoodItem> findIngredientSliceByFilter(FoodCategoryDto params) {
+        PageRequestDto pageRequest = params.getPageRequest();
+        Integer afterFoodId = pageRequest.decodeAfterFoodId();
+        // 0 이하면 마지막 원소 조회가, 너무 크면 size + 1이 깨지므로 냉장고 목록 커서와 같은 범위로 제한
+        int size = pageRequest.getSize() == null ? 10 : Math.max(1, Math.min(pageRequest.getSize(), 100));
+
+        boolean inMemory = foodCatalogService.isLoaded();
+        List<FoodItem> rows;
+        if (isNullOrEmpty(params.getSID()) && isNullOrEmpty(params.getMID())) {
+            rows = inMemory
+                    ? foodCatalogService.findByFoodIdBetweenAfter(50000, 59999, afterFoodId, size + 1)
+                    : foodQueryDSLRepository.findByFoodIdBetweenAfter(50000, 59999, afterFoodId, size + 1);
+        } else if (isNullOrEmpty(params.getSID())) {
+            rows = inMemory
+                    ? foodCatalogService.findByMainCategoryAfter(params.getMID(), afterFoodId, size + 1)
+                    : foodQueryDSLRepository.findByMainCategoryAfter(params.getMID(), afterFoodId, size + 1);
+        } else if (isNullOrEmpty(params.getMID())) {
+            throw new CustomException("잘못된 요청입니다 (메인x,서브o)");
+        } else {
+            rows = inMemory
+                    ? foodCatalogService.findBySubCategoryAfter(params.getSID(), afterFoodId, size + 1)
+                    : foodQueryDSLRepository.findBySubCategoryAfter(params.getSID(), afterFoodId, size + 1);
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<FoodItem> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext
+                ? PageRequestDto.encodeCursor(content.get(content.size() - 1).getFoodID())
+                : null;
+
+        return new CursorPageResponse<>(
+                categoryService.enrichAll(content),
+                size, hasNext, nextCursor);
     }
 
     private Page<FoodItem> findIngredientsByMainCategory(FoodCategoryDto params) {
+        if (foodCatalogService.isLoaded()) {
+            return foodCatalogService.findByMainCategory(params.getMID(), params.getPageRequest().toPageable());
+        }
         return foodQueryDSLRepository.findByMainCategoryWithPaging(
             params.getMID(), 
             params.getPageRequest().toPageable()
@@ -67,67 +136,57 @@ public class FoodService {
     }
 
     private Page<FoodItem> findIngredientsBySubCategory(FoodCategoryDto params) {
-        return foodRepository.findByParentID(params.getSID(), params.getPageRequest().toPageable());
+        if (foodCatalogService.isLoaded()) {
+            return foodCatalogService.findBySubCategory(params.getSID(), params.getPageRequest().toPageable());
+        }
+        return foodQueryDSLRepository.findBySubCategoryWithPaging(params.getSID(), params.getPageRequest().toPageable());
     }
 
     private Page<FoodItem> findAllIngredients(FoodCategoryDto params) {
-        return foodRepository.findByFoodIDBetween(50000, 59999, params.getPageRequest().toPageable());
+        if (foodCatalogService.isLoaded()) {
+            return foodCatalogService.findByFoodIdBetween(50000, 59999, params.getPageRequest().toPageable());
+        }
+        return foodQueryDSLRepository.findByFoodIdBetweenWithPaging(50000, 59999, params.getPageRequest().toPageable());
     }
 
     public Page<FoodItem> findByFoodName(String keyword, PageRequestDto pageRequest) {
-        Page<FoodItem> foodItems = foodQueryDSLRepository.findByFoodNameContainingAndFoodIdStartingWithFive(keyword, pageRequest.toPageable());
+        // 카탈로그 색인이 적재된 경우 DB 대신 bigram 역색인으로 검색
+        Page<FoodItem> foodItems = foodCatalogService.isLoaded()
+                ? foodCatalogService.searchByFoodName(keyword, pageRequest.toPageable())
+                : foodQueryDSLRepository.findByFoodNameContainingAndFoodIdStartingWithFive(keyword, pageRequest.toPageable());
         
-        // CategoryService의 공통 메소드 사용
-        return foodItems.map(categoryService::enrichWithCategoryInfo);
+        // 조회 테이블을 한 번만 읽어 페이지 전체에 카테고리 정보 추가
+        return categoryService.enrichAll(foodItems);
     }
     
 
 
-    /*
-     * 
-     *  public Page<FoodItem> findByFoodName(String keyword, PageRequestDto pageRequest) {
-        Page<FoodItem> foodItems = foodQueryDSLRepository.findByFoodNameContainingAndFoodIdStartingWithFive(keyword, pageRequest.toPageable());
-        
-        Map<String, Map<String, Object>> categoryMap = getCategoryMap(); // 이제 캐싱됨!
-        
-        // CPU 코어 수 기반 동적 임계값 계산
-        int availableProcessors = Runtime.getRuntime().availableProcessors();
-        int dynamicThreshold = Math.max(availableProcessors * 2, 10); // 최소 10개
-        
-        // 동적 임계값 이상일 때만 병렬 처리 (병렬 처리 오버헤드 고려)
-        if (foodItems.getNumberOfElements() >= dynamicThreshold) {
-            List<FoodItem> processedContent = foodItems.getContent()
-                    .parallelStream()
-                    .map(foodItem -> enrichWithCategoryInfo(foodItem, categoryMap))
-                    .collect(Collectors.toList());
-            
-            return new PageImpl<>(processedContent, foodItems.getPageable(), foodItems.getTotalElements());
-        }
-        
-        // 적은 데이터는 순차 처리가 더 효율적
-        return foodItems.map(foodItem -> enrichWithCategoryInfo(foodItem, categoryMap));
+    /**
+     * 정확도순 재료 검색 (카탈로그 적재 필요)
+     * @param mID 가산점을 줄 메인 카테고리 ID (없으면 null)
+     */
+    public Page<FoodItem> findByFoodNameRanked(String keyword, String mID, PageRequestDto pageRequest) {
+        return categoryService.enrichAll(
+                foodCatalogService.rankedSearchByFoodName(keyword, isNullOrEmpty(mID) ? null : mID, pageRequest.toPageable()));
     }
 
-    //FoodItem에 카테고리 정보 추가 (메서드 분리로 가독성 향상)
-     private FoodItem enrichWithCategoryInfo(FoodItem foodItem, Map<String, Map<String, Object>> categoryMap) {
-        String parentID = foodItem.getParentID();
-        Map<String, Object> categoryInfo = categoryMap.get(parentID);
-        
-        if (categoryInfo != null) {
-            try {
-                foodItem.setSID(Integer.parseInt(parentID));
-                foodItem.setSName(String.valueOf(categoryInfo.get("sName")));
-                foodItem.setMID(Integer.parseInt(String.valueOf(categoryInfo.get("mID"))));
-                foodItem.setMName(String.valueOf(categoryInfo.get("mName")));
-            } catch (Exception e) {
-                System.out.println("데이터 변환 중 오류: " + e.getMessage());
-            }
-        }
-        return foodItem;
+    /**
+     * 오타 허용 재료 검색 (자모 편집 거리 1~2, 카탈로그 적재 필요)
+     */
+    public Page<FoodItem> findByFoodNameFuzzy(String keyword, PageRequestDto pageRequest) {
+        return categoryService.enrichAll(foodCatalogService.fuzzySearchByFoodName(keyword, pageRequest.toPageable()));
     }
-    
-     * 
-     * 
-     * 
+
+    /**
+     * 재료 이름 자동완성 (초성/자모 접두사)
+     * @param query 입력 중인 문자열
+     * @param limit 최대 결과 수 (없으면 10)
      */
+    public List<FoodItem> autocomplete(String query, Integer limit) {
+        if (isNullOrEmpty(query) || query.isBlank()) {
+            return List.of();
+        }
+        int size = (limit == null) ? 10 : Math.max(1, Math.min(limit, FoodCatalogService.AUTOCOMPLETE_MAX_K));
+        return categoryService.enrichAll(foodCatalogService.autocomplete(query, size));
+    }
 }
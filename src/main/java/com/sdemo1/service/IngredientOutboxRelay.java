@@ -0,0 +1,174 @@
+package com.sdemo1.service;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sdemo1.exception.CustomException;
+import com.sdemo1.repository.IngredientOutboxRepository;
+import com.sdemo1.repository.IngredientOutboxRepository.ClaimedRow;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 재료 등록 이벤트 아웃박스 중계
+ * - enqueue: 재료 등록/삭제 트랜잭션 안에서 아웃박스 행을 남긴다 (롤백되면 이벤트도 함께 사라지고, 커밋되면 서버가 죽어도 남는다)
+ *   추천은 이벤트의 재료가 아니라 그 시점의 냉장고 전체로 계산하므로 삭제도 같은 이벤트로 다시 계산된다
+ * - drain: 1초마다 가용 행을 묶어서 가져가 RecommendationCoalescer에 넘긴다 (사용자별로 묶어 recipeRecommendationExecutor에서 실행)
+ *   실행기에 남은 자리에서 묶기 대기/실행 중인 묶음 수를 뺀 만큼만 가져가므로, 임대(LEASE_SECONDS) 안에 처리하지 못할 만큼 쌓아 두지 않는다
+ *   (요청 스레드나 폴러 스레드에서 추천 작업이 실행되지 않는다)
+ * - 처리가 끝난 뒤에 행을 지우므로 최소 1회 전달이다 (임대 만료 전에 끝내지 못하면 다시 전달될 수 있음)
+ * - 실패하면 시도 횟수에 비례해 미뤘다가 재시도하고, MAX_ATTEMPTS번 실패하면 FAILED로 남긴다
+ */
+@Slf4j
+@Service
+public class IngredientOutboxRelay {
+
+    static final int BATCH_SIZE = 50;
+    static final int LEASE_SECONDS = 5 * 60;
+    static final int MAX_ATTEMPTS = 5;
+    static final int RETRY_DELAY_SECONDS = 30;
+
+    /**
+     * 아웃박스 행의 내용
+     */
+    record Payload(List<Integer> foodIds, List<String> foodNames) {
+    }
+
+    private final IngredientOutboxRepository ingredientOutboxRepository;
+    private final RecommendationCoalescer recommendationCoalescer;
+    private final ThreadPoolTaskExecutor recipeRecommendationExecutor;
+    private final ObjectMapper objectMapper;
+
+    // 서버(인스턴스)별 임대 토큰 접두사
+    private final String leaseOwner = UUID.randomUUID().toString().substring(0, 8);
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public IngredientOutboxRelay(IngredientOutboxRepository ingredientOutboxRepository,
+                                 RecommendationCoalescer recommendationCoalescer,
+                                 @Qualifier("recipeRecommendationExecutor") ThreadPoolTaskExecutor recipeRecommendationExecutor,
+                                 ObjectMapper objectMapper) {
+        this.ingredientOutboxRepository = ingredientOutboxRepository;
+        this.recommendationCoalescer = recommendationCoalescer;
+        this.recipeRecommendationExecutor = recipeRecommendationExecutor;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 재료 변경 이벤트를 아웃박스에 기록 (재료 등록/삭제 트랜잭션 안에서만 호출)
+     * @param memberId 사용자 ID
+     * @param foodIds 새로 등록되었거나 삭제된 재료 ID 목록
+     * @param foodNames 새로 등록된 재료 이름 목록 (삭제면 빈 목록)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(Integer memberId, List<Integer> foodIds, List<String> foodNames) {
+        if (foodIds.isEmpty()) {
+            return;
+        }
+        try {
+            ingredientOutboxRepository.insert(memberId,
+                    objectMapper.writeValueAsString(new Payload(foodIds, foodNames)));
+        } catch (JsonProcessingException e) {
+            throw new CustomException("재료 등록 이벤트를 기록하지 못했습니다", 500);
+        }
+        enqueued.incrementAndGet();
+        log.debug("📮 재료 등록 이벤트 아웃박스 기록 - 사용자: {}, 재료 수: {}", memberId, foodIds.size());
+    }
+
+    /**
+     * 가용 아웃박스 행을 실행기에 남은 자리만큼 가져가 사용자별 추천 묶음에 넘김
+     */
+    @Scheduled(fixedDelay = 1000L, initialDelay = 10 * 1000L)
+    public void drain() {
+        int capacity = Math.min(BATCH_SIZE, remainingCapacity());
+        if (capacity <= 0) {
+            return;
+        }
+
+        String leaseToken = leaseOwner + "-" + UUID.randomUUID();
+        List<ClaimedRow> rows;
+        try {
+            rows = ingredientOutboxRepository.claim(capacity, LEASE_SECONDS, leaseToken);
+        } catch (Exception e) {
+            log.warn("⚠️ 재료 등록 아웃박스 조회 실패 - 다음 주기에 다시 시도합니다: {}", e.getMessage());
+            return;
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        log.debug("📬 재료 등록 아웃박스 {}건 가져옴", rows.size());
+        for (ClaimedRow row : rows) {
+            Payload payload;
+            try {
+                payload = objectMapper.readValue(row.payload(), Payload.class);
+            } catch (Exception e) {
+                handleFailure(row, leaseToken, e);
+                continue;
+            }
+            // 같은 사용자의 이벤트는 묶어서 한 번만 추천하고, 추천이 끝난 뒤 묶인 행을 모두 정리
+            recommendationCoalescer.submit(row.memberId(), payload.foodIds(), payload.foodNames(),
+                    new RecommendationCoalescer.Completion() {
+                        @Override
+                        public void onSuccess() {
+                            ingredientOutboxRepository.delete(row.id(), leaseToken);
+                            delivered.incrementAndGet();
+                        }
+
+                        @Override
+                        public void onFailure(Exception cause) {
+                            handleFailure(row, leaseToken, cause);
+                        }
+                    });
+        }
+    }
+
+    /**
+     * 상태 확인 (디버깅용)
+     */
+    public String getStatus() {
+        return String.format("재료 등록 아웃박스 [기록: %d, 전달: %d, 재시도: %d, 실패: %d]",
+                enqueued.get(), delivered.get(), retried.get(), failed.get());
+    }
+
+    private void handleFailure(ClaimedRow row, String leaseToken, Exception cause) {
+        String error = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+        try {
+            if (row.attempts() >= MAX_ATTEMPTS) {
+                ingredientOutboxRepository.markFailed(row.id(), leaseToken, error);
+                failed.incrementAndGet();
+                log.error("❌ 재료 등록 이벤트 처리 포기 - 아웃박스 ID: {}, 사용자: {}, 시도: {}회, 오류: {}",
+                        row.id(), row.memberId(), row.attempts(), error);
+            } else {
+                ingredientOutboxRepository.retryLater(row.id(), leaseToken, RETRY_DELAY_SECONDS * row.attempts(), error);
+                retried.incrementAndGet();
+                log.warn("⚠️ 재료 등록 이벤트 처리 실패 - 아웃박스 ID: {}, 사용자: {}, 시도: {}회, 오류: {}",
+                        row.id(), row.memberId(), row.attempts(), error);
+            }
+        } catch (Exception e) {
+            // 결과를 남기지 못하면 임대 만료 후 다시 전달됨
+            log.error("💥 재료 등록 아웃박스 상태 반영 실패 - 아웃박스 ID: {}: {}", row.id(), e.getMessage());
+        }
+    }
+
+    // 실행기 남은 자리 - 아직 실행기에 넘기지 않은 묶음과 실행 중인 묶음 (실행 중인 묶음은 활성 스레드와 겹치므로 보수적으로 계산)
+    private int remainingCapacity() {
+        ThreadPoolExecutor pool = recipeRecommendationExecutor.getThreadPoolExecutor();
+        int executorCapacity = pool.getMaximumPoolSize() - pool.getActiveCount() + pool.getQueue().remainingCapacity();
+        return executorCapacity - recommendationCoalescer.backlog();
+    }
+}
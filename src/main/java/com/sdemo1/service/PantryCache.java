@@ -0,0 +1,211 @@
+package com.sdemo1.service;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.sdemo1.entity.FoodIngredient;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 사용자별 냉장고 재료 ID 캐시 (Redis sorted set, write-through)
+ * - 키 pantry:{memberId}, 멤버 = foodId, 점수 = 등록 시각(epoch ms) → 점수 내림차순이 등록일 최신순
+ * - 전체 목록이 채워진 키에만 표시 멤버("-", 점수 0)가 있으며, 표시가 없으면 캐시 미스로 보고 DB에서 다시 채운다
+ * - 등록/삭제는 트랜잭션 커밋 후 같은 키에 바로 반영하고, 세대 카운터(pantry:{memberId}:gen)를 올린다
+ *   DB 조회로 채우는 쪽은 조회 전 세대를 기억해 두었다가 그사이 변경이 있었으면 채우지 않는다 (오래된 목록 덮어쓰기 방지)
+ * - Redis 장애 시에는 DB 조회로 동작하며, 쓰기 반영에 실패하면 키를 지워 다음 조회 때 다시 채운다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PantryCache {
+
+    private static final String LOADED_MARKER = "-";
+    private static final long TTL_SECONDS = 7 * 24 * 60 * 60L; // 7일
+
+    // 세대가 그대로일 때만 전체 목록으로 교체
+    private static final RedisScript<Long> FILL_SCRIPT = new DefaultRedisScript<>("""
+            if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[1] then return 0 end
+            redis.call('DEL', KEYS[1])
+            redis.call('ZADD', KEYS[1], 0, '-')
+            for i = 3, #ARGV, 2 do redis.call('ZADD', KEYS[1], ARGV[i], ARGV[i + 1]) end
+            redis.call('EXPIRE', KEYS[1], ARGV[2])
+            return 1
+            """, Long.class);
+
+    // 세대 증가 후, 채워진 키에만 추가 (이미 있는 재료는 등록 시각 유지)
+    private static final RedisScript<Long> ADD_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('INCR', KEYS[2])
+            redis.call('EXPIRE', KEYS[2], ARGV[1])
+            if not redis.call('ZSCORE', KEYS[1], '-') then return 0 end
+            for i = 3, #ARGV do redis.call('ZADD', KEYS[1], 'NX', ARGV[2], ARGV[i]) end
+            redis.call('EXPIRE', KEYS[1], ARGV[1])
+            return 1
+            """, Long.class);
+
+    // 세대 증가 후, 채워진 키에서만 제거
+    private static final RedisScript<Long> REMOVE_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('INCR', KEYS[2])
+            redis.call('EXPIRE', KEYS[2], ARGV[1])
+            if not redis.call('ZSCORE', KEYS[1], '-') then return 0 end
+            for i = 2, #ARGV do redis.call('ZREM', KEYS[1], ARGV[i]) end
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    /**
+     * 사용자의 재료 ID 목록 (등록일 최신순)
+     * 캐시에 없으면 loader(DB 조회) 결과로 채운다
+     * @param memberId 사용자 ID
+     * @param loader 등록일 최신순 재료 목록 조회
+     * @return 재료 ID 배열
+     */
+    public int[] getOrLoad(Integer memberId, Supplier<List<FoodIngredient>> loader) {
+        String generation;
+        try {
+            Set<String> members = stringRedisTemplate.opsForZSet().reverseRange(key(memberId), 0, -1);
+            if (members != null && members.contains(LOADED_MARKER)) {
+                hits.incrementAndGet();
+                return toFoodIds(members);
+            }
+            generation = stringRedisTemplate.opsForValue().get(generationKey(memberId));
+        } catch (Exception e) {
+            errors.incrementAndGet();
+            log.warn("⚠️ 냉장고 캐시 조회 실패 - DB로 조회합니다 (사용자: {}): {}", memberId, e.getMessage());
+            return toFoodIds(loader.get());
+        }
+
+        misses.incrementAndGet();
+        List<FoodIngredient> ingredients = loader.get();
+        fill(memberId, generation == null ? "0" : generation, ingredients);
+        return toFoodIds(ingredients);
+    }
+
+    /**
+     * 커밋 후 재료 추가 반영 (트랜잭션이 없으면 바로 반영)
+     */
+    public void addAfterCommit(Integer memberId, List<Integer> foodIds) {
+        if (foodIds.isEmpty()) {
+            return;
+        }
+        List<String> args = new ArrayList<>(foodIds.size() + 2);
+        args.add(String.valueOf(TTL_SECONDS));
+        args.add(String.valueOf(System.currentTimeMillis()));
+        foodIds.forEach(foodId -> args.add(String.valueOf(foodId)));
+        afterCommit(() -> write(memberId, ADD_SCRIPT, args));
+    }
+
+    /**
+     * 커밋 후 재료 삭제 반영 (트랜잭션이 없으면 바로 반영)
+     */
+    public void removeAfterCommit(Integer memberId, List<Integer> foodIds) {
+        if (foodIds.isEmpty()) {
+            return;
+        }
+        List<String> args = new ArrayList<>(foodIds.size() + 1);
+        args.add(String.valueOf(TTL_SECONDS));
+        foodIds.forEach(foodId -> args.add(String.valueOf(foodId)));
+        afterCommit(() -> write(memberId, REMOVE_SCRIPT, args));
+    }
+
+    /**
+     * 캐시 상태 확인 (디버깅용)
+     */
+    public String getStatus() {
+        return String.format("냉장고 캐시 [적중: %d, 미스: %d, 오류: %d]", hits.get(), misses.get(), errors.get());
+    }
+
+    private void fill(Integer memberId, String generation, List<FoodIngredient> ingredients) {
+        List<String> args = new ArrayList<>(ingredients.size() * 2 + 2);
+        args.add(generation);
+        args.add(String.valueOf(TTL_SECONDS));
+        for (FoodIngredient ingredient : ingredients) {
+            args.add(String.valueOf(score(ingredient)));
+            args.add(String.valueOf(ingredient.getFoodId()));
+        }
+        try {
+            stringRedisTemplate.execute(FILL_SCRIPT, List.of(key(memberId), generationKey(memberId)), args.toArray());
+        } catch (Exception e) {
+            errors.incrementAndGet();
+            log.warn("⚠️ 냉장고 캐시 채우기 실패 (사용자: {}): {}", memberId, e.getMessage());
+        }
+    }
+
+    private void write(Integer memberId, RedisScript<Long> script, List<String> args) {
+        try {
+            stringRedisTemplate.execute(script, List.of(key(memberId), generationKey(memberId)), args.toArray());
+        } catch (Exception e) {
+            errors.incrementAndGet();
+            log.warn("⚠️ 냉장고 캐시 반영 실패 - 캐시를 비웁니다 (사용자: {}): {}", memberId, e.getMessage());
+            try {
+                stringRedisTemplate.delete(key(memberId));
+            } catch (Exception ignored) {
+                // Redis가 응답하지 않으면 TTL 만료까지 이전 목록이 남는다
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static long score(FoodIngredient ingredient) {
+        return ingredient.getCreatedAt() == null
+                ? 1
+                : ingredient.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static int[] toFoodIds(Set<String> members) {
+        int[] foodIds = new int[members.size() - 1];
+        int count = 0;
+        for (String member : members) {
+            if (!LOADED_MARKER.equals(member)) {
+                foodIds[count++] = Integer.parseInt(member);
+            }
+        }
+        return foodIds;
+    }
+
+    private static int[] toFoodIds(List<FoodIngredient> ingredients) {
+        int[] foodIds = new int[ingredients.size()];
+        for (int i = 0; i < foodIds.length; i++) {
+            foodIds[i] = ingredients.get(i).getFoodId();
+        }
+        return foodIds;
+    }
+
+    // 스크립트가 두 키를 함께 다루므로 해시 태그({memberId})로 같은 슬롯에 둔다
+    private static String key(Integer memberId) {
+        return "pantry:{" + memberId + "}";
+    }
+
+    private static String generationKey(Integer memberId) {
+        return "pantry:{" + memberId + "}:gen";
+    }
+}
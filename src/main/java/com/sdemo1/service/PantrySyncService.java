@@ -0,0 +1,157 @@
+package com.sdemo1.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.sdemo1.entity.FoodIngredient;
+import com.sdemo1.entity.FoodItem;
+import com.sdemo1.entity.PantryChangeLog;
+import com.sdemo1.entity.PantrySyncState;
+import com.sdemo1.exception.CustomException;
+import com.sdemo1.repository.FoodIngredientBatchRepository;
+import com.sdemo1.repository.FoodIngredientRepository;
+import com.sdemo1.repository.PantryChangeLogRepository;
+import com.sdemo1.repository.PantrySyncStateRepository;
+import com.sdemo1.response.PantryChangesResponse;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 냉장고 변경분 동기화 서비스
+ * - 재료 등록/삭제와 같은 트랜잭션에서 사용자별 버전을 올리고 변경 기록(추가/삭제)을 남긴다
+ * - 클라이언트는 마지막으로 받은 버전 이후의 변경만 받아 로컬 목록에 반영한다
+ * - 사용자별로 최근 RETAINED_VERSIONS 개 버전의 기록만 남기고 나머지는 기록 시점에 정리한다
+ * - 버전 행은 INITIAL_VERSION(정리된 버전도 같은 값)으로 시작하므로, 기록 시작 전부터 있던 재료를 받지 못한
+ *   since=0 클라이언트는 항상 전체 목록을 다시 받는다
+ * - 전체 재동기화 응답에는 같은 트랜잭션에서 DB로 읽은 전체 목록을 담는다 (Redis 냉장고 캐시는 커밋 후에 채워져 버전보다 늦을 수 있음)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PantrySyncService {
+
+    // 사용자별로 보관하는 최근 변경 버전 수
+    static final long RETAINED_VERSIONS = 200;
+
+    // 버전 행이 생기기 전(변경 기록 시작 전)의 상태를 나타내는 버전
+    static final long INITIAL_VERSION = 1;
+
+    private final PantrySyncStateRepository pantrySyncStateRepository;
+    private final PantryChangeLogRepository pantryChangeLogRepository;
+    private final FoodIngredientBatchRepository foodIngredientBatchRepository;
+    private final FoodIngredientRepository foodIngredientRepository;
+    private final FoodCatalogService foodCatalogService;
+    private final CategoryService categoryService;
+
+    /**
+     * 사용자의 버전 행을 비관적 락으로 조회 (없으면 생성)
+     * 등록/삭제 트랜잭션 시작 시 호출하여 같은 사용자의 변경을 직렬화한다
+     * @param memberId 사용자 ID
+     * @return 락이 걸린 버전 상태
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public PantrySyncState lock(Integer memberId) {
+        // 없는 키에 FOR UPDATE를 먼저 보내면 갭 락끼리 서로의 INSERT를 막아 교착되므로 행 생성(배타 락)을 먼저 한다
+        // 같은 사용자의 동시 요청은 이 INSERT에서 순서대로 대기하고, 아래 FOR UPDATE는 이미 가진 락을 다시 읽을 뿐이다
+        pantrySyncStateRepository.upsertLock(memberId, INITIAL_VERSION);
+        return pantrySyncStateRepository.findForUpdate(memberId)
+                .orElseThrow(() -> new CustomException("냉장고 동기화 상태를 만들지 못했습니다", 500));
+    }
+
+    /**
+     * 변경 기록 추가 (같은 요청의 재료는 같은 버전)
+     * @param state lock()으로 얻은 버전 상태
+     * @param op PantryChangeLog.ADDED / REMOVED
+     * @param foodIds 변경된 재료 ID 목록
+     * @return 기록 후 버전 (변경이 없으면 기존 버전)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long record(PantrySyncState state, String op, List<Integer> foodIds) {
+        if (foodIds.isEmpty()) {
+            return state.getVersion();
+        }
+
+        long version = state.getVersion() + 1;
+        foodIngredientBatchRepository.insertChangeLog(state.getMemberId(), version, op, foodIds);
+        state.setVersion(version);
+        state.setModifiedAt(LocalDateTime.now());
+
+        // 보관 범위를 벗어난 오래된 기록 정리
+        long compactUpTo = version - RETAINED_VERSIONS;
+        if (compactUpTo > state.getCompactedVersion()) {
+            int deleted = pantryChangeLogRepository.deleteUpToVersion(state.getMemberId(), compactUpTo);
+            state.setCompactedVersion(compactUpTo);
+            log.debug("🧹 냉장고 변경 기록 정리 - 사용자: {}, 버전 {} 이하 {}건", state.getMemberId(), compactUpTo, deleted);
+        }
+
+        log.debug("📝 냉장고 변경 기록 - 사용자: {}, 버전: {}, 작업: {}, 재료 수: {}",
+                state.getMemberId(), version, op, foodIds.size());
+        return version;
+    }
+
+    /**
+     * since 이후의 변경분 조회
+     * 같은 재료가 여러 번 바뀌었으면 마지막 작업만 반영한다
+     * @param memberId 사용자 ID
+     * @param since 클라이언트가 마지막으로 받은 버전 (처음이면 0)
+     * @return 변경분, 또는 전체 재동기화 응답 (added에 전체 목록)
+     */
+    @Transactional(readOnly = true)
+    public PantryChangesResponse getChanges(Integer memberId, long since) {
+        if (memberId == null || memberId <= 0) {
+            throw new CustomException("유효하지 않은 사용자 ID입니다: " + memberId, 400);
+        }
+        if (since < 0) {
+            throw new CustomException("잘못된 버전입니다: " + since, 400);
+        }
+
+        PantrySyncState state = pantrySyncStateRepository.findById(memberId).orElse(null);
+        // 버전 행이 없으면 아직 변경 기록이 없으므로 INITIAL_VERSION 이전(since=0)은 전체 재동기화 대상
+        long version = state == null ? INITIAL_VERSION : state.getVersion();
+        long compactedVersion = state == null ? INITIAL_VERSION : state.getCompactedVersion();
+
+        if (since == version) {
+            return new PantryChangesResponse(version, false, List.of(), List.of());
+        }
+        if (since > version || since < compactedVersion) {
+            // 버전을 먼저 읽었으므로 목록은 이 버전의 변경을 빠뜨리지 않는다
+            // 목록이 버전보다 앞서 있어도, 다음 변경분 조회가 같은 재료의 마지막 작업을 다시 적용할 뿐이다
+            int[] foodIds = foodIngredientRepository.findByMemberIdOrderByCreatedAtDesc(memberId).stream()
+                    .mapToInt(FoodIngredient::getFoodId)
+                    .toArray();
+            List<FoodItem> items = categoryService.enrichAll(foodCatalogService.getFoodItems(foodIds));
+            log.info("ℹ️ 냉장고 전체 재동기화 - 사용자: {}, since: {}, 버전: {}, 정리된 버전: {}, 재료: {}개",
+                    memberId, since, version, compactedVersion, items.size());
+            return new PantryChangesResponse(version, true, items, List.of());
+        }
+
+        Map<Integer, String> lastOps = new LinkedHashMap<>();
+        for (PantryChangeLog change
+                : pantryChangeLogRepository.findByMemberIdAndVersionGreaterThanOrderByVersionAscIdAsc(memberId, since)) {
+            if (change.getVersion() > version) {
+                break;
+            }
+            lastOps.remove(change.getFoodId());
+            lastOps.put(change.getFoodId(), change.getOp());
+        }
+
+        List<Integer> addedIds = new ArrayList<>();
+        List<Integer> removed = new ArrayList<>();
+        lastOps.forEach((foodId, op) -> (PantryChangeLog.ADDED.equals(op) ? addedIds : removed).add(foodId));
+
+        List<FoodItem> added = categoryService.enrichAll(
+                foodCatalogService.getFoodItems(addedIds.stream().mapToInt(Integer::intValue).toArray()));
+
+        log.info("🔄 냉장고 변경분 조회 - 사용자: {}, {} → {}, 추가: {}개, 삭제: {}개",
+                memberId, since, version, added.size(), removed.size());
+        return new PantryChangesResponse(version, false, added, removed);
+    }
+}
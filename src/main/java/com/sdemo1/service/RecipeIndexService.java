@@ -0,0 +1,187 @@
+package com.sdemo1.service;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sdemo1.entity.CookItem;
+import com.sdemo1.repository.CookItemRepository;
+import com.sdemo1.util.RecipeIngredientIndex;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 재료 → 레시피 역색인 관리
+ * - 시작 시 cook_item 전체를 페이지 단위로 읽어 색인을 만들고, 1시간마다 새로 만들어 교체한다 (다른 서버에서 삭제된 레시피 반영)
+ * - 이 서버의 레시피 등록/수정/삭제는 커밋 후 바로 반영하고, 다른 서버의 등록/수정은 1분마다 modified_at으로 가져온다
+ * - 색인이 아직 없으면 빈 추천을 돌려준다
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RecipeIndexService {
+
+    private static final int LOAD_PAGE_SIZE = 5000;
+
+    private final CookItemRepository cookItemRepository;
+    private final ObjectMapper objectMapper;
+
+    private volatile RecipeIngredientIndex index = new RecipeIngredientIndex();
+    // 마지막으로 반영한 레시피 수정 시각 (1분 주기 동기화 기준)
+    private volatile LocalDateTime syncedUpTo;
+    private volatile long loadedAt;
+
+    /**
+     * 애플리케이션 시작 시 색인 생성
+     * 실패하더라도 추천만 비게 되므로 기동을 막지 않는다
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("❌ 레시피 색인 생성 실패 - 다음 주기에 다시 시도합니다: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 색인 전체 재생성 (1시간마다)
+     */
+    @Scheduled(fixedDelay = 60 * 60 * 1000L, initialDelay = 60 * 60 * 1000L)
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        LocalDateTime startedAt = LocalDateTime.now();
+        RecipeIngredientIndex rebuilt = new RecipeIngredientIndex();
+
+        Slice<CookItem> page = cookItemRepository.findAll(
+                PageRequest.of(0, LOAD_PAGE_SIZE, Sort.by(Sort.Direction.ASC, "cookId")));
+        while (true) {
+            page.forEach(item -> parseIngredients(item).putInto(rebuilt, item.getCookId()));
+            if (!page.hasNext()) {
+                break;
+            }
+            page = cookItemRepository.findAll(page.nextPageable());
+        }
+
+        this.index = rebuilt;
+        // 재생성 중에 수정된 레시피는 다음 동기화에서 다시 반영
+        this.syncedUpTo = startedAt.minusSeconds(1);
+        this.loadedAt = System.currentTimeMillis();
+        log.info("✅ 레시피 색인 생성 완료 - {} ({}ms)", rebuilt.describe(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 다른 서버에서 등록/수정된 레시피 반영 (1분마다)
+     */
+    @Scheduled(fixedDelay = 60 * 1000L, initialDelay = 60 * 1000L)
+    public synchronized void syncRecent() {
+        try {
+            if (loadedAt == 0) {
+                // 시작 시 생성에 실패한 경우 전체 생성부터 다시 시도
+                rebuild();
+                return;
+            }
+            LocalDateTime since = syncedUpTo;
+            List<CookItem> changed = cookItemRepository.findByModifiedAtAfterOrderByModifiedAtAsc(since);
+            for (CookItem item : changed) {
+                parseIngredients(item).putInto(index, item.getCookId());
+                since = item.getModifiedAt();
+            }
+            syncedUpTo = since;
+            if (!changed.isEmpty()) {
+                log.debug("🔄 레시피 색인 동기화 - {}건", changed.size());
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ 레시피 색인 동기화 실패 - 다음 주기에 다시 시도합니다: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 커밋 후 레시피 색인 반영 (트랜잭션이 없으면 바로 반영)
+     */
+    public void putAfterCommit(CookItem item) {
+        int cookId = item.getCookId();
+        ParsedIngredients ingredients = parseIngredients(item);
+        afterCommit(() -> ingredients.putInto(index, cookId));
+    }
+
+    /**
+     * 커밋 후 레시피 색인에서 제거 (트랜잭션이 없으면 바로 반영)
+     */
+    public void removeAfterCommit(int cookId) {
+        afterCommit(() -> index.remove(cookId));
+    }
+
+    /**
+     * 냉장고 재료로 만들 수 있는 정도가 높은 레시피 (빠진 필수 재료 수 → 선택 재료 보유 비율 순)
+     * @param pantryFoodIds 냉장고 재료 ID (중복 없음)
+     * @param limit 최대 결과 수
+     */
+    public List<RecipeIngredientIndex.Match> recommend(int[] pantryFoodIds, int limit) {
+        return index.topK(pantryFoodIds, limit);
+    }
+
+    /**
+     * 상태 확인 (디버깅용)
+     */
+    public String getStatus() {
+        return String.format("레시피 색인 [%s, 생성 시각: %d]", index.describe(), loadedAt);
+    }
+
+    // cook_ingredient JSON 배열의 foodId와 필수 여부 추출 (foodId가 없는 항목은 건너뜀, isRequired가 "N"이 아니면 필수)
+    private ParsedIngredients parseIngredients(CookItem item) {
+        try {
+            JsonNode ingredients = objectMapper.readTree(item.getIngredients());
+            int[] foodIds = new int[ingredients.size()];
+            boolean[] required = new boolean[ingredients.size()];
+            int count = 0;
+            for (JsonNode ingredient : ingredients) {
+                JsonNode foodId = ingredient.get("foodId");
+                if (foodId != null && foodId.canConvertToInt()) {
+                    JsonNode isRequired = ingredient.get("isRequired");
+                    required[count] = isRequired == null || !"N".equalsIgnoreCase(isRequired.asText());
+                    foodIds[count++] = foodId.asInt();
+                }
+            }
+            return new ParsedIngredients(Arrays.copyOf(foodIds, count), Arrays.copyOf(required, count));
+        } catch (Exception e) {
+            log.warn("⚠️ 레시피 재료 정보를 읽을 수 없어 색인에서 제외합니다 - cookId: {}: {}", item.getCookId(), e.getMessage());
+            return new ParsedIngredients(new int[0], new boolean[0]);
+        }
+    }
+
+    private record ParsedIngredients(int[] foodIds, boolean[] required) {
+        void putInto(RecipeIngredientIndex target, int cookId) {
+            if (target.put(cookId, foodIds, required)) {
+                log.warn("⚠️ 레시피 재료가 {}개를 넘어 일부만 색인합니다 (요리 가능 추천에서 제외) - cookId: {}",
+                        RecipeIngredientIndex.MAX_INGREDIENTS, cookId);
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,203 @@
+package com.sdemo1.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import com.sdemo1.event.IngredientRegisteredEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 사용자별 레시피 추천 트리거 묶기 (디바운스)
+ * - 같은 사용자의 재료 등록 이벤트를 모아 재료 ID/이름을 합치고, 묶음마다 추천을 한 번만 실행한다
+ * - 마지막 이벤트 후 quietWindow 동안 새 이벤트가 없거나, 첫 이벤트 후 maxDelay가 지나면 실행한다
+ * - 같은 사용자의 추천이 실행 중이면 끝날 때까지 다음 묶음을 계속 모은다 (사용자별로 동시에 한 번만 실행)
+ * - 묶인 이벤트의 완료/실패 콜백은 추천 실행 결과에 따라 한꺼번에 호출된다 (아웃박스 행 삭제/재시도)
+ */
+@Slf4j
+@Component
+public class RecommendationCoalescer {
+
+    /**
+     * 묶인 이벤트 하나의 처리 결과 콜백
+     */
+    public interface Completion {
+        void onSuccess();
+
+        void onFailure(Exception cause);
+    }
+
+    /**
+     * 사용자별로 모으는 중인 묶음
+     */
+    private static final class Batch {
+        final long firstAt;
+        long lastAt;
+        final Map<Integer, String> foods = new LinkedHashMap<>();
+        final List<Completion> completions = new ArrayList<>();
+        int events;
+
+        Batch(long now) {
+            this.firstAt = now;
+            this.lastAt = now;
+        }
+    }
+
+    private final RecipeRecommendationService recipeRecommendationService;
+    private final ThreadPoolTaskExecutor recipeRecommendationExecutor;
+    private final long quietWindowMillis;
+    private final long maxDelayMillis;
+
+    // 아래 두 컬렉션은 this로 동기화
+    private final Map<Integer, Batch> pending = new LinkedHashMap<>();
+    private final Set<Integer> running = new HashSet<>();
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong merged = new AtomicLong();
+    private final AtomicLong executed = new AtomicLong();
+
+    public RecommendationCoalescer(RecipeRecommendationService recipeRecommendationService,
+                                   @Qualifier("recipeRecommendationExecutor") ThreadPoolTaskExecutor recipeRecommendationExecutor,
+                                   @Value("${recommendation.coalesce.quiet-window-ms:2000}") long quietWindowMillis,
+                                   @Value("${recommendation.coalesce.max-delay-ms:10000}") long maxDelayMillis) {
+        this.recipeRecommendationService = recipeRecommendationService;
+        this.recipeRecommendationExecutor = recipeRecommendationExecutor;
+        this.quietWindowMillis = quietWindowMillis;
+        this.maxDelayMillis = Math.max(quietWindowMillis, maxDelayMillis);
+    }
+
+    /**
+     * 재료 등록 이벤트 추가 (같은 사용자의 모으는 중인 묶음이 있으면 합침)
+     * @param memberId 사용자 ID
+     * @param foodIds 등록된 재료 ID 목록
+     * @param foodNames 등록된 재료 이름 목록 (foodIds와 같은 순서)
+     * @param completion 묶음의 추천 실행이 끝났을 때 호출할 콜백
+     */
+    public synchronized void submit(Integer memberId, List<Integer> foodIds, List<String> foodNames, Completion completion) {
+        long now = System.currentTimeMillis();
+        Batch batch = pending.get(memberId);
+        if (batch == null) {
+            batch = new Batch(now);
+            pending.put(memberId, batch);
+        } else {
+            batch.lastAt = now;
+            merged.incrementAndGet();
+        }
+        for (int i = 0; i < foodIds.size(); i++) {
+            batch.foods.putIfAbsent(foodIds.get(i), i < foodNames.size() ? foodNames.get(i) : null);
+        }
+        batch.completions.add(completion);
+        batch.events++;
+        received.incrementAndGet();
+    }
+
+    /**
+     * 실행 조건이 된 묶음을 추천 실행기로 넘김 (200ms마다)
+     */
+    @Scheduled(fixedDelay = 200L)
+    public void flushDue() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<Integer, Batch> due : takeDue(now)) {
+            Integer memberId = due.getKey();
+            Batch batch = due.getValue();
+            try {
+                recipeRecommendationExecutor.execute(() -> run(memberId, batch));
+            } catch (RejectedExecutionException e) {
+                // 실행기가 가득 차면 다음 주기에 다시 시도
+                restore(memberId, batch);
+            }
+        }
+    }
+
+    /**
+     * 실행기에 들어갈 예정이거나 실행 중인 묶음 수 (대기 사용자 + 실행 중 사용자)
+     * 아웃박스가 실행기 남은 자리에서 빼고 가져가도록 사용한다
+     */
+    public synchronized int backlog() {
+        return pending.size() + running.size();
+    }
+
+    /**
+     * 상태 확인 (디버깅용)
+     */
+    public String getStatus() {
+        synchronized (this) {
+            return String.format("추천 트리거 묶기 [수신: %d, 병합: %d, 실행: %d, 대기 사용자: %d, 실행 중: %d]",
+                    received.get(), merged.get(), executed.get(), pending.size(), running.size());
+        }
+    }
+
+    private synchronized List<Map.Entry<Integer, Batch>> takeDue(long now) {
+        List<Map.Entry<Integer, Batch>> due = new ArrayList<>();
+        Iterator<Map.Entry<Integer, Batch>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, Batch> entry = iterator.next();
+            Batch batch = entry.getValue();
+            boolean quiet = now - batch.lastAt >= quietWindowMillis;
+            boolean overdue = now - batch.firstAt >= maxDelayMillis;
+            if ((quiet || overdue) && running.add(entry.getKey())) {
+                iterator.remove();
+                due.add(Map.entry(entry.getKey(), batch));
+            }
+        }
+        return due;
+    }
+
+    // 실행하지 못한 묶음을 되돌림 (그사이 새로 모인 묶음이 있으면 합침)
+    private synchronized void restore(Integer memberId, Batch batch) {
+        running.remove(memberId);
+        Batch newer = pending.remove(memberId);
+        if (newer != null) {
+            newer.foods.forEach(batch.foods::putIfAbsent);
+            batch.completions.addAll(newer.completions);
+            batch.events += newer.events;
+            batch.lastAt = newer.lastAt;
+        }
+        pending.put(memberId, batch);
+    }
+
+    private void run(Integer memberId, Batch batch) {
+        executed.incrementAndGet();
+        if (batch.events > 1) {
+            log.info("🧩 추천 트리거 {}건 병합 실행 - 사용자: {}, 재료 수: {}", batch.events, memberId, batch.foods.size());
+        }
+        Exception failure = null;
+        try {
+            List<Integer> foodIds = new ArrayList<>(batch.foods.keySet());
+            List<String> foodNames = new ArrayList<>(batch.foods.values());
+            recipeRecommendationService.handleIngredientRegistered(
+                    new IngredientRegisteredEvent(this, memberId, foodIds, foodNames, foodIds.size()));
+        } catch (Exception e) {
+            failure = e;
+        } finally {
+            synchronized (this) {
+                running.remove(memberId);
+            }
+        }
+
+        for (Completion completion : batch.completions) {
+            try {
+                if (failure == null) {
+                    completion.onSuccess();
+                } else {
+                    completion.onFailure(failure);
+                }
+            } catch (Exception e) {
+                log.error("💥 추천 트리거 완료 처리 실패 - 사용자: {}: {}", memberId, e.getMessage());
+            }
+        }
+    }
+}
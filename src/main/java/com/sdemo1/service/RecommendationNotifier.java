@@ -0,0 +1,27 @@
+package com.sdemo1.service;
+
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 추천 완료 알림 전송
+ * - RecipeRecommendationService와 다른 빈이어야 프록시를 거쳐 @Async가 적용된다 (같은 클래스 안에서 호출하면 호출 스레드에서 그대로 실행됨)
+ * - notificationExecutor 스레드에서 실행되므로 추천 작업 스레드는 알림 전송을 기다리지 않는다
+ */
+@Slf4j
+@Service
+public class RecommendationNotifier {
+
+    /**
+     * 추천 완료 알림 전송
+     */
+    @Async("notificationExecutor")  // 별도 스레드 풀 사용
+    public void sendRecommendationNotification(Integer memberId, int recommendationCount) {
+        log.info("📱 추천 완료 알림 전송 - 사용자: {}, 추천 레시피 수: {}", 
+                memberId, recommendationCount);
+
+        // 실제로는 WebSocket, 푸시 알림, 이메일 등으로 알림 전송
+    }
+}
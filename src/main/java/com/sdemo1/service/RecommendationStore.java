@@ -0,0 +1,165 @@
+package com.sdemo1.service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import com.sdemo1.exception.CustomException;
+import com.sdemo1.response.RecommendationPageResponse;
+import com.sdemo1.response.RecommendedRecipeResponse;
+import com.sdemo1.util.RecipeIngredientIndex;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 사용자별 추천 결과 저장소 (Redis sorted set)
+ * - 키 reco:{memberId}, 멤버 = "cookId:보유 재료 수:재료 수:빠진 필수 재료 수:보유 선택 재료 수:선택 재료 수", 점수 = 순위(0부터)
+ * - 버전/계산 시각은 reco:{memberId}:meta 해시에 두며, 저장할 때마다 버전을 1 올린다
+ * - 먼저 시작한 계산이 나중에 끝나도 더 최근 결과를 덮어쓰지 않도록 계산 시각이 저장된 값보다 이전이면 버린다
+ * - 결과 교체와 조회는 스크립트 한 번으로 처리하므로 조회 중에 다른 버전의 결과가 섞이지 않는다
+ * - 두 키 모두 TTL이 지나면 사라지며, 그때는 다음 재료 등록/삭제로 다시 계산될 때까지 빈 결과를 돌려준다
+ */
+@Slf4j
+@Component
+public class RecommendationStore {
+
+    static final int MAX_PAGE_SIZE = 50;
+
+    // 계산 시각이 더 최근이거나 같을 때만 전체 결과 교체, 새 버전 반환 (오래된 결과면 -1)
+    private static final RedisScript<Long> SAVE_SCRIPT = new DefaultRedisScript<>("""
+            local last = tonumber(redis.call('HGET', KEYS[2], 'computedAt') or '0')
+            if last > tonumber(ARGV[2]) then return -1 end
+            local version = redis.call('HINCRBY', KEYS[2], 'version', 1)
+            redis.call('HSET', KEYS[2], 'computedAt', ARGV[2])
+            redis.call('DEL', KEYS[1])
+            for i = 3, #ARGV do redis.call('ZADD', KEYS[1], i - 3, ARGV[i]) end
+            redis.call('EXPIRE', KEYS[1], ARGV[1])
+            redis.call('EXPIRE', KEYS[2], ARGV[1])
+            return version
+            """, Long.class);
+
+    // {버전, 계산 시각, 전체 수, 멤버...} (저장된 결과가 없으면 빈 목록)
+    private static final RedisScript<List<String>> PAGE_SCRIPT = new DefaultRedisScript<>("""
+            local meta = redis.call('HMGET', KEYS[2], 'version', 'computedAt')
+            if not meta[1] then return {} end
+            local result = {meta[1], meta[2], tostring(redis.call('ZCARD', KEYS[1]))}
+            local members = redis.call('ZRANGE', KEYS[1], ARGV[1], ARGV[2])
+            for i = 1, #members do result[#result + 1] = members[i] end
+            return result
+            """, listOfStrings());
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final long ttlSeconds;
+
+    private final AtomicLong saved = new AtomicLong();
+    private final AtomicLong stale = new AtomicLong();
+    private final AtomicLong reads = new AtomicLong();
+
+    public RecommendationStore(StringRedisTemplate stringRedisTemplate,
+                               @Value("${recommendation.store.ttl-seconds:86400}") long ttlSeconds) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    /**
+     * 추천 결과 전체 교체
+     * @param memberId 사용자 ID
+     * @param computedAt 계산 시작 시각 (epoch ms, 냉장고 조회 전에 잰 값)
+     * @param recommendations 순위 순 추천 결과
+     * @return 저장된 버전, 더 최근 결과가 이미 있어 버렸으면 -1
+     */
+    public long save(Integer memberId, long computedAt, List<RecipeIngredientIndex.Match> recommendations) {
+        List<String> args = new ArrayList<>(recommendations.size() + 2);
+        args.add(String.valueOf(ttlSeconds));
+        args.add(String.valueOf(computedAt));
+        recommendations.forEach(match -> args.add(encode(match)));
+
+        Long version = stringRedisTemplate.execute(SAVE_SCRIPT, List.of(key(memberId), metaKey(memberId)), args.toArray());
+        if (version == null || version < 0) {
+            stale.incrementAndGet();
+            log.info("ℹ️ 더 최근 추천 결과가 있어 저장하지 않습니다 - 사용자: {}", memberId);
+            return -1;
+        }
+        saved.incrementAndGet();
+        return version;
+    }
+
+    /**
+     * 저장된 추천 결과 페이지 조회 (Redis만 읽고 다시 계산하지 않음)
+     * @param memberId 사용자 ID
+     * @param page 페이지 번호 (1부터)
+     * @param size 페이지 크기 (최대 MAX_PAGE_SIZE)
+     * @return 추천 결과 페이지 (저장된 결과가 없으면 버전 0의 빈 페이지)
+     */
+    public RecommendationPageResponse getPage(Integer memberId, int page, int size) {
+        if (page < 1) {
+            throw new CustomException("페이지 번호는 1 이상이어야 합니다: " + page, 400);
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new CustomException("페이지 크기는 1~" + MAX_PAGE_SIZE + " 사이여야 합니다: " + size, 400);
+        }
+        reads.incrementAndGet();
+
+        long start = (long) (page - 1) * size;
+        List<String> result = stringRedisTemplate.execute(PAGE_SCRIPT, List.of(key(memberId), metaKey(memberId)),
+                String.valueOf(start), String.valueOf(start + size - 1));
+        if (result == null || result.isEmpty()) {
+            return new RecommendationPageResponse(0, null, page, size, 0, false, List.of());
+        }
+
+        long version = Long.parseLong(result.get(0));
+        LocalDateTime computedAt = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(Long.parseLong(result.get(1))), ZoneId.systemDefault());
+        int total = Integer.parseInt(result.get(2));
+        List<RecommendedRecipeResponse> content = new ArrayList<>(result.size() - 3);
+        for (int i = 3; i < result.size(); i++) {
+            content.add(decode(result.get(i)));
+        }
+        return new RecommendationPageResponse(version, computedAt, page, size, total,
+                start + content.size() < total, content);
+    }
+
+    /**
+     * 상태 확인 (디버깅용)
+     */
+    public String getStatus() {
+        return String.format("추천 결과 저장소 [저장: %d, 오래된 결과 무시: %d, 조회: %d]",
+                saved.get(), stale.get(), reads.get());
+    }
+
+    private static String encode(RecipeIngredientIndex.Match match) {
+        return match.cookId() + ":" + match.matchedCount() + ":" + match.ingredientCount() + ":"
+                + match.missingRequiredCount() + ":" + match.optionalMatchedCount() + ":" + match.optionalCount();
+    }
+
+    private static RecommendedRecipeResponse decode(String member) {
+        String[] fields = member.split(":");
+        int missingRequiredCount = Integer.parseInt(fields[3]);
+        return new RecommendedRecipeResponse(Integer.parseInt(fields[0]), Integer.parseInt(fields[1]),
+                Integer.parseInt(fields[2]), missingRequiredCount, Integer.parseInt(fields[4]),
+                Integer.parseInt(fields[5]), missingRequiredCount == 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<List<String>> listOfStrings() {
+        return (Class<List<String>>) (Class<?>) List.class;
+    }
+
+    // 스크립트가 두 키를 함께 다루므로 해시 태그({memberId})로 같은 슬롯에 둔다
+    private static String key(Integer memberId) {
+        return "reco:{" + memberId + "}";
+    }
+
+    private static String metaKey(Integer memberId) {
+        return "reco:{" + memberId + "}:meta";
+    }
+}
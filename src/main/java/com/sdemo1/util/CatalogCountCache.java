@@ -0,0 +1,88 @@
+package com.sdemo1.util;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 카탈로그 페이징 조회의 전체 건수(COUNT) 캐시
+ * - 키: 정규화된 조회 조건 (조회 종류, 메인 카테고리, 서브 카테고리, 키워드)
+ * - 카탈로그 버전이 바뀌면 다음 조회 시 전체를 비운다
+ * - 키워드 검색은 조합 수가 많으므로 최대 항목 수를 넘으면 전체를 비우고 다시 채운다
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogCountCache {
+
+    private static final int MAX_ENTRIES = 10_000;
+
+    private final CatalogVersion catalogVersion;
+
+    private final Map<CountKey, Long> counts = new ConcurrentHashMap<>();
+    private volatile long cachedVersion = -1;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * 정규화된 COUNT 조회 조건
+     * 조회 쪽도 반드시 이 키의 값(keyword 등)으로 조건을 만들어야 한다
+     * (키만 정규화하면 실제 건수가 다른 조건끼리 캐시를 공유하게 됨)
+     */
+    public record CountKey(String query, String mainCategoryId, String subCategoryId, String keyword) {
+
+        // 키워드는 대소문자 무시 검색에만 쓰이므로 소문자로만 맞춘다 (공백은 검색 결과를 바꾸므로 그대로 둔다)
+        public static CountKey of(String query, String mainCategoryId, String subCategoryId, String keyword) {
+            return new CountKey(query, mainCategoryId, subCategoryId,
+                    keyword == null ? null : keyword.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * 캐시된 건수를 반환하고, 없으면 counter로 조회한 뒤 저장
+     * @param key 조회 조건
+     * @param counter 실제 COUNT 쿼리
+     * @return 전체 건수
+     */
+    public long getOrCount(CountKey key, LongSupplier counter) {
+        long version = catalogVersion.current();
+        if (version != cachedVersion) {
+            synchronized (this) {
+                if (version != cachedVersion) {
+                    counts.clear();
+                    cachedVersion = version;
+                }
+            }
+        }
+
+        Long cached = counts.get(key);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+
+        misses.incrementAndGet();
+        long count = counter.getAsLong();
+        if (counts.size() >= MAX_ENTRIES) {
+            counts.clear();
+        }
+        // COUNT 도중 카탈로그가 바뀌었으면 이전 버전 값은 저장하지 않음
+        if (catalogVersion.current() == version) {
+            counts.put(key, count);
+        }
+        return count;
+    }
+
+    /**
+     * 캐시 상태 확인 (디버깅용)
+     */
+    public String getStatus() {
+        return String.format("COUNT 캐시 크기: %d, 적중: %d, 미적중: %d, 버전: %d",
+                counts.size(), hits.get(), misses.get(), cachedVersion);
+    }
+}
@@ -0,0 +1,322 @@
+package com.sdemo1.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.sdemo1.entity.FoodItem;
+
+/**
+ * food_item 테이블의 불변 컬럼형(columnar) 스냅샷
+ * - 행(row)은 foodID 오름차순이며, 컬럼마다 원시 타입 배열 하나로 보관한다
+ * - 이름/이미지는 하나의 char 버퍼와 시작 위치(offset) 배열로 보관하여 행마다 String 객체를 두지 않는다
+ * - parent_id는 정수 코드로 보관한다 (0 이상: 숫자 ID 그대로, 음수: 기호 테이블("P", "R" 등) 인덱스)
+ * - parent_id별 / 상위 카테고리(parent의 parent)별 행 목록을 미리 만들어 카테고리 조회를 배열 구간 읽기로 처리한다
+ *
+ * 생성 후에는 변경되지 않으므로 여러 스레드에서 동시에 조회해도 안전하다.
+ * 응답에는 toFoodItem 으로 매번 새 FoodItem을 만들어 넘긴다.
+ */
+public final class CatalogSnapshot {
+
+    private static final int[] EMPTY = new int[0];
+    // parent_id가 null인 행의 코드
+    private static final int PARENT_NULL = Integer.MIN_VALUE;
+
+    private final int[] rowIds;
+    private final int[] foodIds;
+    private final int[] parentCodes;
+    private final String[] parentSymbols;
+    private final char[] nameChars;
+    private final int[] nameOffsets;
+    private final char[] imgChars;
+    private final int[] imgOffsets;
+    private final BitSet nullNames;
+    private final BitSet nullImgs;
+    private final Map<Integer, int[]> rowsByParent;
+    private final Map<Integer, int[]> rowsByGrandParent;
+
+    private CatalogSnapshot(int[] rowIds, int[] foodIds, int[] parentCodes, String[] parentSymbols,
+                            char[] nameChars, int[] nameOffsets, char[] imgChars, int[] imgOffsets,
+                            BitSet nullNames, BitSet nullImgs,
+                            Map<Integer, int[]> rowsByParent, Map<Integer, int[]> rowsByGrandParent) {
+        this.rowIds = rowIds;
+        this.foodIds = foodIds;
+        this.parentCodes = parentCodes;
+        this.parentSymbols = parentSymbols;
+        this.nameChars = nameChars;
+        this.nameOffsets = nameOffsets;
+        this.imgChars = imgChars;
+        this.imgOffsets = imgOffsets;
+        this.nullNames = nullNames;
+        this.nullImgs = nullImgs;
+        this.rowsByParent = rowsByParent;
+        this.rowsByGrandParent = rowsByGrandParent;
+    }
+
+    /**
+     * 엔티티 목록으로 스냅샷 생성
+     * @param items foodID 오름차순으로 정렬된 전체 FoodItem 목록
+     */
+    public static CatalogSnapshot of(List<FoodItem> items) {
+        int n = items.size();
+        int[] rowIds = new int[n];
+        int[] foodIds = new int[n];
+        int[] parentCodes = new int[n];
+        int[] nameOffsets = new int[n + 1];
+        int[] imgOffsets = new int[n + 1];
+        BitSet nullNames = new BitSet(n);
+        BitSet nullImgs = new BitSet(n);
+        StringBuilder names = new StringBuilder(n * 4);
+        StringBuilder imgs = new StringBuilder();
+        List<String> symbols = new ArrayList<>();
+        Map<String, Integer> symbolCodes = new HashMap<>();
+
+        for (int row = 0; row < n; row++) {
+            FoodItem item = items.get(row);
+            rowIds[row] = item.getId();
+            foodIds[row] = item.getFoodID();
+            if (row > 0 && foodIds[row] < foodIds[row - 1]) {
+                throw new IllegalArgumentException("foodID 오름차순으로 정렬된 목록이어야 합니다");
+            }
+            parentCodes[row] = encodeParent(item.getParentID(), symbols, symbolCodes);
+
+            nameOffsets[row] = names.length();
+            if (item.getFoodName() == null) {
+                nullNames.set(row);
+            } else {
+                names.append(item.getFoodName());
+            }
+            imgOffsets[row] = imgs.length();
+            if (item.getFoodImg() == null) {
+                nullImgs.set(row);
+            } else {
+                imgs.append(item.getFoodImg());
+            }
+        }
+        nameOffsets[n] = names.length();
+        imgOffsets[n] = imgs.length();
+
+        // parent_id별 행 목록 (행 번호 = foodID 순서이므로 그대로 오름차순)
+        Map<Integer, IntList> byParent = new HashMap<>();
+        Map<Integer, IntList> byGrandParent = new HashMap<>();
+        for (int row = 0; row < n; row++) {
+            int parent = parentCodes[row];
+            if (parent == PARENT_NULL) {
+                continue;
+            }
+            byParent.computeIfAbsent(parent, k -> new IntList()).add(row);
+            if (parent >= 0) {
+                int parentRow = Arrays.binarySearch(foodIds, parent);
+                if (parentRow >= 0 && parentCodes[parentRow] != PARENT_NULL) {
+                    byGrandParent.computeIfAbsent(parentCodes[parentRow], k -> new IntList()).add(row);
+                }
+            }
+        }
+
+        return new CatalogSnapshot(rowIds, foodIds, parentCodes, symbols.toArray(new String[0]),
+                names.toString().toCharArray(), nameOffsets, imgs.toString().toCharArray(), imgOffsets,
+                nullNames, nullImgs, toArrays(byParent), toArrays(byGrandParent));
+    }
+
+    /**
+     * 행 수
+     */
+    public int size() {
+        return foodIds.length;
+    }
+
+    public int foodId(int row) {
+        return foodIds[row];
+    }
+
+    public String name(int row) {
+        return nullNames.get(row) ? null : new String(nameChars, nameOffsets[row], nameOffsets[row + 1] - nameOffsets[row]);
+    }
+
+    public String img(int row) {
+        return nullImgs.get(row) ? null : new String(imgChars, imgOffsets[row], imgOffsets[row + 1] - imgOffsets[row]);
+    }
+
+    public String parentId(int row) {
+        return decodeParent(parentCodes[row]);
+    }
+
+    /**
+     * foodID에 해당하는 행 번호 (없으면 음수)
+     */
+    public int rowOf(int foodId) {
+        return Arrays.binarySearch(foodIds, foodId);
+    }
+
+    /**
+     * foodID가 start 이상인 첫 행 번호
+     */
+    public int lowerBound(int foodId) {
+        int pos = Arrays.binarySearch(foodIds, foodId);
+        if (pos < 0) {
+            return -pos - 1;
+        }
+        // 같은 foodID가 여러 행이면 첫 행으로 이동
+        while (pos > 0 && foodIds[pos - 1] == foodId) {
+            pos--;
+        }
+        return pos;
+    }
+
+    /**
+     * parent_id가 일치하는 행 목록 (foodID 오름차순, 공유 배열이므로 수정 금지)
+     */
+    public int[] rowsWithParent(String parentId) {
+        Integer code = lookupParent(parentId);
+        return code == null ? EMPTY : rowsByParent.getOrDefault(code, EMPTY);
+    }
+
+    /**
+     * 상위 카테고리(parent의 parent)가 일치하는 행 목록 (foodID 오름차순, 공유 배열이므로 수정 금지)
+     * 메인 카테고리 ID로 조회하면 그 아래 서브 카테고리에 속한 재료 행이 된다
+     */
+    public int[] rowsWithGrandParent(String grandParentId) {
+        Integer code = lookupParent(grandParentId);
+        return code == null ? EMPTY : rowsByGrandParent.getOrDefault(code, EMPTY);
+    }
+
+    /**
+     * 응답용 FoodItem 생성 (호출마다 새 객체)
+     */
+    public FoodItem toFoodItem(int row) {
+        return new FoodItem(rowIds[row], foodIds[row], name(row), parentId(row), img(row),
+                null, null, 0, 0, null, null);
+    }
+
+    /**
+     * 스냅샷 배열이 차지하는 대략적인 메모리 (바이트, 배열 헤더 16바이트 기준)
+     */
+    public long estimatedBytes() {
+        long bytes = arrayBytes(rowIds.length, Integer.BYTES) * 3
+                + arrayBytes(nameChars.length, Character.BYTES)
+                + arrayBytes(imgChars.length, Character.BYTES)
+                + arrayBytes(nameOffsets.length, Integer.BYTES) * 2
+                + (nullNames.size() + nullImgs.size()) / 8;
+        for (int[] rows : rowsByParent.values()) {
+            bytes += arrayBytes(rows.length, Integer.BYTES) + 48;
+        }
+        for (int[] rows : rowsByGrandParent.values()) {
+            bytes += arrayBytes(rows.length, Integer.BYTES) + 48;
+        }
+        return bytes;
+    }
+
+    /**
+     * 같은 데이터를 FoodItem 엔티티 목록으로 보관할 때의 대략적인 메모리 (바이트, 비교용)
+     * - 엔티티 객체(헤더 + 필드 11개) + String 객체(헤더 + byte[]) + Integer 박싱 + 목록 참조 슬롯
+     * - 영속성 컨텍스트의 스냅샷/EntityEntry 비용은 제외하므로 실제보다 작게 잡힌다
+     */
+    public static long estimateEntityBytes(List<FoodItem> items) {
+        long bytes = arrayBytes(items.size(), 4);
+        for (FoodItem item : items) {
+            bytes += 64;
+            bytes += stringBytes(item.getFoodName()) + stringBytes(item.getParentID()) + stringBytes(item.getFoodImg());
+            bytes += (item.getMainCategoryId() != null ? 16 : 0) + (item.getSubCategoryId() != null ? 16 : 0);
+        }
+        return bytes;
+    }
+
+    private static long stringBytes(String value) {
+        if (value == null) {
+            return 0;
+        }
+        boolean latin1 = value.chars().allMatch(c -> c < 256);
+        return 24 + arrayBytes(value.length(), latin1 ? 1 : 2);
+    }
+
+    private static long arrayBytes(int length, int elementBytes) {
+        return (16 + (long) length * elementBytes + 7) / 8 * 8;
+    }
+
+    private static int encodeParent(String parentId, List<String> symbols, Map<String, Integer> symbolCodes) {
+        if (parentId == null) {
+            return PARENT_NULL;
+        }
+        int numeric = parseCanonical(parentId);
+        if (numeric >= 0) {
+            return numeric;
+        }
+        return symbolCodes.computeIfAbsent(parentId, key -> {
+            symbols.add(key);
+            return -symbols.size();
+        });
+    }
+
+    private String decodeParent(int code) {
+        if (code == PARENT_NULL) {
+            return null;
+        }
+        return code >= 0 ? Integer.toString(code) : parentSymbols[-code - 1];
+    }
+
+    private Integer lookupParent(String parentId) {
+        if (parentId == null) {
+            return null;
+        }
+        int numeric = parseCanonical(parentId);
+        if (numeric >= 0) {
+            return numeric;
+        }
+        for (int i = 0; i < parentSymbols.length; i++) {
+            if (parentSymbols[i].equals(parentId)) {
+                return -(i + 1);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * "123" 처럼 Integer.toString 결과와 같은 형태의 음이 아닌 정수면 그 값, 아니면 -1
+     * ("0123", "+1" 등은 문자열 그대로 비교해야 하므로 기호로 취급한다)
+     */
+    private static int parseCanonical(String value) {
+        if (value.isEmpty() || value.length() > 9) {
+            return -1;
+        }
+        if (value.length() > 1 && value.charAt(0) == '0') {
+            return -1;
+        }
+        int result = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static Map<Integer, int[]> toArrays(Map<Integer, IntList> lists) {
+        Map<Integer, int[]> result = new HashMap<>(lists.size() * 2);
+        lists.forEach((k, v) -> result.put(k, v.toArray()));
+        return result;
+    }
+
+    /**
+     * 생성 중에만 쓰는 가변 int 배열
+     */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
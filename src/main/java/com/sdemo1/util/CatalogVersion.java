@@ -0,0 +1,31 @@
+package com.sdemo1.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * 음식 카탈로그(food_item) 버전 스탬프
+ * - 카탈로그/카테고리가 다시 적재될 때마다 증가한다
+ * - 카탈로그에서 파생된 캐시는 저장 시점의 버전과 현재 버전을 비교해 무효화 여부를 판단한다
+ */
+@Component
+public class CatalogVersion {
+
+    private final AtomicLong version = new AtomicLong(1);
+
+    /**
+     * 현재 카탈로그 버전
+     */
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * 카탈로그 변경 시 버전 증가
+     * @return 증가된 버전
+     */
+    public long bump() {
+        return version.incrementAndGet();
+    }
+}
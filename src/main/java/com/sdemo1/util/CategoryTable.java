@@ -0,0 +1,144 @@
+package com.sdemo1.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.sdemo1.entity.FoodItem;
+
+/**
+ * 서브 카테고리 ID(int) → CategoryInfo 불변 조회 테이블
+ * - 정렬된 int 키 배열과 같은 순서의 CategoryInfo 배열로 보관하고 이진 탐색으로 찾는다
+ *   ID 범위가 항목 수에 비해 촘촘하면 (최소 ID 기준) 직접 인덱싱 배열을 함께 두고 그쪽으로 찾는다
+ * - parent_id 문자열은 예외 없이 직접 숫자로 변환하므로 조회 시 박싱/문자열 생성/예외 처리가 없다
+ * - 메인/서브 카테고리 이름은 생성 시 같은 문자열 객체를 공유하도록 정리한다
+ *
+ * 생성 후에는 변경되지 않으므로 여러 스레드에서 동시에 조회해도 안전하다.
+ */
+public final class CategoryTable {
+
+    // ID 범위가 항목 수의 DENSE_FACTOR 배 이하면 직접 인덱싱 배열을 만든다
+    private static final int DENSE_FACTOR = 8;
+
+    private final int[] subIds;
+    private final CategoryInfo[] infos;
+    // byOffset[id - minId] (촘촘하지 않으면 null)
+    private final CategoryInfo[] byOffset;
+    private final int minId;
+
+    /**
+     * 서브 카테고리 정보 (메인 카테고리가 없으면 mId = 0, mName = null)
+     */
+    public record CategoryInfo(int sId, String sName, int mId, String mName) {
+
+        public boolean hasMain() {
+            return mName != null || mId != 0;
+        }
+    }
+
+    private CategoryTable(int[] subIds, CategoryInfo[] infos) {
+        this.subIds = subIds;
+        this.infos = infos;
+        this.minId = subIds.length == 0 ? 0 : subIds[0];
+        long range = subIds.length == 0 ? 0 : (long) subIds[subIds.length - 1] - minId + 1;
+        if (range > 0 && range <= (long) subIds.length * DENSE_FACTOR) {
+            byOffset = new CategoryInfo[(int) range];
+            for (int i = 0; i < subIds.length; i++) {
+                byOffset[subIds[i] - minId] = infos[i];
+            }
+        } else {
+            byOffset = null;
+        }
+    }
+
+    /**
+     * 카테고리 목록으로 테이블 생성 (FoodCategoryUtil.buildCategoryMap 과 같은 규칙)
+     * @param foodItems 메인 카테고리(parent_id가 P/R)와 서브 카테고리 행
+     */
+    public static CategoryTable of(List<FoodItem> foodItems) {
+        Map<String, String> names = new HashMap<>();
+        Map<Integer, FoodItem> mains = new HashMap<>();
+        for (FoodItem item : foodItems) {
+            if (isMain(item)) {
+                mains.putIfAbsent(item.getFoodID(), item);
+            }
+        }
+
+        Map<Integer, CategoryInfo> subs = new HashMap<>();
+        for (FoodItem item : foodItems) {
+            if (isMain(item) || subs.containsKey(item.getFoodID())) {
+                continue;
+            }
+            int parent = parseId(item.getParentID());
+            FoodItem main = parent >= 0 ? mains.get(parent) : null;
+            subs.put(item.getFoodID(), new CategoryInfo(
+                    item.getFoodID(),
+                    canonical(names, item.getFoodName()),
+                    main != null ? main.getFoodID() : 0,
+                    main != null ? canonical(names, main.getFoodName()) : null));
+        }
+
+        int[] subIds = subs.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        CategoryInfo[] infos = new CategoryInfo[subIds.length];
+        for (int i = 0; i < subIds.length; i++) {
+            infos[i] = subs.get(subIds[i]);
+        }
+        return new CategoryTable(subIds, infos);
+    }
+
+    /**
+     * parent_id(서브 카테고리 ID 문자열)로 조회
+     * @return 카테고리 정보, 없으면 null
+     */
+    public CategoryInfo get(String parentId) {
+        int id = parseId(parentId);
+        return id >= 0 ? get(id) : null;
+    }
+
+    /**
+     * 서브 카테고리 ID로 조회
+     * @return 카테고리 정보, 없으면 null
+     */
+    public CategoryInfo get(int subId) {
+        if (byOffset != null) {
+            int offset = subId - minId;
+            return offset >= 0 && offset < byOffset.length ? byOffset[offset] : null;
+        }
+        int pos = Arrays.binarySearch(subIds, subId);
+        return pos >= 0 ? infos[pos] : null;
+    }
+
+    public int size() {
+        return subIds.length;
+    }
+
+    /**
+     * String.valueOf(int) 와 같은 형태의 음이 아닌 정수면 그 값, 아니면 -1 (예외 없음)
+     */
+    public static int parseId(String value) {
+        if (value == null || value.isEmpty() || value.length() > 9) {
+            return -1;
+        }
+        if (value.length() > 1 && value.charAt(0) == '0') {
+            return -1;
+        }
+        int result = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static boolean isMain(FoodItem item) {
+        return "P".equals(item.getParentID()) || "R".equals(item.getParentID());
+    }
+
+    private static String canonical(Map<String, String> names, String name) {
+        return name == null ? null : names.computeIfAbsent(name, key -> key);
+    }
+}
@@ -0,0 +1,154 @@
+package com.sdemo1.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 전체 카테고리 트리(/food/allCategory) 응답 바이트 캐시
+ * - 카탈로그 버전마다 한 번만 트리를 만들고 JSON 직렬화 + gzip 압축까지 끝낸 바이트를 보관한다
+ * - ETag는 JSON 바이트의 SHA-256 앞 16바이트로 만들며, gzip 본문은 "-gz" 를 붙여 구분한다 (strong ETag)
+ * - 카탈로그 버전이 바뀌면(관리자 캐시 갱신, 카탈로그 재적재) 다음 조회 시 다시 만든다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CategoryTreeResponseCache {
+
+    private final CatalogVersion catalogVersion;
+    private final ObjectMapper objectMapper;
+
+    private volatile Entry entry;
+
+    /**
+     * 직렬화된 응답
+     * @param version 만들 때의 카탈로그 버전
+     * @param json 비압축 JSON
+     * @param gzip gzip 압축 JSON
+     * @param etag 비압축 본문의 ETag (따옴표 포함)
+     * @param gzipEtag 압축 본문의 ETag (따옴표 포함)
+     */
+    public record Entry(long version, byte[] json, byte[] gzip, String etag, String gzipEtag) {
+
+        /**
+         * If-None-Match 헤더가 이 응답(압축/비압축 중 하나)과 일치하는지 확인
+         */
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+                return false;
+            }
+            for (String tag : ifNoneMatch.split(",")) {
+                String candidate = tag.trim();
+                if (candidate.startsWith("W/")) {
+                    candidate = candidate.substring(2);
+                }
+                if ("*".equals(candidate) || etag.equals(candidate) || gzipEtag.equals(candidate)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Accept-Encoding 헤더가 gzip 응답을 허용하는지 확인
+     * - 코딩 이름은 정확히 비교하고(gzip, x-gzip), 명시되지 않았으면 * 의 q 값을 따른다
+     * - q=0 은 거부이며, 잘못된 q 값도 거부로 본다 (비압축 응답은 항상 허용되므로 안전한 쪽)
+     * @param acceptEncoding Accept-Encoding 헤더 (없으면 null)
+     * @return gzip 본문을 보내도 되면 true
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return false;
+        }
+        double gzipQ = -1;
+        double wildcardQ = -1;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzipQ = Math.max(gzipQ, qValue(parts));
+            } else if (coding.equals("*")) {
+                wildcardQ = Math.max(wildcardQ, qValue(parts));
+            }
+        }
+        return (gzipQ >= 0 ? gzipQ : wildcardQ) > 0;
+    }
+
+    // 파라미터 중 q 값 (없으면 1, 형식이 잘못되면 0)
+    private static double qValue(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String param = parts[i].trim();
+            if (param.length() > 1 && (param.charAt(0) == 'q' || param.charAt(0) == 'Q') && param.charAt(1) == '=') {
+                try {
+                    double q = Double.parseDouble(param.substring(2).trim());
+                    return q >= 0 && q <= 1 ? q : 0;
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * 현재 버전의 직렬화된 응답을 반환하고, 없으면 loader로 만든 응답 객체를 직렬화해 저장
+     * @param loader 응답 객체 생성 (ApiResponse)
+     * @return 직렬화된 응답
+     */
+    public Entry getOrBuild(Supplier<?> loader) {
+        long version = catalogVersion.current();
+        Entry current = entry;
+        if (current != null && current.version() == version) {
+            return current;
+        }
+
+        synchronized (this) {
+            current = entry;
+            if (current != null && current.version() == version) {
+                return current;
+            }
+            Entry built = build(version, loader.get());
+            // 만드는 도중 카탈로그가 바뀌었으면 이전 버전 결과는 저장하지 않음
+            if (catalogVersion.current() == version) {
+                entry = built;
+            }
+            log.info("📦 카테고리 트리 응답 직렬화 완료 - 버전: {}, JSON: {}B, gzip: {}B",
+                    version, built.json().length, built.gzip().length);
+            return built;
+        }
+    }
+
+    private Entry build(long version, Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json), 0, 16);
+            return new Entry(version, json, gzip(json), "\"" + hash + "\"", "\"" + hash + "-gz\"");
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("카테고리 트리 응답 직렬화 실패", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new IllegalStateException("카테고리 트리 응답 압축 실패", e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,101 @@
+package com.sdemo1.util;
+
+import java.util.function.Supplier;
+
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+
+import com.sdemo1.dto.PageRequestDto;
+import com.sdemo1.entity.FoodItem;
+
+/**
+ * 재료선택 화면(/food/findIngredientByFilter) 페이지 결과 캐시
+ * - 키: 정규화된 (메인 카테고리, 서브 카테고리, 페이지, 크기)
+ * - 값: 카테고리 정보까지 채워진 페이지 (응답 직렬화에만 쓰이므로 요청 간 공유)
+ * - W-TinyLFU 승인 정책으로 자주 쓰이는 조합만 남기며, 추정 바이트 합계가 MAX_BYTES를 넘지 않는다
+ * - 카탈로그 버전이 바뀌면(관리자 캐시 갱신, 카탈로그 재적재) 다음 조회 시 전체를 비운다
+ */
+@Component
+public class FilterResultCache {
+
+    private static final long MAX_BYTES = 8L * 1024 * 1024;
+    private static final int EXPECTED_ENTRIES = 2_000;
+
+    private final CatalogVersion catalogVersion;
+    private final TinyLfuCache<FilterKey, Page<FoodItem>> cache =
+            new TinyLfuCache<>(MAX_BYTES, EXPECTED_ENTRIES, FilterResultCache::estimateBytes);
+    private volatile long cachedVersion = -1;
+
+    public FilterResultCache(CatalogVersion catalogVersion) {
+        this.catalogVersion = catalogVersion;
+    }
+
+    /**
+     * 정규화된 조회 조건
+     * 페이지/크기는 실제 조회(PageRequestDto.toPageable)와 같은 규칙으로 정규화하여, 같은 결과를 내는 요청이 같은 키가 되게 한다
+     */
+    public record FilterKey(String mainCategoryId, String subCategoryId, int page, int size) {
+
+        public static FilterKey of(String mainCategoryId, String subCategoryId, Integer page, Integer size) {
+            return new FilterKey(trim(mainCategoryId), trim(subCategoryId),
+                    PageRequestDto.validatePage(page), PageRequestDto.validateSize(size));
+        }
+
+        private static String trim(String value) {
+            return value == null || value.isBlank() ? null : value.trim();
+        }
+    }
+
+    /**
+     * 캐시된 페이지를 반환하고, 없으면 loader로 조회한 뒤 저장
+     * @param key 조회 조건
+     * @param loader 실제 조회 (카테고리 정보 포함)
+     * @return 페이지 결과
+     */
+    public Page<FoodItem> getOrLoad(FilterKey key, Supplier<Page<FoodItem>> loader) {
+        long version = catalogVersion.current();
+        if (version != cachedVersion) {
+            synchronized (this) {
+                if (version != cachedVersion) {
+                    cache.clear();
+                    cachedVersion = version;
+                }
+            }
+        }
+
+        Page<FoodItem> cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Page<FoodItem> loaded = loader.get();
+        // 조회 도중 카탈로그가 바뀌었으면 이전 버전 결과는 저장하지 않음
+        if (catalogVersion.current() == version) {
+            cache.put(key, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * 캐시 상태 확인 (디버깅용)
+     */
+    public String getStatus() {
+        return "필터 결과 캐시 [" + cache.summary() + ", 버전: " + cachedVersion + "]";
+    }
+
+    /**
+     * 페이지 추정 크기 (Page/PageImpl 객체 + 항목별 FoodItem과 문자열)
+     */
+    private static long estimateBytes(Page<FoodItem> page) {
+        long bytes = 128;
+        for (FoodItem item : page.getContent()) {
+            bytes += 80 + stringBytes(item.getFoodName()) + stringBytes(item.getParentID())
+                    + stringBytes(item.getFoodImg()) + stringBytes(item.getSName()) + stringBytes(item.getMName());
+        }
+        return bytes;
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : 40 + value.length() * 2L;
+    }
+}
@@ -1,5 +1,6 @@
 package com.sdemo1.util;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -8,20 +9,14 @@ import java.util.stream.Collectors;
 import com.sdemo1.entity.FoodItem;
 
 public class FoodCategoryUtil {
-    private static Map<String, Map<String, Object>> categoryMap = null;
 
-    public static Map<String, Map<String, Object>> getCategoryMap(List<FoodItem> foodItems) {
-        if (categoryMap == null) {
-            synchronized (FoodCategoryUtil.class) {
-                if (categoryMap == null) {
-                    categoryMap = createCategoryMap(foodItems);
-                }
-            }
-        }
-        return categoryMap;
-    }
-
-    private static Map<String, Map<String, Object>> createCategoryMap(List<FoodItem> foodItems) {
+    /**
+     * 카테고리 목록으로 서브 카테고리 ID → {sName, mID, mName} 맵 생성
+     * 호출할 때마다 새로 만들며, 캐싱/갱신은 CategoryRegistry가 담당한다
+     * @param foodItems 메인 카테고리(parent_id가 P/R)와 서브 카테고리 행
+     * @return 변경할 수 없는 카테고리 맵
+     */
+    public static Map<String, Map<String, Object>> buildCategoryMap(List<FoodItem> foodItems) {
         // 메인 카테고리 맵 생성
         Map<String, Map<String, Object>> mainCategoryMap = foodItems.stream()
                 .filter(obj -> "P".equals(obj.getParentID()) || "R".equals(obj.getParentID()))
@@ -32,11 +27,12 @@ public class FoodCategoryUtil {
                         mainInfo.put("mID", main.getFoodID());
                         mainInfo.put("mName", main.getFoodName());
                         return mainInfo;
-                    }
+                    },
+                    (first, second) -> first
                 ));
 
         // 서브 카테고리 맵 생성
-        return foodItems.stream()
+        Map<String, Map<String, Object>> subCategoryMap = foodItems.stream()
                 .filter(obj -> !("P".equals(obj.getParentID()) || "R".equals(obj.getParentID())))
                 .collect(Collectors.toMap(
                     item -> String.valueOf(item.getFoodID()),
@@ -48,12 +44,10 @@ public class FoodCategoryUtil {
                             subInfo.put("mID", mainInfo.get("mID"));
                             subInfo.put("mName", mainInfo.get("mName"));
                         }
-                        return subInfo;
-                    }
+                        return Collections.unmodifiableMap(subInfo);
+                    },
+                    (first, second) -> first
                 ));
+        return Collections.unmodifiableMap(subCategoryMap);
     }
-
-    public static void clearCache() {
-        categoryMap = null;
-    }
-} 
\ No newline at end of file
+}
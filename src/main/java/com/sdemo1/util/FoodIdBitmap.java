@@ -0,0 +1,282 @@
+package com.sdemo1.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * foodId 집합의 압축 비트맵 (Roaring 방식)
+ * - foodId의 상위 16비트로 컨테이너를 나누고, 각 컨테이너는 하위 16비트만 보관한다
+ * - 원소가 4096개 이하면 정렬된 char 배열, 그보다 많으면 1024 word(65536비트) 비트맵으로 보관한다
+ * - 재료 foodId는 50000~59999 범위에 몰려 있으므로 보통 컨테이너 하나로 끝난다
+ * - 교집합 크기/포함 여부는 word 단위 AND + popcount, 또는 배열 원소의 비트 검사로 계산한다
+ *
+ * 생성 후에는 변경되지 않으므로 여러 스레드에서 동시에 사용해도 안전하다.
+ */
+public final class FoodIdBitmap {
+
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1024;
+
+    public static final FoodIdBitmap EMPTY = new FoodIdBitmap(new char[0], new Object[0], 0);
+
+    // 상위 16비트 (오름차순)
+    private final char[] keys;
+    // 키와 같은 순서의 컨테이너 (char[] 배열 컨테이너 또는 long[] 비트맵 컨테이너)
+    private final Object[] containers;
+    private final int cardinality;
+
+    private FoodIdBitmap(char[] keys, Object[] containers, int cardinality) {
+        this.keys = keys;
+        this.containers = containers;
+        this.cardinality = cardinality;
+    }
+
+    /**
+     * foodId 목록으로 생성 (중복은 한 번만 포함, 음수는 무시)
+     */
+    public static FoodIdBitmap of(int... foodIds) {
+        int[] sorted = Arrays.stream(foodIds).filter(id -> id >= 0).sorted().distinct().toArray();
+        if (sorted.length == 0) {
+            return EMPTY;
+        }
+
+        int containerCount = 1;
+        for (int i = 1; i < sorted.length; i++) {
+            if ((sorted[i] >>> 16) != (sorted[i - 1] >>> 16)) {
+                containerCount++;
+            }
+        }
+
+        char[] keys = new char[containerCount];
+        Object[] containers = new Object[containerCount];
+        int from = 0;
+        for (int c = 0; c < containerCount; c++) {
+            int key = sorted[from] >>> 16;
+            int to = from;
+            while (to < sorted.length && (sorted[to] >>> 16) == key) {
+                to++;
+            }
+            keys[c] = (char) key;
+            containers[c] = to - from <= ARRAY_MAX ? toArrayContainer(sorted, from, to) : toBitmapContainer(sorted, from, to);
+            from = to;
+        }
+        return new FoodIdBitmap(keys, containers, sorted.length);
+    }
+
+    /**
+     * foodId 컬렉션으로 생성 (null은 무시)
+     */
+    public static FoodIdBitmap of(Collection<Integer> foodIds) {
+        return of(foodIds.stream().filter(id -> id != null).mapToInt(Integer::intValue).toArray());
+    }
+
+    public int cardinality() {
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    public boolean contains(int foodId) {
+        if (foodId < 0) {
+            return false;
+        }
+        int index = Arrays.binarySearch(keys, (char) (foodId >>> 16));
+        return index >= 0 && containerContains(containers[index], (char) foodId);
+    }
+
+    /**
+     * 두 집합의 교집합 크기
+     */
+    public int andCardinality(FoodIdBitmap other) {
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < keys.length && j < other.keys.length) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                count += andCardinality(containers[i++], other.containers[j++]);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * other의 모든 원소를 포함하는지 (예: 냉장고.containsAll(레시피 필수 재료))
+     */
+    public boolean containsAll(FoodIdBitmap other) {
+        return other.cardinality <= cardinality && andCardinality(other) == other.cardinality;
+    }
+
+    /**
+     * 공통 원소가 하나라도 있는지
+     */
+    public boolean intersects(FoodIdBitmap other) {
+        int i = 0;
+        int j = 0;
+        while (i < keys.length && j < other.keys.length) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else if (andCardinality(containers[i++], other.containers[j++]) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 이 집합에만 있는 원소 (예: 레시피.andNot(냉장고) = 부족한 재료)
+     * @return foodId 오름차순 배열
+     */
+    public int[] andNot(FoodIdBitmap other) {
+        int[] result = new int[cardinality];
+        int count = 0;
+        int j = 0;
+        for (int i = 0; i < keys.length; i++) {
+            while (j < other.keys.length && other.keys[j] < keys[i]) {
+                j++;
+            }
+            Object otherContainer = j < other.keys.length && other.keys[j] == keys[i] ? other.containers[j] : null;
+            int high = keys[i] << 16;
+            Object container = containers[i];
+            if (container instanceof char[] values) {
+                for (char low : values) {
+                    if (otherContainer == null || !containerContains(otherContainer, low)) {
+                        result[count++] = high | low;
+                    }
+                }
+            } else {
+                long[] words = (long[]) container;
+                long[] otherWords = otherContainer instanceof long[] bits ? bits : null;
+                for (int w = 0; w < BITMAP_WORDS; w++) {
+                    long word = otherWords != null ? words[w] & ~otherWords[w] : words[w];
+                    while (word != 0) {
+                        int low = (w << 6) | Long.numberOfTrailingZeros(word);
+                        word &= word - 1;
+                        if (otherWords != null || otherContainer == null || !containerContains(otherContainer, (char) low)) {
+                            result[count++] = high | low;
+                        }
+                    }
+                }
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    /**
+     * 전체 원소 (foodId 오름차순)
+     */
+    public int[] toArray() {
+        return andNot(EMPTY);
+    }
+
+    /**
+     * 모든 컨테이너를 비트맵 컨테이너로 바꾼 사본
+     * 한 집합(예: 냉장고)을 여러 작은 집합(레시피)과 반복 비교할 때 원소당 비트 검사 한 번으로 줄이기 위해 사용한다
+     * (컨테이너당 8KB)
+     */
+    public FoodIdBitmap withBitmapContainers() {
+        Object[] converted = containers.clone();
+        for (int i = 0; i < converted.length; i++) {
+            if (converted[i] instanceof char[] values) {
+                long[] words = new long[BITMAP_WORDS];
+                for (char low : values) {
+                    words[low >>> 6] |= 1L << low;
+                }
+                converted[i] = words;
+            }
+        }
+        return new FoodIdBitmap(keys, converted, cardinality);
+    }
+
+    /**
+     * 추정 메모리 크기 (바이트)
+     */
+    public long estimatedBytes() {
+        long bytes = 48 + 16 + keys.length * 2L + 16 + containers.length * 4L;
+        for (Object container : containers) {
+            bytes += 16 + (container instanceof char[] values ? values.length * 2L : BITMAP_WORDS * 8L);
+        }
+        return bytes;
+    }
+
+    private static char[] toArrayContainer(int[] sorted, int from, int to) {
+        char[] values = new char[to - from];
+        for (int i = from; i < to; i++) {
+            values[i - from] = (char) sorted[i];
+        }
+        return values;
+    }
+
+    private static long[] toBitmapContainer(int[] sorted, int from, int to) {
+        long[] words = new long[BITMAP_WORDS];
+        for (int i = from; i < to; i++) {
+            int low = sorted[i] & 0xFFFF;
+            words[low >>> 6] |= 1L << low;
+        }
+        return words;
+    }
+
+    private static boolean containerContains(Object container, char low) {
+        if (container instanceof char[] values) {
+            return Arrays.binarySearch(values, low) >= 0;
+        }
+        return (((long[]) container)[low >>> 6] & (1L << low)) != 0;
+    }
+
+    private static int andCardinality(Object a, Object b) {
+        if (a instanceof long[] wordsA && b instanceof long[] wordsB) {
+            int count = 0;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                count += Long.bitCount(wordsA[w] & wordsB[w]);
+            }
+            return count;
+        }
+        if (a instanceof char[] valuesA && b instanceof char[] valuesB) {
+            // 크기 차이가 크면 작은 쪽 원소를 큰 쪽에서 이진 탐색
+            if (valuesA.length * 16 < valuesB.length || valuesB.length * 16 < valuesA.length) {
+                char[] small = valuesA.length < valuesB.length ? valuesA : valuesB;
+                char[] large = small == valuesA ? valuesB : valuesA;
+                int count = 0;
+                for (char low : small) {
+                    if (Arrays.binarySearch(large, low) >= 0) {
+                        count++;
+                    }
+                }
+                return count;
+            }
+            // 정렬된 두 배열의 병합 교집합
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < valuesA.length && j < valuesB.length) {
+                if (valuesA[i] < valuesB[j]) {
+                    i++;
+                } else if (valuesA[i] > valuesB[j]) {
+                    j++;
+                } else {
+                    count++;
+                    i++;
+                    j++;
+                }
+            }
+            return count;
+        }
+        // 배열 컨테이너 원소마다 비트맵 컨테이너의 비트 검사
+        char[] values = a instanceof char[] array ? array : (char[]) b;
+        long[] words = a instanceof long[] bits ? bits : (long[]) b;
+        int count = 0;
+        for (char low : values) {
+            if ((words[low >>> 6] & (1L << low)) != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
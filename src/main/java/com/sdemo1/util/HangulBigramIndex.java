@@ -0,0 +1,204 @@
+package com.sdemo1.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 음식 이름 검색용 2-gram 역색인
+ * - 이름을 소문자로 정규화한 뒤 인접한 두 글자(한글 음절 bigram)마다 posting list를 만든다
+ * - 한 글자 검색어는 글자(unigram) posting list로 바로 응답한다
+ * - 검색어의 bigram posting list를 짧은 것부터 교집합한 뒤, 세 글자 이상이면 실제 포함 여부를 확인한다
+ * - posting list는 문서 번호(ordinal) 오름차순이므로 결과도 입력 순서를 그대로 유지한다
+ *
+ * 생성 후에는 변경되지 않으므로 여러 스레드에서 동시에 조회해도 안전하다.
+ */
+public final class HangulBigramIndex {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final String[] normalizedNames;
+    private final Map<Character, int[]> unigramPostings;
+    private final Map<Integer, int[]> bigramPostings;
+
+    private HangulBigramIndex(String[] normalizedNames,
+                              Map<Character, int[]> unigramPostings,
+                              Map<Integer, int[]> bigramPostings) {
+        this.normalizedNames = normalizedNames;
+        this.unigramPostings = unigramPostings;
+        this.bigramPostings = bigramPostings;
+    }
+
+    /**
+     * 이름 목록으로 색인 생성 (목록의 인덱스가 문서 번호가 된다)
+     */
+    public static HangulBigramIndex build(List<String> names) {
+        String[] normalized = new String[names.size()];
+        Map<Character, IntList> unigrams = new HashMap<>();
+        Map<Integer, IntList> bigrams = new HashMap<>();
+
+        Set<Character> seenChars = new HashSet<>();
+        Set<Integer> seenGrams = new HashSet<>();
+        for (int doc = 0; doc < names.size(); doc++) {
+            String name = normalize(names.get(doc));
+            normalized[doc] = name;
+
+            // 같은 문서에서 같은 gram이 여러 번 나와도 posting은 한 번만 추가
+            seenChars.clear();
+            for (int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
+                if (seenChars.add(c)) {
+                    unigrams.computeIfAbsent(c, k -> new IntList()).add(doc);
+                }
+            }
+            seenGrams.clear();
+            for (int i = 0; i + 1 < name.length(); i++) {
+                int gram = bigram(name.charAt(i), name.charAt(i + 1));
+                if (seenGrams.add(gram)) {
+                    bigrams.computeIfAbsent(gram, k -> new IntList()).add(doc);
+                }
+            }
+        }
+
+        Map<Character, int[]> unigramPostings = new HashMap<>(unigrams.size() * 2);
+        unigrams.forEach((k, v) -> unigramPostings.put(k, v.toArray()));
+        Map<Integer, int[]> bigramPostings = new HashMap<>(bigrams.size() * 2);
+        bigrams.forEach((k, v) -> bigramPostings.put(k, v.toArray()));
+
+        return new HangulBigramIndex(normalized, unigramPostings, bigramPostings);
+    }
+
+    /**
+     * 검색어를 포함하는 문서 번호 목록 (오름차순)
+     * @param keyword 검색 키워드 (대소문자 무시)
+     * @return 일치하는 문서 번호 배열, 없으면 빈 배열
+     */
+    public int[] search(String keyword) {
+        String kw = normalize(keyword);
+        if (kw.isEmpty()) {
+            return EMPTY;
+        }
+        if (kw.length() == 1) {
+            return unigramPostings.getOrDefault(kw.charAt(0), EMPTY);
+        }
+
+        // 검색어의 서로 다른 bigram posting list 수집 (하나라도 없으면 결과 없음)
+        List<int[]> lists = new ArrayList<>(kw.length() - 1);
+        Set<Integer> seen = new HashSet<>();
+        for (int i = 0; i + 1 < kw.length(); i++) {
+            int gram = bigram(kw.charAt(i), kw.charAt(i + 1));
+            if (!seen.add(gram)) {
+                continue;
+            }
+            int[] postings = bigramPostings.get(gram);
+            if (postings == null) {
+                return EMPTY;
+            }
+            lists.add(postings);
+        }
+
+        // 가장 짧은 posting list부터 교집합
+        lists.sort((a, b) -> Integer.compare(a.length, b.length));
+        int[] candidates = lists.get(0);
+        for (int i = 1; i < lists.size() && candidates.length > 0; i++) {
+            candidates = intersect(candidates, lists.get(i));
+        }
+
+        // 두 글자 검색어는 bigram 자체가 검색어이므로 확인이 필요 없음
+        if (kw.length() == 2) {
+            return candidates;
+        }
+
+        // bigram 교집합은 후보일 뿐이므로 실제 부분 문자열 여부 확인
+        int[] matched = new int[candidates.length];
+        int count = 0;
+        for (int doc : candidates) {
+            if (normalizedNames[doc].contains(kw)) {
+                matched[count++] = doc;
+            }
+        }
+        return count == matched.length ? matched : Arrays.copyOf(matched, count);
+    }
+
+    /**
+     * 색인된 문서 수
+     */
+    public int size() {
+        return normalizedNames.length;
+    }
+
+    /**
+     * 정규화된(소문자) 문서 이름
+     */
+    public String normalizedName(int doc) {
+        return normalizedNames[doc];
+    }
+
+    /**
+     * bigram 종류 수 (상태 확인용)
+     */
+    public int bigramCount() {
+        return bigramPostings.size();
+    }
+
+    /**
+     * 검색용 정규화 (null 안전, 소문자 변환)
+     */
+    public static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static int bigram(char first, char second) {
+        return (first << 16) | second;
+    }
+
+    /**
+     * 정렬된 두 배열의 교집합 (짧은 쪽을 기준으로 긴 쪽을 지수 탐색)
+     */
+    private static int[] intersect(int[] small, int[] large) {
+        int[] result = new int[Math.min(small.length, large.length)];
+        int count = 0;
+        int from = 0;
+        for (int value : small) {
+            int bound = 1;
+            while (from + bound < large.length && large[from + bound] < value) {
+                bound <<= 1;
+            }
+            int pos = Arrays.binarySearch(large, from, Math.min(from + bound + 1, large.length), value);
+            if (pos >= 0) {
+                result[count++] = value;
+                from = pos + 1;
+            } else {
+                from = -pos - 1;
+            }
+            if (from >= large.length) {
+                break;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * 색인 생성 중에만 쓰는 가변 int 배열
+     */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
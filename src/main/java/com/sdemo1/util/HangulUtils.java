@@ -0,0 +1,122 @@
+package com.sdemo1.util;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 한글 자모 분해 유틸리티
+ * - 완성형 음절(가~힣)을 초성/중성/종성 호환 자모로 분해한다
+ * - 겹모음(ㅘ), 겹받침(ㄺ)은 키보드 입력 순서대로 풀어서(ㅗㅏ, ㄹㄱ) 입력 중인 글자와도 접두사가 맞도록 한다
+ *   예) "닭" → ㄷㅏㄹㄱ 이므로 입력 중인 "달" → ㄷㅏㄹ 이 접두사가 된다
+ */
+public final class HangulUtils {
+
+    private static final char SYLLABLE_BASE = 0xAC00;
+    private static final char SYLLABLE_LAST = 0xD7A3;
+    private static final int JUNG_COUNT = 21;
+    private static final int JONG_COUNT = 28;
+
+    private static final char COMPAT_FIRST = 0x3131; // ㄱ
+    private static final char COMPAT_CONSONANT_LAST = 0x314E; // ㅎ
+    private static final char COMPAT_LAST = 0x3163; // ㅣ
+
+    private static final String CHO = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+
+    private static final String[] JUNG_KEYS = {
+        "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ", "ㅗㅐ",
+        "ㅗㅣ", "ㅛ", "ㅜ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ"
+    };
+
+    private static final String[] JONG_KEYS = {
+        "", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ",
+        "ㄹㅍ", "ㄹㅎ", "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"
+    };
+
+    private static final String JONG_COMPAT = "ㄱㄲㄳㄴㄵㄶㄷㄹㄺㄻㄼㄽㄾㄿㅀㅁㅂㅄㅅㅆㅇㅈㅊㅋㅌㅍㅎ";
+
+    // 겹자음/겹모음 호환 자모 → 입력 키 순서
+    private static final Map<Character, String> COMPAT_KEYS = new HashMap<>();
+
+    static {
+        for (int i = 0; i < JUNG_COUNT; i++) {
+            COMPAT_KEYS.put((char) (0x314F + i), JUNG_KEYS[i]);
+        }
+        for (int i = 0; i < JONG_COMPAT.length(); i++) {
+            COMPAT_KEYS.put(JONG_COMPAT.charAt(i), JONG_KEYS[i + 1]);
+        }
+    }
+
+    private HangulUtils() {
+    }
+
+    /**
+     * 입력 키 단위 자모 문자열로 분해 (한글 외 문자는 소문자로 그대로 유지)
+     * 예) "대파" → "ㄷㅐㅍㅏ", "사과" → "ㅅㅏㄱㅗㅏ"
+     */
+    public static String toJamo(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length() * 3);
+        for (int i = 0; i < text.length(); i++) {
+            appendJamo(sb, text.charAt(i));
+        }
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 초성 문자열 추출 (한글 외 문자는 소문자로 그대로 유지)
+     * 예) "대파" → "ㄷㅍ"
+     */
+    public static String toChosung(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            sb.append(isSyllable(c) ? CHO.charAt((c - SYLLABLE_BASE) / (JUNG_COUNT * JONG_COUNT)) : c);
+        }
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 자음(초성)으로만 이루어진 입력인지 여부 (공백은 무시)
+     * 예) "ㄷㅍ" → true, "대ㅍ" → false
+     */
+    public static boolean isChosungOnly(String text) {
+        if (text == null) {
+            return false;
+        }
+        boolean hasConsonant = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ' ') {
+                continue;
+            }
+            if (c < COMPAT_FIRST || c > COMPAT_CONSONANT_LAST) {
+                return false;
+            }
+            hasConsonant = true;
+        }
+        return hasConsonant;
+    }
+
+    public static boolean isSyllable(char c) {
+        return c >= SYLLABLE_BASE && c <= SYLLABLE_LAST;
+    }
+
+    private static void appendJamo(StringBuilder sb, char c) {
+        if (isSyllable(c)) {
+            int offset = c - SYLLABLE_BASE;
+            sb.append(CHO.charAt(offset / (JUNG_COUNT * JONG_COUNT)));
+            sb.append(JUNG_KEYS[(offset % (JUNG_COUNT * JONG_COUNT)) / JONG_COUNT]);
+            sb.append(JONG_KEYS[offset % JONG_COUNT]);
+        } else if (c >= COMPAT_FIRST && c <= COMPAT_LAST) {
+            sb.append(COMPAT_KEYS.getOrDefault(c, String.valueOf(c)));
+        } else {
+            sb.append(c);
+        }
+    }
+}
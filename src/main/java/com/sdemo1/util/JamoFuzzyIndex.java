@@ -0,0 +1,253 @@
+package com.sdemo1.util;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 오타 허용 검색용 자모 문자열 색인 (편집 거리 기준)
+ * - 키를 길이순으로 정렬해 하나의 char 배열에 이어 붙이고, 길이별 시작 위치를 둔다
+ *   질의어 길이 m, 허용 거리 k 이면 길이 [m - k, m + k] 구간의 키만 본다
+ * - 편집 거리는 비트 병렬(Myers/Hyyrö) 방식으로 계산한다: 질의어 글자 위치를 long 비트로 두고 키 글자마다 연산 몇 번으로 한 열을 갱신
+ *   남은 글자를 모두 맞혀도 k를 넘으면 그 키는 중간에 건너뛴다
+ * - 질의어가 64자를 넘으면 일반 DP로 계산한다
+ * - 후보 구간을 모두 보므로 결과가 빠지지 않는다 (이전 BK-tree는 전체 카탈로그에서 계산 횟수 제한에 걸려 결과가 빠졌고 순차 비교보다 빠르지도 않았음)
+ *
+ * 생성 후에는 변경되지 않으므로 여러 스레드에서 동시에 조회해도 안전하다.
+ */
+public final class JamoFuzzyIndex {
+
+    // 호환 자모(ㄱ 0x3131 ~ ㅣ 0x3163)는 배열로, 그 외 글자는 질의어의 글자 목록에서 찾는다
+    private static final char JAMO_FIRST = 0x3131;
+    private static final int JAMO_SLOTS = 64;
+    private static final int MAX_BIT_PARALLEL = 64;
+
+    private final char[] pool;
+    // 정렬 순서 i 번째 키는 pool[keyStart[i], keyStart[i + 1])
+    private final int[] keyStart;
+    private final int[] docs;
+    // 길이 len 인 키의 정렬 순서 시작 위치 (len > 최대 길이면 docs.length)
+    private final int[] lengthStart;
+
+    private JamoFuzzyIndex(char[] pool, int[] keyStart, int[] docs, int[] lengthStart) {
+        this.pool = pool;
+        this.keyStart = keyStart;
+        this.docs = docs;
+        this.lengthStart = lengthStart;
+    }
+
+    /**
+     * 키 목록으로 색인 생성 (목록의 인덱스가 문서 번호가 된다)
+     * @param keys 문서별 자모 문자열 (null/빈 문자열은 제외)
+     */
+    public static JamoFuzzyIndex build(List<String> keys) {
+        Integer[] order = new Integer[keys.size()];
+        int count = 0;
+        int total = 0;
+        int maxLength = 0;
+        for (int doc = 0; doc < keys.size(); doc++) {
+            String key = keys.get(doc);
+            if (key != null && !key.isEmpty()) {
+                order[count++] = doc;
+                total += key.length();
+                maxLength = Math.max(maxLength, key.length());
+            }
+        }
+        Arrays.sort(order, 0, count, Comparator.<Integer>comparingInt(doc -> keys.get(doc).length())
+                .thenComparingInt(doc -> doc));
+
+        char[] pool = new char[total];
+        int[] keyStart = new int[count + 1];
+        int[] docs = new int[count];
+        int[] lengthStart = new int[maxLength + 2];
+        int position = 0;
+        int length = 0;
+        for (int i = 0; i < count; i++) {
+            String key = keys.get(order[i]);
+            while (length <= key.length()) {
+                lengthStart[length++] = i;
+            }
+            docs[i] = order[i];
+            keyStart[i] = position;
+            key.getChars(0, key.length(), pool, position);
+            position += key.length();
+        }
+        keyStart[count] = position;
+        while (length < lengthStart.length) {
+            lengthStart[length++] = count;
+        }
+        return new JamoFuzzyIndex(pool, keyStart, docs, lengthStart);
+    }
+
+    /**
+     * 편집 거리 maxDistance 이내의 문서 검색
+     * @param query 자모 문자열
+     * @param maxDistance 허용 편집 거리
+     * @return 찾은 문서와 거리 (문서 번호 순서 아님)
+     */
+    public Result search(String query, int maxDistance) {
+        if (query == null || query.isEmpty() || docs.length == 0) {
+            return new Result(new int[0], new int[0], 0);
+        }
+
+        int m = query.length();
+        int from = lengthStart[clampLength(m - maxDistance)];
+        int to = lengthStart[clampLength(m + maxDistance + 1)];
+
+        int[] found = new int[16];
+        int[] distances = new int[16];
+        int count = 0;
+        Pattern pattern = m <= MAX_BIT_PARALLEL ? new Pattern(query) : null;
+        for (int i = from; i < to; i++) {
+            int distance = pattern != null
+                    ? pattern.distance(pool, keyStart[i], keyStart[i + 1], maxDistance)
+                    : distance(query, new String(pool, keyStart[i], keyStart[i + 1] - keyStart[i]), maxDistance);
+            if (distance <= maxDistance) {
+                if (count == found.length) {
+                    found = Arrays.copyOf(found, count * 2);
+                    distances = Arrays.copyOf(distances, count * 2);
+                }
+                found[count] = docs[i];
+                distances[count] = distance;
+                count++;
+            }
+        }
+        return new Result(Arrays.copyOf(found, count), Arrays.copyOf(distances, count), to - from);
+    }
+
+    /**
+     * 색인된 키 수 (상태 확인용)
+     */
+    public int size() {
+        return docs.length;
+    }
+
+    /**
+     * 추정 메모리 크기 (바이트)
+     */
+    public long estimatedBytes() {
+        return 16 + pool.length * 2L + 16 + keyStart.length * 4L + 16 + docs.length * 4L + 16 + lengthStart.length * 4L;
+    }
+
+    /**
+     * 검색 결과
+     * @param docs 문서 번호 (순서 없음)
+     * @param distances docs와 같은 위치의 편집 거리
+     * @param scanned 길이 조건을 통과해 거리를 계산한 키 수
+     */
+    public record Result(int[] docs, int[] distances, int scanned) {
+    }
+
+    /**
+     * 두 문자열의 편집 거리 (limit를 넘으면 limit + 1 반환, 일반 DP)
+     */
+    static int distance(String a, String b, int limit) {
+        if (Math.abs(a.length() - b.length()) > limit) {
+            return limit + 1;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > limit) {
+                return limit + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[b.length()], limit + 1);
+    }
+
+    private int clampLength(int length) {
+        return Math.max(0, Math.min(length, lengthStart.length - 1));
+    }
+
+    /**
+     * 질의어(64자 이하)의 글자별 위치 비트
+     */
+    private static final class Pattern {
+
+        private final int length;
+        private final long[] jamoMasks = new long[JAMO_SLOTS];
+        private final char[] otherChars;
+        private final long[] otherMasks;
+
+        Pattern(String query) {
+            length = query.length();
+            char[] others = new char[length];
+            long[] masks = new long[length];
+            int otherCount = 0;
+            for (int i = 0; i < length; i++) {
+                char c = query.charAt(i);
+                int slot = c - JAMO_FIRST;
+                if (slot >= 0 && slot < JAMO_SLOTS) {
+                    jamoMasks[slot] |= 1L << i;
+                    continue;
+                }
+                int index = 0;
+                while (index < otherCount && others[index] != c) {
+                    index++;
+                }
+                if (index == otherCount) {
+                    others[otherCount++] = c;
+                }
+                masks[index] |= 1L << i;
+            }
+            otherChars = Arrays.copyOf(others, otherCount);
+            otherMasks = Arrays.copyOf(masks, otherCount);
+        }
+
+        // text[from, to) 와의 편집 거리 (limit를 넘으면 limit + 1)
+        int distance(char[] text, int from, int to, int limit) {
+            long vp = length == 64 ? -1L : (1L << length) - 1;
+            long vn = 0;
+            long high = 1L << (length - 1);
+            int score = length;
+            for (int j = from; j < to; j++) {
+                long eq = match(text[j]);
+                long xv = eq | vn;
+                long xh = (((eq & vp) + vp) ^ vp) | eq;
+                long hp = vn | ~(xh | vp);
+                long hn = vp & xh;
+                if ((hp & high) != 0) {
+                    score++;
+                } else if ((hn & high) != 0) {
+                    score--;
+                }
+                // 남은 글자마다 최대 1씩만 줄어들 수 있다
+                if (score - (to - j - 1) > limit) {
+                    return limit + 1;
+                }
+                hp = (hp << 1) | 1;
+                hn <<= 1;
+                vp = hn | ~(xv | hp);
+                vn = hp & xv;
+            }
+            return Math.min(score, limit + 1);
+        }
+
+        private long match(char c) {
+            int slot = c - JAMO_FIRST;
+            if (slot >= 0 && slot < JAMO_SLOTS) {
+                return jamoMasks[slot];
+            }
+            for (int i = 0; i < otherChars.length; i++) {
+                if (otherChars[i] == c) {
+                    return otherMasks[i];
+                }
+            }
+            return 0;
+        }
+    }
+}
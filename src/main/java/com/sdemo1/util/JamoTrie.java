@@ -0,0 +1,228 @@
+package com.sdemo1.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 자동완성용 배열 기반 접두사 트라이
+ * - 노드를 BFS 순서로 평탄화하여 형제 노드가 연속된 배열 구간에 놓이도록 한다 (자식 탐색은 이진 탐색)
+ * - 노드마다 하위 트리의 상위 K개 문서를 미리 계산해 두므로 조회 비용은 입력 길이에만 비례한다
+ * - 종료 문서가 없고 자식이 하나뿐인 노드는 자식의 상위 K 목록을 공유하여 메모리를 줄인다
+ *
+ * 문서 우선순위: 키가 짧을수록, 같은 길이면 문서 번호가 작을수록 먼저 노출된다.
+ * 생성 후에는 변경되지 않으므로 여러 스레드에서 동시에 조회해도 안전하다.
+ */
+public final class JamoTrie {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final char[] labels;
+    private final int[] firstChild;
+    private final char[] childCount;
+    private final int[] topStart;
+    private final byte[] topLength;
+    private final int[] topPool;
+    private final int maxK;
+
+    private JamoTrie(char[] labels, int[] firstChild, char[] childCount,
+                     int[] topStart, byte[] topLength, int[] topPool, int maxK) {
+        this.labels = labels;
+        this.firstChild = firstChild;
+        this.childCount = childCount;
+        this.topStart = topStart;
+        this.topLength = topLength;
+        this.topPool = topPool;
+        this.maxK = maxK;
+    }
+
+    /**
+     * 키 목록으로 트라이 생성 (목록의 인덱스가 문서 번호가 된다)
+     * @param keys 문서별 검색 키 (자모 또는 초성 문자열)
+     * @param maxK 노드마다 보관할 최대 결과 수 (127 이하)
+     */
+    public static JamoTrie build(List<String> keys, int maxK) {
+        if (maxK < 1 || maxK > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("maxK는 1~127 사이여야 합니다: " + maxK);
+        }
+
+        // 문서 우선순위 (키 길이 → 문서 번호)
+        int[] rank = new int[keys.size()];
+        Integer[] order = new Integer[keys.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.<Integer>comparingInt(doc -> keys.get(doc).length())
+                .thenComparingInt(doc -> doc));
+        for (int r = 0; r < order.length; r++) {
+            rank[order[r]] = r;
+        }
+
+        // 1. 포인터 기반 임시 트라이 구성
+        BuildNode root = new BuildNode('\0');
+        for (int doc = 0; doc < keys.size(); doc++) {
+            String key = keys.get(doc);
+            if (key == null || key.isEmpty()) {
+                continue;
+            }
+            BuildNode node = root;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), BuildNode::new);
+            }
+            node.docs.add(doc);
+        }
+
+        // 2. BFS 순서로 평탄화 (형제 노드가 연속 구간에 놓임)
+        List<BuildNode> nodes = new ArrayList<>();
+        nodes.add(root);
+        ArrayDeque<BuildNode> queue = new ArrayDeque<>();
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            BuildNode node = queue.poll();
+            node.firstChild = nodes.size();
+            for (BuildNode child : node.children.values()) {
+                nodes.add(child);
+                queue.add(child);
+            }
+        }
+
+        int n = nodes.size();
+        char[] labels = new char[n];
+        int[] firstChild = new int[n];
+        char[] childCount = new char[n];
+        for (int i = 0; i < n; i++) {
+            BuildNode node = nodes.get(i);
+            labels[i] = node.label;
+            firstChild[i] = node.firstChild;
+            childCount[i] = (char) node.children.size();
+        }
+
+        // 3. 자식이 항상 부모보다 뒤에 있으므로 역순으로 상위 K 목록 계산
+        int[] topStart = new int[n];
+        byte[] topLength = new byte[n];
+        int[] pool = new int[Math.max(16, n)];
+        int poolSize = 0;
+        int[] candidates = new int[maxK * 4];
+        for (int i = n - 1; i >= 0; i--) {
+            BuildNode node = nodes.get(i);
+            if (node.docs.isEmpty() && node.children.size() == 1) {
+                topStart[i] = topStart[firstChild[i]];
+                topLength[i] = topLength[firstChild[i]];
+                continue;
+            }
+
+            int count = 0;
+            for (int doc : node.docs) {
+                if (count == candidates.length) {
+                    candidates = Arrays.copyOf(candidates, count * 2);
+                }
+                candidates[count++] = doc;
+            }
+            for (int c = firstChild[i]; c < firstChild[i] + childCount[i]; c++) {
+                for (int j = topStart[c]; j < topStart[c] + topLength[c]; j++) {
+                    if (count == candidates.length) {
+                        candidates = Arrays.copyOf(candidates, count * 2);
+                    }
+                    candidates[count++] = pool[j];
+                }
+            }
+
+            int[] top = topByRank(candidates, count, rank, maxK);
+            if (poolSize + top.length > pool.length) {
+                pool = Arrays.copyOf(pool, Math.max(pool.length * 2, poolSize + top.length));
+            }
+            System.arraycopy(top, 0, pool, poolSize, top.length);
+            topStart[i] = poolSize;
+            topLength[i] = (byte) top.length;
+            poolSize += top.length;
+        }
+
+        return new JamoTrie(labels, firstChild, childCount, topStart, topLength,
+                Arrays.copyOf(pool, poolSize), maxK);
+    }
+
+    /**
+     * 접두사로 시작하는 상위 문서 목록
+     * @param prefix 검색 접두사 (키와 같은 방식으로 변환된 문자열)
+     * @param limit 최대 결과 수 (maxK 이하로 제한)
+     * @return 우선순위 순서의 문서 번호 배열
+     */
+    public int[] topK(String prefix, int limit) {
+        if (prefix == null || prefix.isEmpty() || limit <= 0) {
+            return EMPTY;
+        }
+        int node = 0;
+        for (int i = 0; i < prefix.length(); i++) {
+            node = findChild(node, prefix.charAt(i));
+            if (node < 0) {
+                return EMPTY;
+            }
+        }
+        int length = Math.min(topLength[node], Math.min(limit, maxK));
+        return Arrays.copyOfRange(topPool, topStart[node], topStart[node] + length);
+    }
+
+    /**
+     * 노드 수 (상태 확인용)
+     */
+    public int nodeCount() {
+        return labels.length;
+    }
+
+    /**
+     * 배열이 차지하는 대략적인 메모리 (바이트, 상태 확인용)
+     */
+    public long estimatedBytes() {
+        return (long) labels.length * (Character.BYTES * 2 + Integer.BYTES * 2 + Byte.BYTES)
+                + (long) topPool.length * Integer.BYTES;
+    }
+
+    private int findChild(int node, char label) {
+        int low = firstChild[node];
+        int high = low + childCount[node] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char value = labels[mid];
+            if (value < label) {
+                low = mid + 1;
+            } else if (value > label) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private static int[] topByRank(int[] candidates, int count, int[] rank, int maxK) {
+        Integer[] boxed = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            boxed[i] = candidates[i];
+        }
+        Arrays.sort(boxed, Comparator.comparingInt(doc -> rank[doc]));
+        int length = Math.min(count, maxK);
+        int[] top = new int[length];
+        for (int i = 0; i < length; i++) {
+            top[i] = boxed[i];
+        }
+        return top;
+    }
+
+    /**
+     * 생성 단계에서만 쓰는 임시 노드
+     */
+    private static final class BuildNode {
+        private final char label;
+        private final Map<Character, BuildNode> children = new TreeMap<>();
+        private final List<Integer> docs = new ArrayList<>(1);
+        private int firstChild;
+
+        BuildNode(char label) {
+            this.label = label;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.sdemo1.util;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 최근 N건의 처리 시간(나노초)을 링 버퍼에 보관하고 백분위수를 계산하는 경량 측정기
+ * - 기록은 원자적 카운터 증가와 배열 쓰기 한 번뿐이라 요청 경로에서 써도 부담이 없다
+ * - 백분위수는 조회 시점에 버퍼를 복사해 정렬하므로 상태 확인용으로만 사용한다
+ */
+public class LatencyStats {
+
+    private final AtomicLongArray samples;
+    private final AtomicLong count = new AtomicLong();
+
+    public LatencyStats(int capacity) {
+        this.samples = new AtomicLongArray(capacity);
+    }
+
+    /**
+     * 처리 시간 기록
+     * @param nanos 소요 시간 (나노초)
+     */
+    public void record(long nanos) {
+        long index = count.getAndIncrement();
+        samples.set((int) (index % samples.length()), nanos);
+    }
+
+    /**
+     * 누적 기록 건수
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * 최근 기록 중 백분위수 (마이크로초)
+     * @param percentile 0~100
+     */
+    public double percentileMicros(double percentile) {
+        int size = (int) Math.min(count.get(), samples.length());
+        if (size == 0) {
+            return 0;
+        }
+        long[] copy = new long[size];
+        for (int i = 0; i < size; i++) {
+            copy[i] = samples.get(i);
+        }
+        Arrays.sort(copy);
+        int index = (int) Math.ceil(percentile / 100.0 * size) - 1;
+        return copy[Math.max(0, Math.min(index, size - 1))] / 1000.0;
+    }
+
+    /**
+     * 상태 문자열 (건수, p50, p99)
+     */
+    public String summary() {
+        return String.format("건수: %d, p50: %.1fµs, p99: %.1fµs",
+                getCount(), percentileMicros(50), percentileMicros(99));
+    }
+}
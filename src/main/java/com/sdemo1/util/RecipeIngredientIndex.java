@@ -0,0 +1,387 @@
+package com.sdemo1.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 재료 → 레시피 역색인 (레시피 추천용)
+ * - 레시피마다 슬롯 번호를 주고, 재료 foodId마다 그 재료를 쓰는 (레시피 슬롯, 레시피 안 재료 위치) 목록(posting list)을 보관한다
+ * - 레시피마다 필수 재료 위치 비트셋과 전체 재료 위치 비트셋(각각 int, 최대 32개)을 색인할 때 미리 만들어 long 하나에 묶어 둔다
+ * - 추천은 슬롯을 BLOCK_SLOTS개씩 나눠, 블록마다 냉장고 재료의 posting list에서 그 블록 항목만 골라 보유 재료 위치 비트셋을 만들고
+ *   블록을 순서대로 훑으며 popcount 몇 번으로 점수를 매겨 상위 K개를 고른다 (TopKSelector.Accumulator)
+ *   상위 K개가 찬 뒤에는 부족한 필수 재료 수만 먼저 세어, 그것만으로 K번째 점수를 넘을 수 없는 레시피는 나머지 계산을 건너뛴다
+ *   블록 단위로 처리하므로 레시피가 100만 개여도 작업 배열이 캐시 안에 머문다
+ *   1. 부족한 필수 재료 수가 적은 순 (0이면 필수 재료를 모두 가진 레시피)
+ *   2. 선택 재료 보유 비율이 높은 순
+ *   3. 보유 재료 수가 많은 순, 그다음 먼저 색인된 레시피 순 (전체 생성 직후에는 cookId 오름차순)
+ * - 레시피 수정/삭제는 기존 슬롯을 비워 두기만 하고, 빈 슬롯이 살아 있는 슬롯의 1/4을 넘으면 posting list를 한 번에 정리한다
+ * - cookId는 자동 증가 값이므로 cookId → 슬롯은 배열로 보관한다
+ * - 서로 다른 재료가 MAX_INGREDIENTS개를 넘는 레시피는 앞의 MAX_INGREDIENTS - 1개만 색인하고,
+ *   마지막 비트를 냉장고에 절대 없는 필수 재료로 두어 항상 필수 재료 하나가 부족한 것으로 본다 (잘린 재료 때문에 요리 가능으로 잘못 나오지 않도록)
+ *
+ * 조회는 읽기 락, 변경은 쓰기 락으로 보호하므로 여러 스레드에서 동시에 사용해도 안전하다.
+ */
+public final class RecipeIngredientIndex {
+
+    // 레시피 하나에서 색인하는 최대 재료 수 (재료 위치를 int 비트셋 하나로 표현하기 위한 제한, 초과하면 클래스 설명처럼 잘라서 색인)
+    public static final int MAX_INGREDIENTS = 32;
+    // 잘린 레시피의 필수 재료 비트셋에만 두는 위치 (전체 재료 비트셋과 posting list에는 없으므로 항상 부족한 필수 재료가 된다)
+    private static final int TRUNCATED_POSITION = MAX_INGREDIENTS - 1;
+    // 한 번에 표시/점수 계산하는 슬롯 수 (블록 비트셋 256KB가 캐시에 남도록)
+    private static final int BLOCK_SLOTS = 64 * 1024;
+    // 빈 슬롯 정리를 시작하는 최소 빈 슬롯 수
+    private static final int MIN_COMPACT_SLOTS = 1024;
+    // 선택 재료 보유 비율 고정소수점 배율 (16비트)
+    private static final int COVERAGE_SCALE = 0xFFFF;
+    // (보유 수 << 6 | 재료 수) → 보유 비율 (후보마다 나눗셈하지 않도록 미리 계산, 재료 수 0이면 100%)
+    private static final int[] COVERAGE = new int[64 * 64];
+
+    static {
+        for (int matched = 0; matched <= MAX_INGREDIENTS; matched++) {
+            COVERAGE[matched << 6] = COVERAGE_SCALE;
+            for (int size = 1; size <= MAX_INGREDIENTS; size++) {
+                COVERAGE[(matched << 6) | size] = matched * COVERAGE_SCALE / size;
+            }
+        }
+    }
+
+    /**
+     * 추천 결과 한 건
+     * @param matchedCount 냉장고에 있는 레시피 재료 수
+     * @param ingredientCount 레시피 재료 수
+     * @param missingRequiredCount 냉장고에 없는 필수 재료 수
+     * @param optionalMatchedCount 냉장고에 있는 선택 재료 수
+     * @param optionalCount 레시피 선택 재료 수
+     */
+    public record Match(int cookId, int matchedCount, int ingredientCount,
+                        int missingRequiredCount, int optionalMatchedCount, int optionalCount) {
+
+        public double coverage() {
+            return (double) matchedCount / ingredientCount;
+        }
+
+        /**
+         * 필수 재료를 모두 가지고 있는지
+         */
+        public boolean cookable() {
+            return missingRequiredCount == 0;
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 조회 스레드별 블록 하나의 보유 재료 위치 비트셋 (훑으면서 0으로 비워 둔다)
+    private final ThreadLocal<int[]> matchedScratch = ThreadLocal.withInitial(() -> new int[BLOCK_SLOTS]);
+
+    // 아래 필드는 lock으로 보호
+    private int[] slotCookIds = new int[1024];
+    // 슬롯의 (필수 재료 위치 비트셋 << 32 | 전체 재료 위치 비트셋), 0이면 빈 슬롯
+    // 점수 계산 때 슬롯마다 읽는 배열을 줄이기 위해 한 배열에 묶는다
+    private long[] slotMasks = new long[1024];
+    private int slotCount;
+    private int liveCount;
+    // 재료를 잘라서 색인한 슬롯 (32번째 재료가 필수인 레시피도 필수 재료 비트셋 마지막 비트가 켜지므로 마스크로는 구분할 수 없다)
+    private final BitSet truncatedSlots = new BitSet();
+    // cookId → 슬롯 번호 (-1이면 없음)
+    private int[] slotByCookId = new int[0];
+    // foodId → (슬롯 << 5 | 재료 위치) 목록
+    private final Map<Integer, IntList> postings = new HashMap<>();
+    private long postingCount;
+
+    /**
+     * 레시피 추가 또는 교체 (같은 cookId가 있으면 이전 재료는 제거)
+     * 같은 재료가 여러 번 나오면 한 번만 색인하며, 그중 하나라도 필수면 필수로 본다
+     * @param cookId 레시피 ID
+     * @param foodIds 레시피 재료 ID (서로 다른 재료가 MAX_INGREDIENTS개를 넘으면 잘라서 색인)
+     * @param required foodIds와 같은 순서의 필수 여부
+     * @return 재료를 잘라서 색인했으면 true (이 레시피는 요리 가능으로 추천되지 않음)
+     */
+    public boolean put(int cookId, int[] foodIds, boolean[] required) {
+        Map<Integer, Boolean> distinct = new LinkedHashMap<>();
+        for (int i = 0; i < foodIds.length; i++) {
+            distinct.merge(foodIds[i], required[i], Boolean::logicalOr);
+        }
+        boolean truncated = distinct.size() > MAX_INGREDIENTS;
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(cookId);
+            if (distinct.isEmpty()) {
+                return false;
+            }
+            int slot = slotCount++;
+            if (slot == slotCookIds.length) {
+                slotCookIds = Arrays.copyOf(slotCookIds, slot * 2);
+                slotMasks = Arrays.copyOf(slotMasks, slot * 2);
+            }
+
+            int allMask = 0;
+            int requiredMask = 0;
+            int position = 0;
+            for (Map.Entry<Integer, Boolean> ingredient : distinct.entrySet()) {
+                if (truncated && position == TRUNCATED_POSITION) {
+                    requiredMask |= 1 << TRUNCATED_POSITION;
+                    break;
+                }
+                allMask |= 1 << position;
+                if (ingredient.getValue()) {
+                    requiredMask |= 1 << position;
+                }
+                postings.computeIfAbsent(ingredient.getKey(), k -> new IntList()).add((slot << 5) | position);
+                position++;
+            }
+            slotCookIds[slot] = cookId;
+            slotMasks[slot] = ((long) requiredMask << 32) | (allMask & 0xFFFFFFFFL);
+            ensureCookIdCapacity(cookId);
+            slotByCookId[cookId] = slot;
+            liveCount++;
+            if (truncated) {
+                truncatedSlots.set(slot);
+            }
+            postingCount += position;
+            return truncated;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 레시피 제거 (없으면 무시)
+     */
+    public void remove(int cookId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(cookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 냉장고 재료로 상위 k개 레시피 선택 (순서는 클래스 설명 참고)
+     * @param pantryFoodIds 냉장고 재료 ID
+     * @param k 최대 결과 수
+     * @return 점수 내림차순 결과 (재료를 하나도 갖지 않은 레시피는 제외)
+     */
+    public List<Match> topK(int[] pantryFoodIds, int k) {
+        lock.readLock().lock();
+        try {
+            List<IntList> lists = new ArrayList<>(pantryFoodIds.length);
+            for (int foodId : pantryFoodIds) {
+                IntList posting = postings.get(foodId);
+                if (posting != null) {
+                    lists.add(posting);
+                }
+            }
+            int[] cursors = new int[lists.size()];
+            int[] matched = matchedScratch.get();
+            TopKSelector.Accumulator top = new TopKSelector.Accumulator(k);
+            // 상위 K개에 들어간 적 있는 슬롯의 보유 재료 위치 (블록을 비운 뒤 결과를 만들 때 사용)
+            Map<Integer, Integer> acceptedMasks = new HashMap<>();
+
+            for (int blockStart = 0; blockStart < slotCount; blockStart += BLOCK_SLOTS) {
+                int blockEnd = Math.min(slotCount, blockStart + BLOCK_SLOTS);
+
+                markBlock(lists, cursors, matched, blockStart, blockEnd);
+                scoreBlock(matched, blockStart, blockEnd, top, acceptedMasks);
+            }
+
+            int[] ranked = top.drainDescending();
+            List<Match> matches = new ArrayList<>(ranked.length);
+            for (int slot : ranked) {
+                int allMask = (int) slotMasks[slot];
+                int requiredMask = (int) (slotMasks[slot] >>> 32);
+                int matchedMask = acceptedMasks.get(slot) & allMask;
+                int optionalMask = allMask & ~requiredMask;
+                matches.add(new Match(slotCookIds[slot], Integer.bitCount(matchedMask), Integer.bitCount(allMask),
+                        Integer.bitCount(requiredMask & ~matchedMask),
+                        Integer.bitCount(optionalMask & matchedMask), Integer.bitCount(optionalMask)));
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 냉장고 재료 posting list에서 이 블록에 속한 항목만 표시 (posting list는 슬롯 오름차순)
+    private static void markBlock(List<IntList> lists, int[] cursors, int[] matched, int blockStart, int blockEnd) {
+        for (int j = 0; j < cursors.length; j++) {
+            IntList posting = lists.get(j);
+            int[] entries = posting.values;
+            int size = posting.size;
+            int cursor = cursors[j];
+            while (cursor < size) {
+                int entry = entries[cursor];
+                int slot = entry >>> 5;
+                if (slot >= blockEnd) {
+                    break;
+                }
+                matched[slot - blockStart] |= 1 << entry;
+                cursor++;
+            }
+            cursors[j] = cursor;
+        }
+    }
+
+    // 블록을 순서대로 훑으며 점수 계산 후 비워 둠
+    private void scoreBlock(int[] matched, int blockStart, int blockEnd,
+                            TopKSelector.Accumulator top, Map<Integer, Integer> acceptedMasks) {
+        int maxMissing = maxMissingRequired(top.threshold());
+        for (int slot = blockStart; slot < blockEnd; slot++) {
+            int matchedMask = matched[slot - blockStart];
+            // 보유 재료가 없는 슬롯도 여기서 대부분 걸러지고, 남은 경우는 score()가 음수를 돌려준다
+            if (Integer.bitCount((int) (slotMasks[slot] >>> 32) & ~matchedMask) > maxMissing) {
+                continue;
+            }
+            long score = score(slot, matchedMask);
+            if (score >= 0 && top.offer(slot, score)) {
+                acceptedMasks.put(slot, matchedMask);
+                maxMissing = maxMissingRequired(top.threshold());
+            }
+        }
+        Arrays.fill(matched, 0, blockEnd - blockStart, 0);
+    }
+
+    // K번째 점수를 넘을 수 있는 최대 부족 필수 재료 수
+    // 부족 수가 K번째와 같으면 하위 비트(보유 비율, 보유 수, 슬롯 역순)에 따라 넘을 수 있으므로 후보로 남긴다
+    private static int maxMissingRequired(long threshold) {
+        if (threshold == Long.MAX_VALUE) {
+            return -1;
+        }
+        return threshold < 0 ? MAX_INGREDIENTS : MAX_INGREDIENTS - (int) (threshold >>> 53);
+    }
+
+    /**
+     * 색인된 레시피 수
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 상태 문자열 (레시피 수, 재료 수, posting 수, 빈 슬롯 수, 잘린 레시피 수, 추정 메모리)
+     */
+    public String describe() {
+        lock.readLock().lock();
+        try {
+            long bytes = slotCookIds.length * 12L + slotByCookId.length * 4L
+                    + postings.size() * 64L + postingCount * 4L;
+            return String.format("레시피 %d개, 재료 %d개, posting %d개, 빈 슬롯 %d개, 잘린 레시피 %d개, 약 %dKB",
+                    liveCount, postings.size(), postingCount, slotCount - liveCount, truncatedSlots.cardinality(),
+                    bytes / 1024);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // (32 - 부족한 필수 재료 수)(6비트) | 선택 재료 보유 비율(16비트) | 보유 수(6비트) | 슬롯 역순(31비트)
+    // 보유 재료가 없거나 빈 슬롯이면 음수 (빈 슬롯은 전체 재료 비트셋이 0이므로 matchedMask도 0이 된다)
+    private long score(int slot, int matchedMask) {
+        if (matchedMask == 0) {
+            return -1;
+        }
+        long masks = slotMasks[slot];
+        int allMask = (int) masks;
+        matchedMask &= allMask;
+        if (matchedMask == 0) {
+            return -1;
+        }
+        int requiredMask = (int) (masks >>> 32);
+        int optionalMask = allMask & ~requiredMask;
+        int missingRequired = Integer.bitCount(requiredMask & ~matchedMask);
+        int optionalCoverage = COVERAGE[(Integer.bitCount(optionalMask & matchedMask) << 6) | Integer.bitCount(optionalMask)];
+        return ((long) (MAX_INGREDIENTS - missingRequired) << 53)
+                | ((long) optionalCoverage << 37)
+                | ((long) Integer.bitCount(matchedMask) << 31)
+                | (Integer.MAX_VALUE - slot);
+    }
+
+    private void removeLocked(int cookId) {
+        if (cookId < 0 || cookId >= slotByCookId.length || slotByCookId[cookId] < 0) {
+            return;
+        }
+        int slot = slotByCookId[cookId];
+        slotByCookId[cookId] = -1;
+        truncatedSlots.clear(slot);
+        slotMasks[slot] = 0;
+        liveCount--;
+
+        int dead = slotCount - liveCount;
+        if (dead >= MIN_COMPACT_SLOTS && dead * 4 > liveCount) {
+            compact();
+        }
+    }
+
+    // 빈 슬롯을 빼고 슬롯 번호를 다시 매김 (번호 순서가 유지되므로 posting list도 순서대로 옮기면 된다)
+    private void compact() {
+        int[] remap = new int[slotCount];
+        int next = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (slotMasks[slot] == 0) {
+                remap[slot] = -1;
+            } else {
+                remap[slot] = next;
+                slotCookIds[next] = slotCookIds[slot];
+                slotMasks[next] = slotMasks[slot];
+                truncatedSlots.set(next, truncatedSlots.get(slot));
+                slotByCookId[slotCookIds[next]] = next;
+                next++;
+            }
+        }
+        Arrays.fill(slotMasks, next, slotCount, 0L);
+        truncatedSlots.clear(next, slotCount);
+        slotCount = next;
+
+        long remaining = 0;
+        var iterator = postings.values().iterator();
+        while (iterator.hasNext()) {
+            IntList posting = iterator.next();
+            int size = 0;
+            for (int i = 0; i < posting.size; i++) {
+                int entry = posting.values[i];
+                int slot = remap[entry >>> 5];
+                if (slot >= 0) {
+                    posting.values[size++] = (slot << 5) | (entry & 31);
+                }
+            }
+            posting.size = size;
+            if (size == 0) {
+                iterator.remove();
+            }
+            remaining += size;
+        }
+        postingCount = remaining;
+    }
+
+    private void ensureCookIdCapacity(int cookId) {
+        if (cookId < slotByCookId.length) {
+            return;
+        }
+        int oldLength = slotByCookId.length;
+        slotByCookId = Arrays.copyOf(slotByCookId, Math.max(cookId + 1, oldLength * 2));
+        Arrays.fill(slotByCookId, oldLength, slotByCookId.length, -1);
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.sdemo1.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * 바이트 한도가 있는 W-TinyLFU 방식 캐시
+ * - 새 항목은 작은 window(LRU, 전체의 약 1%)에 먼저 들어간다 (window보다 큰 항목은 바로 승인 단계로 넘어감)
+ * - window + main 사용량은 항상 maxBytes 이하로 유지한다
+ * - window에서 밀려난 항목은 main 영역의 퇴출 후보보다 최근 접근 빈도가 높을 때만 main에 들어간다 (TinyLFU 승인)
+ * - main은 probation / protected 두 구간의 segmented LRU이며, probation에서 다시 조회된 항목만 protected로 올라간다
+ * - 접근 빈도는 4비트 count-min sketch로 추정하고, 일정 횟수마다 절반으로 줄여 오래된 인기도를 잊는다
+ *
+ * 모든 연산은 인스턴스 락으로 직렬화한다. 항목 수가 적고 값 적재는 락 밖에서 하므로 경합이 크지 않다.
+ */
+public final class TinyLfuCache<K, V> {
+
+    private final long maxBytes;
+    private final long windowMaxBytes;
+    private final long protectedMaxBytes;
+    private final ToLongFunction<V> weigher;
+    private final FrequencySketch sketch;
+
+    // access-order LinkedHashMap: 첫 항목이 가장 오래전에 사용된 항목
+    private final LinkedHashMap<K, Node<V>> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, Node<V>> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, Node<V>> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+    private long windowBytes;
+    private long probationBytes;
+    private long protectedBytes;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long rejections;
+
+    private record Node<V>(V value, long weight) {
+    }
+
+    /**
+     * @param maxBytes 전체 바이트 한도
+     * @param expectedEntries 빈도 sketch 크기 기준 (예상 항목 수)
+     * @param weigher 값 → 추정 바이트
+     */
+    public TinyLfuCache(long maxBytes, int expectedEntries, ToLongFunction<V> weigher) {
+        this.maxBytes = maxBytes;
+        this.windowMaxBytes = Math.max(1, maxBytes / 100);
+        this.protectedMaxBytes = (maxBytes - windowMaxBytes) * 8 / 10;
+        this.weigher = weigher;
+        this.sketch = new FrequencySketch(expectedEntries);
+    }
+
+    /**
+     * 캐시 조회 (없으면 null)
+     */
+    public synchronized V get(K key) {
+        sketch.increment(key.hashCode());
+
+        Node<V> node = window.get(key);
+        if (node == null) {
+            node = protectedSegment.get(key);
+        }
+        if (node == null) {
+            node = probation.remove(key);
+            if (node != null) {
+                // probation에서 다시 조회되면 protected로 승격
+                probationBytes -= node.weight();
+                protectedSegment.put(key, node);
+                protectedBytes += node.weight();
+                demoteProtected();
+            }
+        }
+
+        if (node == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return node.value();
+    }
+
+    /**
+     * 캐시 저장 (한도보다 큰 값은 저장하지 않음)
+     */
+    public synchronized void put(K key, V value) {
+        long weight = weigher.applyAsLong(value);
+        if (weight > maxBytes - windowMaxBytes) {
+            rejections++;
+            return;
+        }
+        remove(key);
+
+        window.put(key, new Node<>(value, weight));
+        windowBytes += weight;
+        // window 한도보다 큰 새 항목도 바로 승인 단계로 보낸다 (window에 남겨 두면 전체 사용량이 maxBytes를 넘음)
+        while (windowBytes > windowMaxBytes) {
+            Iterator<Map.Entry<K, Node<V>>> it = window.entrySet().iterator();
+            Map.Entry<K, Node<V>> candidate = it.next();
+            it.remove();
+            windowBytes -= candidate.getValue().weight();
+            admit(candidate.getKey(), candidate.getValue());
+        }
+    }
+
+    /**
+     * 전체 비우기 (통계는 유지)
+     */
+    public synchronized void clear() {
+        window.clear();
+        probation.clear();
+        protectedSegment.clear();
+        windowBytes = 0;
+        probationBytes = 0;
+        protectedBytes = 0;
+    }
+
+    /**
+     * 상태 문자열 (항목 수, 사용 바이트, 적중/미적중/퇴출/승인 거부)
+     */
+    public synchronized String summary() {
+        return String.format("항목: %d, 사용: %dKB/%dKB, 적중: %d, 미적중: %d, 퇴출: %d, 승인 거부: %d",
+                window.size() + probation.size() + protectedSegment.size(),
+                (windowBytes + probationBytes + protectedBytes) / 1024, maxBytes / 1024,
+                hits, misses, evictions, rejections);
+    }
+
+    /**
+     * 사용 중인 바이트 (세 구간 합계, 테스트용)
+     */
+    synchronized long usedBytes() {
+        return windowBytes + probationBytes + protectedBytes;
+    }
+
+    /**
+     * 키가 들어 있는 구간 ("window" / "probation" / "protected", 없으면 null)
+     * 빈도와 LRU 순서를 바꾸지 않는다 (테스트용)
+     */
+    synchronized String segmentOf(K key) {
+        if (window.containsKey(key)) {
+            return "window";
+        }
+        if (probation.containsKey(key)) {
+            return "probation";
+        }
+        return protectedSegment.containsKey(key) ? "protected" : null;
+    }
+
+    /**
+     * window에서 밀려난 후보를 main(probation)에 넣을지 빈도로 결정
+     */
+    private void admit(K key, Node<V> candidate) {
+        long mainMaxBytes = maxBytes - windowMaxBytes;
+        if (probationBytes + protectedBytes + candidate.weight() <= mainMaxBytes) {
+            probation.put(key, candidate);
+            probationBytes += candidate.weight();
+            return;
+        }
+
+        K victimKey = firstKey(probation.isEmpty() ? protectedSegment : probation);
+        if (victimKey == null || sketch.frequency(key.hashCode()) <= sketch.frequency(victimKey.hashCode())) {
+            // 후보의 빈도가 퇴출 후보보다 높지 않으면 후보를 버린다
+            rejections++;
+            return;
+        }
+
+        while (probationBytes + protectedBytes + candidate.weight() > mainMaxBytes) {
+            LinkedHashMap<K, Node<V>> segment = probation.isEmpty() ? protectedSegment : probation;
+            K evictKey = firstKey(segment);
+            if (evictKey == null) {
+                break;
+            }
+            Node<V> evicted = segment.remove(evictKey);
+            if (segment == probation) {
+                probationBytes -= evicted.weight();
+            } else {
+                protectedBytes -= evicted.weight();
+            }
+            evictions++;
+        }
+        probation.put(key, candidate);
+        probationBytes += candidate.weight();
+    }
+
+    /**
+     * protected가 한도를 넘으면 가장 오래된 항목을 probation으로 내린다
+     */
+    private void demoteProtected() {
+        while (protectedBytes > protectedMaxBytes && protectedSegment.size() > 1) {
+            K oldest = firstKey(protectedSegment);
+            Node<V> node = protectedSegment.remove(oldest);
+            protectedBytes -= node.weight();
+            probation.put(oldest, node);
+            probationBytes += node.weight();
+        }
+    }
+
+    private void remove(K key) {
+        Node<V> node = window.remove(key);
+        if (node != null) {
+            windowBytes -= node.weight();
+            return;
+        }
+        node = probation.remove(key);
+        if (node != null) {
+            probationBytes -= node.weight();
+            return;
+        }
+        node = protectedSegment.remove(key);
+        if (node != null) {
+            protectedBytes -= node.weight();
+        }
+    }
+
+    private static <K, V> K firstKey(LinkedHashMap<K, V> map) {
+        return map.isEmpty() ? null : map.keySet().iterator().next();
+    }
+
+    /**
+     * 4비트 카운터 count-min sketch (행 4개, 최대 15)
+     * 기록 횟수가 카운터 수의 10배가 되면 모든 카운터를 절반으로 줄인다
+     */
+    private static final class FrequencySketch {
+        private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+        };
+        private static final long RESET_MASK = 0x7777777777777777L;
+
+        private final long[] table;
+        private final int mask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int expectedEntries) {
+            int counters = Integer.highestOneBit(Math.max(16, expectedEntries) * 2 - 1) * 4;
+            this.table = new long[counters / 16];
+            this.mask = counters - 1;
+            this.sampleSize = counters * 10;
+        }
+
+        void increment(int hash) {
+            boolean added = false;
+            for (int i = 0; i < SEEDS.length; i++) {
+                int index = indexOf(hash, i);
+                int slot = index >>> 4;
+                int shift = (index & 15) << 2;
+                if (((table[slot] >>> shift) & 0xF) < 15) {
+                    table[slot] += 1L << shift;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= sampleSize) {
+                for (int i = 0; i < table.length; i++) {
+                    table[i] = (table[i] >>> 1) & RESET_MASK;
+                }
+                additions /= 2;
+            }
+        }
+
+        int frequency(int hash) {
+            int min = 15;
+            for (int i = 0; i < SEEDS.length; i++) {
+                int index = indexOf(hash, i);
+                min = Math.min(min, (int) ((table[index >>> 4] >>> ((index & 15) << 2)) & 0xF));
+            }
+            return min;
+        }
+
+        private int indexOf(int hash, int row) {
+            long h = (hash + SEEDS[row]) * SEEDS[(row + 1) & 3];
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.sdemo1.util;
+
+import java.util.function.IntToLongFunction;
+
+/**
+ * 점수 상위 K개 선택기 (크기 K의 최소 힙)
+ * - 후보 n개를 한 번씩만 보며 힙 루트(현재 K번째 점수)보다 큰 후보만 교체하므로 O(n log K)
+ * - 전체 정렬(O(n log n)) 없이 필요한 페이지 끝까지만 순위를 매긴다
+ *
+ * 점수는 long 하나로 비교하므로, 동점 처리 기준(예: 문서 번호)은 호출하는 쪽에서 하위 비트에 넣는다.
+ */
+public final class TopKSelector {
+
+    private TopKSelector() {
+    }
+
+    /**
+     * 점수가 높은 순서로 최대 k개의 후보 인덱스 선택
+     * @param n 후보 수 (인덱스 0 ~ n-1)
+     * @param score 후보 인덱스 → 점수 (클수록 앞)
+     * @param k 선택할 개수
+     * @return 점수 내림차순 후보 인덱스 배열
+     */
+    public static int[] select(int n, IntToLongFunction score, int k) {
+        Accumulator top = new Accumulator(Math.min(n, k));
+        for (int i = 0; i < n; i++) {
+            top.offer(i, score.applyAsLong(i));
+        }
+        return top.drainDescending();
+    }
+
+    /**
+     * 후보를 하나씩 넣는 상위 K개 선택기 (후보 범위를 나눠 훑거나, 들어간 후보에만 부가 정보를 남길 때 사용)
+     */
+    public static final class Accumulator {
+        private final long[] heapScores;
+        private final int[] heapItems;
+        private int count;
+
+        public Accumulator(int k) {
+            int size = Math.max(0, k);
+            this.heapScores = new long[size];
+            this.heapItems = new int[size];
+        }
+
+        /**
+         * 후보 추가
+         * @return 상위 K개에 들어갔으면 true (나중에 다른 후보에 밀려 빠질 수 있음)
+         */
+        public boolean offer(int item, long score) {
+            if (count < heapScores.length) {
+                heapScores[count] = score;
+                heapItems[count] = item;
+                siftUp(heapScores, heapItems, count++);
+                return true;
+            }
+            if (count > 0 && score > heapScores[0]) {
+                heapScores[0] = score;
+                heapItems[0] = item;
+                siftDown(heapScores, heapItems, 0, count);
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * 새 후보가 들어가려면 넘어야 하는 점수 (아직 K개가 안 찼으면 Long.MIN_VALUE, k = 0이면 Long.MAX_VALUE)
+         * 후보의 점수 상한이 이 값 이하면 점수를 다 계산하지 않고 건너뛸 수 있다
+         */
+        public long threshold() {
+            if (heapScores.length == 0) {
+                return Long.MAX_VALUE;
+            }
+            return count < heapScores.length ? Long.MIN_VALUE : heapScores[0];
+        }
+
+        /**
+         * 점수 내림차순 후보 배열 (호출 후에는 비어 있음)
+         */
+        public int[] drainDescending() {
+            // 최소 힙에서 하나씩 꺼내 뒤에서부터 채우면 내림차순이 된다
+            int[] result = new int[count];
+            for (int end = count - 1; end >= 0; end--) {
+                result[end] = heapItems[0];
+                heapScores[0] = heapScores[end];
+                heapItems[0] = heapItems[end];
+                siftDown(heapScores, heapItems, 0, end);
+            }
+            count = 0;
+            return result;
+        }
+    }
+
+    private static void siftUp(long[] scores, int[] items, int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (scores[parent] <= scores[index]) {
+                break;
+            }
+            swap(scores, items, parent, index);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(long[] scores, int[] items, int index, int size) {
+        while (true) {
+            int left = index * 2 + 1;
+            if (left >= size) {
+                break;
+            }
+            int smallest = left + 1 < size && scores[left + 1] < scores[left] ? left + 1 : left;
+            if (scores[index] <= scores[smallest]) {
+                break;
+            }
+            swap(scores, items, index, smallest);
+            index = smallest;
+        }
+    }
+
+    private static void swap(long[] scores, int[] items, int a, int b) {
+        long score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+        int item = items[a];
+        items[a] = items[b];
+        items[b] = item;
+    }
+}
@@ -0,0 +1,13 @@
+-- 냉장고 재료 목록 커서 페이지네이션 (FoodIngredient @Table indexes)
+-- 엔티티의 @Index는 자동 스키마 갱신을 쓰지 않으므로 생성되지 않는다. 배포 전에 직접 실행한다 (MySQL 8)
+
+-- 커서가 (created_at, f_in_id)이므로 created_at이 null인 행이 있으면 다음 커서를 만들 수 없다
+-- 등록 시 @PrePersist가 항상 채우므로, 예전 행만 수정 시각(없으면 현재 시각)으로 채운 뒤 NOT NULL로 바꾼다
+UPDATE food_ingredient
+SET created_at = COALESCE(modified_at, NOW(6))
+WHERE created_at IS NULL;
+
+ALTER TABLE food_ingredient MODIFY COLUMN created_at DATETIME(6) NOT NULL;
+
+-- member_id 고정 후 등록일 역순 탐색 (같은 시각이면 f_in_id 역순)
+CREATE INDEX idx_food_ingredient_member_created ON food_ingredient (member_id, created_at, f_in_id);
@@ -0,0 +1,18 @@
+-- 재료 행 비정규화 카테고리 컬럼 (FoodItem.mainCategoryId, subCategoryId)
+-- 엔티티가 두 컬럼을 매핑하므로 컬럼이 없으면 food_item 조회가 모두 실패한다 (카탈로그 적재, DB 조회, /food/* 전체)
+-- 자동 스키마 갱신에 맡기지 않으므로 배포 전에 직접 실행한다 (MySQL 8)
+
+ALTER TABLE food_item
+    ADD COLUMN main_category_id INT NULL,
+    ADD COLUMN sub_category_id  INT NULL;
+
+-- 메인 카테고리 조회: main_category_id 고정 후 food_id 순 범위 탐색
+CREATE INDEX idx_food_item_main_food ON food_item (main_category_id, food_id);
+
+-- 최초 채우기 (이후에는 관리자 캐시 갱신 때 FoodQueryDSLRepository.syncCategoryColumns가 맞춘다)
+-- 재료 행의 parent_id = 서브 카테고리 food_id, 서브 카테고리의 parent_id = 메인 카테고리 food_id (메인의 parent_id는 P/R)
+UPDATE food_item item
+    JOIN food_item sub ON item.parent_id = CAST(sub.food_id AS CHAR)
+    JOIN food_item main ON sub.parent_id = CAST(main.food_id AS CHAR) AND main.parent_id IN ('P', 'R')
+SET item.main_category_id = main.food_id,
+    item.sub_category_id  = sub.food_id;
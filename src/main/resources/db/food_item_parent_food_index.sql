@@ -0,0 +1,9 @@
+-- 재료 커서 페이지네이션 인덱스 (FoodItem @Table indexes)
+-- 엔티티의 @Index는 자동 스키마 갱신을 쓰지 않으므로 생성되지 않는다. 배포 전에 직접 실행한다 (MySQL 8)
+
+-- foodID 범위 탐색 (전체 재료 커서 조회)
+CREATE INDEX idx_food_item_food_id ON food_item (food_id);
+
+-- 서브 카테고리 커서 조회: parent_id 고정 후 food_id 순 탐색
+-- 없으면 페이지마다 같은 parent_id 행을 모두 읽고 정렬하므로 뒤쪽 페이지가 첫 페이지와 같은 비용이 되지 않는다
+CREATE INDEX idx_food_item_parent_food ON food_item (parent_id, food_id);
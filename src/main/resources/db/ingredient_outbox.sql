@@ -0,0 +1,18 @@
+-- 재료 등록 이벤트 아웃박스 테이블 (IngredientOutbox)
+-- 재료 등록 트랜잭션에서 행을 추가하므로 테이블이 없으면 등록 자체가 롤백된다
+-- 자동 스키마 갱신에 맡기지 않으므로 배포 전에 직접 실행한다 (MySQL 8)
+
+CREATE TABLE IF NOT EXISTS ingredient_outbox (
+    id           BIGINT       NOT NULL AUTO_INCREMENT,
+    member_id    INT          NOT NULL,
+    payload      TEXT         NOT NULL,
+    status       VARCHAR(10)  NOT NULL,
+    attempts     INT          NOT NULL,
+    available_at DATETIME(6)  NOT NULL,
+    lease_token  VARCHAR(36)  NULL,
+    last_error   VARCHAR(500) NULL,
+    created_at   DATETIME(6)  NULL,
+    PRIMARY KEY (id),
+    -- 가져갈 행 탐색 (FOR UPDATE SKIP LOCKED): 상태 고정 후 가용 시각 순으로 필요한 행만 잠근다
+    INDEX idx_ingredient_outbox_status_available (status, available_at, id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
@@ -0,0 +1,22 @@
+-- 냉장고 변경분 동기화 테이블 (PantrySyncState, PantryChangeLog)
+-- 자동 스키마 갱신에 맡기지 않으므로 배포 전에 직접 실행한다 (MySQL 8)
+
+CREATE TABLE IF NOT EXISTS pantry_sync_state (
+    member_id         INT         NOT NULL,
+    version           BIGINT      NOT NULL,
+    compacted_version BIGINT      NOT NULL,
+    modified_at       DATETIME(6) NULL,
+    PRIMARY KEY (member_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS pantry_change_log (
+    id             BIGINT      NOT NULL AUTO_INCREMENT,
+    member_id      INT         NOT NULL,
+    change_version BIGINT      NOT NULL,
+    food_id        INT         NOT NULL,
+    op             CHAR(1)     NOT NULL,
+    created_at     DATETIME(6) NULL,
+    PRIMARY KEY (id),
+    -- 변경 조회/정리: member_id 고정 후 버전 순 탐색
+    INDEX idx_pantry_change_member_version (member_id, change_version)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
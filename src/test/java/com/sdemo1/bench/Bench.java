@@ -0,0 +1,63 @@
+package com.sdemo1.bench;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+/**
+ * 벤치마크 테스트 공용 측정 도구 (./gradlew benchmark 로 실행, 일반 test 에서는 제외)
+ * - 워밍업 후 한 번 호출마다 걸린 시간을 재서 p50/p99/평균을 출력한다
+ * - 연산 결과를 sink에 모아 JIT가 호출을 지우지 못하게 한다
+ * - 절대값은 실행 환경에 따라 다르므로 같은 실행 안의 비교(기존 방식 대비)로만 해석한다
+ * - fork 분리가 없으므로 호출 한 번이 ms 단위인 측정에만 쓰고, µs 이하 마이크로벤치마크는 src/jmh 의 JMH로 잰다
+ */
+public final class Bench {
+
+    public static final String TAG = "benchmark";
+
+    private static volatile long sink;
+
+    private Bench() {
+    }
+
+    /**
+     * 측정 결과 (마이크로초)
+     */
+    public record Result(String name, int iterations, double p50Micros, double p99Micros, double meanMicros) {
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%-40s n=%-7d p50 %10.2fµs  p99 %10.2fµs  평균 %10.2fµs",
+                    name, iterations, p50Micros, p99Micros, meanMicros);
+        }
+    }
+
+    /**
+     * @param name 출력 이름
+     * @param warmup 워밍업 호출 수 (측정하지 않음)
+     * @param iterations 측정 호출 수
+     * @param operation 측정할 연산 (결과 크기 등 아무 값이나 반환)
+     */
+    public static Result measure(String name, int warmup, int iterations, LongSupplier operation) {
+        long acc = 0;
+        for (int i = 0; i < warmup; i++) {
+            acc += operation.getAsLong();
+        }
+        long[] nanos = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            acc += operation.getAsLong();
+            nanos[i] = System.nanoTime() - start;
+        }
+        sink += acc;
+
+        Arrays.sort(nanos);
+        double mean = Arrays.stream(nanos).average().orElse(0);
+        Result result = new Result(name, iterations,
+                nanos[iterations / 2] / 1000.0,
+                nanos[Math.min(iterations - 1, (int) (iterations * 0.99))] / 1000.0,
+                mean / 1000.0);
+        System.out.println(result);
+        return result;
+    }
+}
@@ -0,0 +1,40 @@
+package com.sdemo1.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 벤치마크용 합성 재료 이름
+ * - 실제 카탈로그(foodId 50000~59999, 약 1만 건)와 비슷하게 흔한 음절 2~5개 조합에 가끔 괄호 설명을 붙인다
+ * - 같은 seed면 같은 목록을 만든다
+ */
+public final class FoodNames {
+
+    private static final String SYLLABLES =
+            "대파양배추감자고구마당근무오이호박버섯표느타리새송시금치상깻잎늘생강피망토사과포도귤딸기수참외"
+            + "돼지소닭우유즈두부계란쌀밀가루된장간설탕식초멸치김미역다시마연어참치굴전복홍합새우꽃게";
+
+    private static final String[] SUFFIXES = {" (국산)", " (냉동)", " 슬라이스", " 다진것", "즙"};
+
+    private FoodNames() {
+    }
+
+    public static List<String> generate(int count, long seed) {
+        Random random = new Random(seed);
+        List<String> names = new ArrayList<>(count);
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            name.setLength(0);
+            int length = 2 + random.nextInt(4);
+            for (int j = 0; j < length; j++) {
+                name.append(SYLLABLES.charAt(random.nextInt(SYLLABLES.length())));
+            }
+            if (random.nextInt(5) == 0) {
+                name.append(SUFFIXES[random.nextInt(SUFFIXES.length)]);
+            }
+            names.add(name.toString());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,164 @@
+package com.sdemo1.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.LockSupport;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.sdemo1.bench.Bench;
+import com.sdemo1.request.FoodIngredientRequest;
+
+/**
+ * 냉장고 재료 등록 (10 / 100 / 1000건, 그중 5건마다 1건은 이미 등록됨): 재료별 INSERT IGNORE vs IN 조회 + 다중 행 INSERT IGNORE
+ * - H2(MySQL 모드) 메모리 DB라 네트워크가 없으므로, 문장마다 왕복 지연(0 / 500us)을 더해 RDS 왕복을 흉내 낸다
+ * - 1000건은 API 한도(100건)를 넘지만, insertIgnoreAll이 500행마다 문장을 나누는 경로를 재기 위해 저장소 단독으로 잰다
+ */
+@Tag(Bench.TAG)
+class FoodIngredientBatchBenchmark {
+
+    private static final String INSERT_ONE = """
+            INSERT IGNORE INTO food_ingredient (member_id, food_id, food_name, created_at, modified_at)
+            VALUES (?, ?, ?, NOW(), NOW())""";
+
+    @Test
+    void registerItems() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:pantry_bench;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        new JdbcTemplate(dataSource).execute("""
+                CREATE TABLE food_ingredient (
+                    f_in_id INT AUTO_INCREMENT PRIMARY KEY,
+                    member_id INT NOT NULL,
+                    food_id INT NOT NULL,
+                    food_name VARCHAR(100),
+                    created_at TIMESTAMP,
+                    modified_at TIMESTAMP,
+                    UNIQUE (member_id, food_id)
+                )""");
+
+        int[] nextMember = {1};
+        for (int items : new int[] {10, 100, 1_000}) {
+            List<FoodIngredientRequest> requests = new ArrayList<>();
+            for (int i = 0; i < items; i++) {
+                FoodIngredientRequest request = new FoodIngredientRequest();
+                request.setFoodID(50000 + i);
+                request.setFoodName("재료" + i);
+                requests.add(request);
+            }
+            int alreadyRegistered = items / 5;
+            int newItems = items - alreadyRegistered;
+
+            for (long rttMicros : new long[] {0, 500}) {
+                RoundTripJdbcTemplate jdbc = new RoundTripJdbcTemplate(dataSource, rttMicros * 1000);
+                FoodIngredientBatchRepository batchRepository = new FoodIngredientBatchRepository(jdbc);
+                // 재료별 방식은 문장 수가 건수에 비례하므로 건수가 클수록 반복을 줄인다
+                int iterations = rttMicros == 0
+                        ? Math.min(1_000, 100_000 / items)
+                        : Math.max(5, Math.min(30, 3_000 / items));
+                int warmup = rttMicros == 0 ? iterations / 5 : 2;
+
+                // 두 방식의 결과(추가된 행 수)가 같은지 먼저 확인
+                int perRowMember = seed(jdbc, nextMember[0]++, requests);
+                int batchMember = seed(jdbc, nextMember[0]++, requests);
+                assertThat(perRow(jdbc, perRowMember, requests)).isEqualTo(newItems);
+                assertThat(batch(batchRepository, batchMember, requests)).isEqualTo(newItems);
+
+                // 문장 수: 재료별은 건수만큼, 일괄은 IN 조회 1 + 500행마다 INSERT 1
+                int countedMember = seed(jdbc, nextMember[0]++, requests);
+                jdbc.statements = 0;
+                perRow(jdbc, countedMember, requests);
+                int perRowStatements = jdbc.statements;
+                countedMember = seed(jdbc, nextMember[0]++, requests);
+                jdbc.statements = 0;
+                batch(batchRepository, countedMember, requests);
+                int batchStatements = jdbc.statements;
+                assertThat(perRowStatements).isEqualTo(items);
+                assertThat(batchStatements).isEqualTo(1 + (newItems + FoodIngredientBatchRepository.MAX_ROWS_PER_STATEMENT - 1)
+                        / FoodIngredientBatchRepository.MAX_ROWS_PER_STATEMENT);
+                System.out.printf("%d건, 왕복 지연 %dus: 등록 1회당 문장 수 - 재료별 %d, 일괄 %d%n",
+                        items, rttMicros, perRowStatements, batchStatements);
+
+                // 측정 중에는 지연 없이 사용자별 기존 재료를 미리 넣어 둔다
+                int first = nextMember[0];
+                jdbc.seeding = true;
+                for (int i = 0; i < 2 * (warmup + iterations); i++) {
+                    seed(jdbc, nextMember[0]++, requests);
+                }
+                jdbc.seeding = false;
+                int[] member = {first};
+                Bench.measure("재료별 INSERT IGNORE, " + items + "건, 왕복 " + rttMicros + "us", warmup, iterations,
+                        () -> perRow(jdbc, member[0]++, requests));
+                Bench.measure("IN 조회 + 다중 행 INSERT, " + items + "건, 왕복 " + rttMicros + "us", warmup, iterations,
+                        () -> batch(batchRepository, member[0]++, requests));
+            }
+        }
+    }
+
+    // 5건마다 1건씩 기존 재료로 넣어 둔 사용자 ID 반환
+    private static int seed(JdbcTemplate jdbc, int memberId, List<FoodIngredientRequest> requests) {
+        for (int i = 0; i + 5 <= requests.size(); i += 5) {
+            jdbc.update(INSERT_ONE, memberId, requests.get(i).getFoodID(), requests.get(i).getFoodName());
+        }
+        return memberId;
+    }
+
+    // 개선 전 방식: 재료마다 INSERT IGNORE 한 문장
+    private static int perRow(JdbcTemplate jdbc, int memberId, List<FoodIngredientRequest> requests) {
+        int inserted = 0;
+        for (FoodIngredientRequest request : requests) {
+            inserted += jdbc.update(INSERT_ONE, memberId, request.getFoodID(), request.getFoodName());
+        }
+        return inserted;
+    }
+
+    // FoodIngredientService.createFoodIngredients 와 같은 순서: 기존 재료 IN 조회 후 새 재료만 일괄 추가
+    private static int batch(FoodIngredientBatchRepository repository, int memberId,
+                             List<FoodIngredientRequest> requests) {
+        Set<Integer> existing = new HashSet<>(repository.findExistingFoodIds(memberId,
+                requests.stream().map(FoodIngredientRequest::getFoodID).toList()));
+        List<FoodIngredientRequest> newRequests = requests.stream()
+                .filter(request -> !existing.contains(request.getFoodID()))
+                .toList();
+        return repository.insertIgnoreAll(memberId, newRequests);
+    }
+
+    /**
+     * 문장마다 왕복 지연을 더하고 실행한 문장 수를 세는 JdbcTemplate
+     */
+    private static final class RoundTripJdbcTemplate extends JdbcTemplate {
+        private final long rttNanos;
+        int statements;
+        boolean seeding;
+
+        RoundTripJdbcTemplate(JdbcDataSource dataSource, long rttNanos) {
+            super(dataSource);
+            this.rttNanos = rttNanos;
+        }
+
+        @Override
+        public int update(String sql, Object... args) {
+            roundTrip();
+            return super.update(sql, args);
+        }
+
+        @Override
+        public <T> List<T> queryForList(String sql, Class<T> elementType, Object... args) {
+            roundTrip();
+            return super.queryForList(sql, elementType, args);
+        }
+
+        private void roundTrip() {
+            statements++;
+            if (!seeding && rttNanos > 0) {
+                LockSupport.parkNanos(rttNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.sdemo1.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * CatalogInvalidationBus 버전 중복 제거와 재적재 실패 시 버전 되돌리기
+ * Redis는 카운터 하나와 발행 목록만 가진 대역으로 대신한다
+ */
+class CatalogInvalidationBusTest {
+
+    private FakeRedis redis;
+    private CountingRegistry registry;
+    private CountingCatalog catalog;
+    private CatalogInvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        redis = new FakeRedis();
+        registry = new CountingRegistry();
+        catalog = new CountingCatalog();
+        bus = new CatalogInvalidationBus(redis, new RedisMessageListenerContainer(), registry, catalog);
+    }
+
+    @Test
+    void reloadsOncePerVersion() {
+        bus.onMessage(message("1"), null);
+        bus.onMessage(message("1"), null);
+        bus.onMessage(message("\"1\""), null); // JSON 직렬화된 값도 같은 버전
+        bus.onMessage(message("0"), null);
+
+        assertThat(registry.refreshes).isEqualTo(1);
+        assertThat(catalog.reloads).isEqualTo(1);
+        // 메시지를 받은 노드는 DB 컬럼 동기화를 하지 않는다
+        assertThat(catalog.syncs).isEqualTo(0);
+
+        bus.onMessage(message("3"), null);
+        bus.onMessage(message("2"), null); // 늦게 도착한 이전 버전은 무시
+
+        assertThat(catalog.reloads).isEqualTo(2);
+        assertThat(bus.getStatus()).contains("적용 버전: 3");
+    }
+
+    @Test
+    void ignoresMalformedMessage() {
+        bus.onMessage(message("abc"), null);
+
+        assertThat(catalog.reloads).isEqualTo(0);
+        assertThat(bus.getStatus()).contains("적용 버전: 0");
+    }
+
+    @Test
+    void rollsBackVersionWhenReloadFails() {
+        catalog.failuresLeft = 1;
+
+        bus.onMessage(message("1"), null);
+
+        assertThat(catalog.reloads).isEqualTo(0);
+        assertThat(bus.getStatus()).contains("적용 버전: 0");
+
+        // 같은 버전을 보정 작업이 다시 읽으면 재적재를 다시 시도한다
+        redis.counter = 1;
+        bus.reconcile();
+
+        assertThat(catalog.reloads).isEqualTo(1);
+        assertThat(bus.getStatus()).contains("적용 버전: 1");
+
+        bus.reconcile();
+        assertThat(catalog.reloads).isEqualTo(1);
+    }
+
+    @Test
+    void publisherReloadsBeforePublishingAndIgnoresItsOwnMessage() {
+        redis.counter = 4;
+
+        bus.publishInvalidation();
+
+        assertThat(catalog.syncs).isEqualTo(1);
+        assertThat(catalog.reloads).isEqualTo(1);
+        assertThat(redis.published).containsExactly(CatalogInvalidationBus.CHANNEL + "=5");
+
+        bus.onMessage(message("5"), null);
+        bus.reconcile();
+        assertThat(catalog.reloads).isEqualTo(1);
+        assertThat(catalog.syncs).isEqualTo(1);
+    }
+
+    @Test
+    void reloadsLocallyWhenRedisIsDown() {
+        redis.down = true;
+
+        bus.publishInvalidation();
+
+        assertThat(registry.refreshes).isEqualTo(1);
+        assertThat(catalog.reloads).isEqualTo(1);
+        assertThat(redis.published).isEmpty();
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(CatalogInvalidationBus.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 버전 카운터(GET/INCR)와 발행(PUBLISH)만 흉내 내는 Redis 대역
+     */
+    private static final class FakeRedis extends StringRedisTemplate {
+        long counter;
+        boolean down;
+        final List<String> published = new ArrayList<>();
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public ValueOperations<String, String> opsForValue() {
+            return (ValueOperations<String, String>) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] {ValueOperations.class}, (proxy, method, args) -> {
+                        if (down) {
+                            throw new IllegalStateException("redis down");
+                        }
+                        return switch (method.getName()) {
+                            case "get" -> counter == 0 ? null : String.valueOf(counter);
+                            case "increment" -> ++counter;
+                            default -> throw new UnsupportedOperationException(method.getName());
+                        };
+                    });
+        }
+
+        @Override
+        public Long convertAndSend(String channel, Object message) {
+            if (down) {
+                throw new IllegalStateException("redis down");
+            }
+            published.add(channel + "=" + message);
+            return 1L;
+        }
+    }
+
+    private static final class CountingRegistry extends CategoryRegistry {
+        int refreshes;
+
+        CountingRegistry() {
+            super(null, null);
+        }
+
+        @Override
+        public void refresh() {
+            refreshes++;
+        }
+    }
+
+    private static final class CountingCatalog extends FoodCatalogService {
+        int reloads;
+        int syncs;
+        int failuresLeft;
+
+        CountingCatalog() {
+            super(null, null, null);
+        }
+
+        @Override
+        public synchronized void reload() {
+            if (failuresLeft > 0) {
+                failuresLeft--;
+                throw new IllegalStateException("reload failed");
+            }
+            reloads++;
+        }
+
+        @Override
+        public void syncCategoryColumns() {
+            syncs++;
+        }
+    }
+}
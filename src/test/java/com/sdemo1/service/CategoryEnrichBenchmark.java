@@ -0,0 +1,102 @@
+package com.sdemo1.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.sdemo1.bench.Bench;
+import com.sdemo1.entity.FoodItem;
+import com.sdemo1.util.CategoryTable;
+
+/**
+ * 목록 전체 카테고리 정보 채우기: 순차 처리(CategoryService.enrichAll) vs fork/join 분배 (1024건 단위, 최대 4스레드)
+ * - 병렬 분배가 이득인 크기가 있는지 확인하기 위한 측정 (코어 수에 따라 결과가 달라지므로 코어 수를 함께 출력)
+ */
+@Tag(Bench.TAG)
+class CategoryEnrichBenchmark {
+
+    private static final int MAINS = 20;
+    private static final int SUBS = 270;
+    private static final int CHUNK = 1024;
+
+    @Test
+    void sequentialVersusForkJoin() {
+        List<FoodItem> categories = new ArrayList<>();
+        for (int m = 0; m < MAINS; m++) {
+            categories.add(new FoodItem(m, 100 + m, "메인" + m, "P", null, null, null, 0, 0, null, null));
+        }
+        for (int s = 0; s < SUBS; s++) {
+            categories.add(new FoodItem(MAINS + s, 1000 + s, "서브" + s, String.valueOf(100 + s % MAINS),
+                    null, null, null, 0, 0, null, null));
+        }
+        CategoryTable table = CategoryTable.of(categories);
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, Math.min(4, cores)));
+        System.out.printf("코어 %d개, fork/join 스레드 %d개%n", cores, pool.getParallelism());
+        try {
+            for (int size : new int[] {100, 1_000, 10_000, 100_000}) {
+                List<FoodItem> sequential = items(size);
+                List<FoodItem> parallel = items(size);
+                CategoryService.enrichAll(table, sequential);
+                pool.invoke(new EnrichTask(table, parallel, 0, size));
+                for (int i = 0; i < size; i++) {
+                    assertThat(parallel.get(i).getSID()).isEqualTo(sequential.get(i).getSID());
+                    assertThat(parallel.get(i).getMName()).isEqualTo(sequential.get(i).getMName());
+                }
+
+                int iterations = Math.max(200, 2_000_000 / size);
+                Bench.measure("순차 " + size + "건", iterations / 5, iterations,
+                        () -> CategoryService.enrichAll(table, sequential).size());
+                Bench.measure("fork/join " + size + "건", iterations / 5, iterations, () -> {
+                    pool.invoke(new EnrichTask(table, parallel, 0, size));
+                    return size;
+                });
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static List<FoodItem> items(int size) {
+        Random random = new Random(size);
+        List<FoodItem> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(new FoodItem(i, 50000 + i, "재료" + i, String.valueOf(1000 + random.nextInt(SUBS)),
+                    null, null, null, 0, 0, null, null));
+        }
+        return items;
+    }
+
+    // 제거 전 CategoryService 의 fork/join 분배와 같은 방식
+    private static final class EnrichTask extends RecursiveAction {
+        private final CategoryTable table;
+        private final List<FoodItem> foodItems;
+        private final int from;
+        private final int to;
+
+        EnrichTask(CategoryTable table, List<FoodItem> foodItems, int from, int to) {
+            this.table = table;
+            this.foodItems = foodItems;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CHUNK) {
+                CategoryService.enrichAll(table, foodItems.subList(from, to));
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new EnrichTask(table, foodItems, from, mid), new EnrichTask(table, foodItems, mid, to));
+        }
+    }
+}
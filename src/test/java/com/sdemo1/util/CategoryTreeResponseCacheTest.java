@@ -0,0 +1,42 @@
+package com.sdemo1.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * CategoryTreeResponseCache.acceptsGzip: Accept-Encoding 토큰/q 값 해석
+ */
+class CategoryTreeResponseCacheTest {
+
+    @Test
+    void acceptsListedGzip() {
+        assertThat(CategoryTreeResponseCache.acceptsGzip("gzip")).isTrue();
+        assertThat(CategoryTreeResponseCache.acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(CategoryTreeResponseCache.acceptsGzip("br;q=1.0, GZIP;q=0.5")).isTrue();
+        assertThat(CategoryTreeResponseCache.acceptsGzip("x-gzip")).isTrue();
+    }
+
+    @Test
+    void rejectsGzipWithZeroQuality() {
+        assertThat(CategoryTreeResponseCache.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(CategoryTreeResponseCache.acceptsGzip("gzip; q=0.000, identity")).isFalse();
+        assertThat(CategoryTreeResponseCache.acceptsGzip("*, gzip;q=0")).isFalse();
+        assertThat(CategoryTreeResponseCache.acceptsGzip("gzip;q=abc")).isFalse();
+    }
+
+    @Test
+    void doesNotMatchOtherCodingsContainingGzip() {
+        assertThat(CategoryTreeResponseCache.acceptsGzip("x-gzip-unsupported")).isFalse();
+        assertThat(CategoryTreeResponseCache.acceptsGzip("deflate, br")).isFalse();
+        assertThat(CategoryTreeResponseCache.acceptsGzip("")).isFalse();
+        assertThat(CategoryTreeResponseCache.acceptsGzip(null)).isFalse();
+    }
+
+    @Test
+    void wildcardAppliesOnlyWhenGzipIsNotListed() {
+        assertThat(CategoryTreeResponseCache.acceptsGzip("*")).isTrue();
+        assertThat(CategoryTreeResponseCache.acceptsGzip("*;q=0")).isFalse();
+        assertThat(CategoryTreeResponseCache.acceptsGzip("*;q=0, gzip")).isTrue();
+    }
+}
@@ -0,0 +1,122 @@
+package com.sdemo1.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * FoodIdBitmap 연산을 HashSet 결과와 비교
+ * - 컨테이너 여러 개 (상위 16비트가 다른 foodId)
+ * - 배열/비트맵 컨테이너 경계 (컨테이너당 4096 / 4097개)
+ * - 배열·비트맵 조합별 교집합 경로, withBitmapContainers 사본
+ */
+class FoodIdBitmapTest {
+
+    private static final int[] SIZES = {0, 1, 2, 100, 4095, 4096, 4097, 10_000};
+
+    @Test
+    void matchesHashSetWithinOneContainer() {
+        Random random = new Random(1);
+        for (int sizeA : SIZES) {
+            for (int sizeB : SIZES) {
+                assertSameAsHashSet(randomIds(random, sizeA, 0, 65_536), randomIds(random, sizeB, 0, 65_536));
+            }
+        }
+    }
+
+    @Test
+    void matchesHashSetAcrossContainers() {
+        Random random = new Random(2);
+        for (int sizeA : SIZES) {
+            for (int sizeB : SIZES) {
+                // 0~5번 컨테이너 + 멀리 떨어진 컨테이너에 나눠 담는다
+                Set<Integer> a = randomIds(random, sizeA, 0, 6 * 65_536);
+                a.addAll(randomIds(random, sizeA / 10, 1 << 24, (1 << 24) + 65_536));
+                Set<Integer> b = randomIds(random, sizeB, 2 * 65_536, 8 * 65_536);
+                b.addAll(randomIds(random, sizeB / 10, 1 << 24, (1 << 24) + 65_536));
+                assertSameAsHashSet(a, b);
+            }
+        }
+    }
+
+    @Test
+    void arrayAndBitmapBoundaryKeepsEveryElement() {
+        for (int size : new int[] {4095, 4096, 4097}) {
+            int[] ids = new int[size];
+            for (int i = 0; i < size; i++) {
+                ids[i] = 50_000 + i * 3;
+            }
+            FoodIdBitmap bitmap = FoodIdBitmap.of(ids);
+
+            assertThat(bitmap.cardinality()).isEqualTo(size);
+            assertThat(bitmap.toArray()).containsExactly(ids);
+            assertThat(bitmap.contains(50_001)).isFalse();
+            assertThat(bitmap.contains(50_000 + (size - 1) * 3)).isTrue();
+            assertThat(bitmap.contains(50_000 + size * 3)).isFalse();
+        }
+    }
+
+    @Test
+    void ignoresDuplicatesNegativesAndNulls() {
+        FoodIdBitmap bitmap = FoodIdBitmap.of(5, 5, -1, 70_000, 3);
+        assertThat(bitmap.toArray()).containsExactly(3, 5, 70_000);
+        assertThat(bitmap.contains(-1)).isFalse();
+
+        FoodIdBitmap fromCollection = FoodIdBitmap.of(Arrays.asList(7, null, 7, 1));
+        assertThat(fromCollection.toArray()).containsExactly(1, 7);
+
+        assertThat(FoodIdBitmap.of()).isSameAs(FoodIdBitmap.EMPTY);
+        assertThat(FoodIdBitmap.EMPTY.isEmpty()).isTrue();
+    }
+
+    private static void assertSameAsHashSet(Set<Integer> a, Set<Integer> b) {
+        FoodIdBitmap bitmapA = FoodIdBitmap.of(a);
+        FoodIdBitmap bitmapB = FoodIdBitmap.of(b);
+
+        Set<Integer> intersection = new HashSet<>(a);
+        intersection.retainAll(b);
+        Set<Integer> difference = new TreeSet<>(a);
+        difference.removeAll(b);
+
+        for (FoodIdBitmap left : List.of(bitmapA, bitmapA.withBitmapContainers())) {
+            for (FoodIdBitmap right : List.of(bitmapB, bitmapB.withBitmapContainers())) {
+                assertThat(left.cardinality()).isEqualTo(a.size());
+                assertThat(left.andCardinality(right)).isEqualTo(intersection.size());
+                assertThat(right.andCardinality(left)).isEqualTo(intersection.size());
+                assertThat(left.intersects(right)).isEqualTo(!intersection.isEmpty());
+                assertThat(left.containsAll(right)).isEqualTo(a.containsAll(b));
+                assertThat(left.andNot(right)).containsExactly(toSortedArray(difference));
+            }
+            assertThat(left.toArray()).containsExactly(toSortedArray(a));
+            assertThat(left.containsAll(left)).isTrue();
+        }
+
+        for (int id : b) {
+            assertThat(bitmapA.contains(id)).isEqualTo(a.contains(id));
+        }
+        for (int id : a) {
+            assertThat(bitmapA.contains(id)).isTrue();
+        }
+    }
+
+    private static Set<Integer> randomIds(Random random, int size, int from, int to) {
+        Set<Integer> ids = new HashSet<>();
+        while (ids.size() < size) {
+            ids.add(from + random.nextInt(to - from));
+        }
+        return ids;
+    }
+
+    private static int[] toSortedArray(Set<Integer> ids) {
+        List<Integer> sorted = new ArrayList<>(new TreeSet<>(ids));
+        return sorted.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,96 @@
+package com.sdemo1.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.sdemo1.bench.Bench;
+import com.sdemo1.bench.FoodNames;
+
+/**
+ * 오타 검색 색인 vs 전체 이름 편집 거리 순차 계산 (DP)
+ * - 질의: 임의 이름의 자모 하나를 바꾸거나 지우거나 끼워 넣은 문자열
+ * - 허용 거리는 FoodCatalogService와 같이 자모 6개 이상이면 2, 아니면 1
+ */
+@Tag(Bench.TAG)
+class JamoFuzzyIndexBenchmark {
+
+    private static final int LONG_QUERY = 6;
+    private static final String JAMO = "ㄱㄴㄷㄹㅁㅂㅅㅇㅈㅊㅋㅌㅍㅎㅏㅑㅓㅕㅗㅛㅜㅠㅡㅣㅐㅔ";
+
+    @Test
+    void fuzzySearch() {
+        for (int size : new int[] {10_000, 40_000}) {
+            run(size);
+        }
+    }
+
+    private void run(int size) {
+        List<String> keys = FoodNames.generate(size, 42).stream().map(HangulUtils::toJamo).toList();
+        long start = System.nanoTime();
+        JamoFuzzyIndex index = JamoFuzzyIndex.build(keys);
+        System.out.printf("[%d건] 색인 생성 %dms, 약 %dKB%n", size, (System.nanoTime() - start) / 1_000_000,
+                index.estimatedBytes() / 1024);
+
+        Random random = new Random(7);
+        List<String> queries = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            queries.add(typo(keys.get(random.nextInt(size)), random));
+        }
+
+        // 색인 결과는 순차 계산과 같아야 한다 (빠지는 결과 없음)
+        long scanned = 0;
+        for (String query : queries) {
+            int k = maxDistance(query);
+            JamoFuzzyIndex.Result result = index.search(query, k);
+            int[] actual = result.docs().clone();
+            Arrays.sort(actual);
+            assertThat(actual).isEqualTo(scan(keys, query, k));
+            scanned += result.scanned();
+        }
+        System.out.printf("[%d건] 길이 조건 통과 평균 %d건/질의%n", size, scanned / queries.size());
+
+        int[] cursor = {0};
+        Bench.measure("[" + size + "] 오타 검색 색인", 2_000, 10_000, () -> {
+            String query = queries.get(cursor[0]++ % queries.size());
+            return index.search(query, maxDistance(query)).docs().length;
+        });
+        Bench.measure("[" + size + "] 순차 편집 거리 DP (기준)", 100, 1_000, () -> {
+            String query = queries.get(cursor[0]++ % queries.size());
+            return scan(keys, query, maxDistance(query)).length;
+        });
+    }
+
+    private static int maxDistance(String query) {
+        return query.length() >= LONG_QUERY ? 2 : 1;
+    }
+
+    private static int[] scan(List<String> keys, String query, int k) {
+        int[] result = new int[keys.size()];
+        int count = 0;
+        for (int doc = 0; doc < keys.size(); doc++) {
+            if (JamoFuzzyIndex.distance(query, keys.get(doc), k) <= k) {
+                result[count++] = doc;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static String typo(String key, Random random) {
+        StringBuilder query = new StringBuilder(key);
+        int position = random.nextInt(key.length());
+        char jamo = JAMO.charAt(random.nextInt(JAMO.length()));
+        switch (random.nextInt(3)) {
+            case 0 -> query.setCharAt(position, jamo);
+            case 1 -> query.deleteCharAt(position);
+            default -> query.insert(position, jamo);
+        }
+        return query.length() == 0 ? key : query.toString();
+    }
+}
@@ -0,0 +1,80 @@
+package com.sdemo1.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.sdemo1.bench.Bench;
+
+/**
+ * 레시피 추천 topK (레시피 100만 개 × 재료 10개, 재료 인기도 Zipf 0.8, 필수 재료 70%, k = 20)
+ * - 균등 냉장고: 재료 1만 종에서 고르게 선택
+ * - 편중 냉장고: 인기 재료 위주 (대부분의 레시피가 후보가 되는 최악에 가까운 경우)
+ * - 한 번 호출이 수 ms라 JIT 컴파일이 끝나도록 워밍업을 길게 둔다
+ */
+@Tag(Bench.TAG)
+class RecipeIngredientIndexBenchmark {
+
+    private static final int RECIPES = 1_000_000;
+    private static final int INGREDIENTS_PER_RECIPE = 10;
+    private static final int FOODS = 10_000;
+    private static final double ZIPF_EXPONENT = 0.8;
+    private static final int K = 20;
+
+    @Test
+    void topKOnMillionRecipes() {
+        Random random = new Random(2);
+        double[] cdf = new double[FOODS];
+        double total = 0;
+        for (int i = 0; i < FOODS; i++) {
+            total += 1.0 / Math.pow(i + 1, ZIPF_EXPONENT);
+            cdf[i] = total;
+        }
+
+        RecipeIngredientIndex index = new RecipeIngredientIndex();
+        long start = System.nanoTime();
+        for (int cookId = 1; cookId <= RECIPES; cookId++) {
+            int[] foodIds = new int[INGREDIENTS_PER_RECIPE];
+            boolean[] required = new boolean[INGREDIENTS_PER_RECIPE];
+            for (int i = 0; i < INGREDIENTS_PER_RECIPE; i++) {
+                foodIds[i] = zipfFood(random, cdf, total);
+                required[i] = random.nextInt(10) < 7;
+            }
+            index.put(cookId, foodIds, required);
+        }
+        System.out.printf("색인 생성 %dms, %s%n", (System.nanoTime() - start) / 1_000_000, index.describe());
+        assertThat(index.size()).isEqualTo(RECIPES);
+
+        for (int pantrySize : new int[] {30, 100, 300}) {
+            int[][] uniform = new int[50][];
+            int[][] skewed = new int[50][];
+            for (int p = 0; p < uniform.length; p++) {
+                uniform[p] = random.ints(50_000, 50_000 + FOODS).distinct().limit(pantrySize).toArray();
+                Set<Integer> pantry = new LinkedHashSet<>();
+                while (pantry.size() < pantrySize) {
+                    pantry.add(zipfFood(random, cdf, total));
+                }
+                skewed[p] = pantry.stream().mapToInt(Integer::intValue).toArray();
+            }
+            int[] cursor = {0};
+            Bench.measure("균등 냉장고 " + pantrySize + "개", 200, 200,
+                    () -> index.topK(uniform[cursor[0]++ % uniform.length], K).size());
+            Bench.measure("편중 냉장고 " + pantrySize + "개", 200, 200,
+                    () -> index.topK(skewed[cursor[0]++ % skewed.length], K).size());
+        }
+    }
+
+    private static int zipfFood(Random random, double[] cdf, double total) {
+        int rank = Arrays.binarySearch(cdf, random.nextDouble() * total);
+        if (rank < 0) {
+            rank = -rank - 1;
+        }
+        return 50_000 + Math.min(rank, FOODS - 1);
+    }
+}
@@ -0,0 +1,206 @@
+package com.sdemo1.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * RecipeIngredientIndex.topK 결과를 모든 레시피의 점수를 직접 계산해 정렬한 결과와 비교
+ * - 레시피 추가/교체/삭제를 섞어 빈 슬롯 정리(compact)도 거치게 한다
+ * - 동점 순서는 먼저 색인된 레시피 우선 (마지막으로 put 한 순서)
+ */
+class RecipeIngredientIndexTest {
+
+    /**
+     * 기준 구현이 보관하는 레시피 (order: 마지막으로 색인된 순서)
+     */
+    private record Recipe(int cookId, int[] foodIds, boolean[] required, long order) {
+    }
+
+    @Test
+    void topKMatchesBruteForceUnderUpdates() {
+        Random random = new Random(2);
+        for (int round = 0; round < 200; round++) {
+            RecipeIngredientIndex index = new RecipeIngredientIndex();
+            Map<Integer, Recipe> reference = new HashMap<>();
+            int operations = 1 + random.nextInt(4_000);
+            for (int op = 0; op < operations; op++) {
+                int cookId = 1 + random.nextInt(2_500);
+                if (random.nextInt(4) == 0) {
+                    index.remove(cookId);
+                    reference.remove(cookId);
+                } else {
+                    Recipe recipe = randomRecipe(random, cookId, op, 1 + random.nextInt(14), 200);
+                    index.put(cookId, recipe.foodIds(), recipe.required());
+                    reference.put(cookId, recipe);
+                }
+            }
+            assertThat(index.size()).isEqualTo(reference.size());
+
+            int[] pantry = random.ints(50_000, 50_200).limit(1 + random.nextInt(80)).toArray();
+            int k = 1 + random.nextInt(30);
+            assertSameRanking(index, reference, pantry, k);
+        }
+    }
+
+    @Test
+    void topKMatchesBruteForceAcrossSlotBlocks() {
+        // 슬롯 블록(64K) 경계를 넘는 레시피 수
+        Random random = new Random(3);
+        RecipeIngredientIndex index = new RecipeIngredientIndex();
+        Map<Integer, Recipe> reference = new HashMap<>();
+        for (int cookId = 1; cookId <= 150_000; cookId++) {
+            Recipe recipe = randomRecipe(random, cookId, cookId, 1 + random.nextInt(10), 2_000);
+            index.put(cookId, recipe.foodIds(), recipe.required());
+            reference.put(cookId, recipe);
+        }
+        for (int round = 0; round < 5; round++) {
+            int[] pantry = random.ints(50_000, 52_000).limit(100).toArray();
+            assertSameRanking(index, reference, pantry, 20);
+        }
+    }
+
+    @Test
+    void matchReportsCounts() {
+        RecipeIngredientIndex index = new RecipeIngredientIndex();
+        // 중복 재료는 한 번만, 하나라도 필수면 필수
+        index.put(7, new int[] {1, 2, 3, 4, 2}, new boolean[] {true, false, true, false, true});
+
+        List<RecipeIngredientIndex.Match> matches = index.topK(new int[] {1, 2, 4}, 5);
+
+        assertThat(matches).hasSize(1);
+        RecipeIngredientIndex.Match match = matches.get(0);
+        assertThat(match.cookId()).isEqualTo(7);
+        assertThat(match.ingredientCount()).isEqualTo(4);
+        assertThat(match.matchedCount()).isEqualTo(3);
+        assertThat(match.missingRequiredCount()).isEqualTo(1); // 3
+        assertThat(match.optionalMatchedCount()).isEqualTo(1); // 4
+        assertThat(match.optionalCount()).isEqualTo(1);
+        assertThat(match.cookable()).isFalse();
+
+        assertThat(index.topK(new int[] {99}, 5)).isEmpty();
+    }
+
+    @Test
+    void truncatedRecipeIsNeverCookable() {
+        RecipeIngredientIndex index = new RecipeIngredientIndex();
+        int[] pantry = new int[40];
+        boolean[] optional = new boolean[40];
+        for (int i = 0; i < pantry.length; i++) {
+            pantry[i] = 50_000 + i;
+        }
+        // 서로 다른 재료 32개까지는 그대로, 40개는 잘라서 색인
+        assertThat(index.put(1, Arrays.copyOf(pantry, 32), Arrays.copyOf(optional, 32))).isFalse();
+        assertThat(index.put(2, pantry, optional)).isTrue();
+        assertThat(index.describe()).contains("잘린 레시피 1개");
+
+        // 재료를 모두 가지고 있어도 잘린 레시피는 필수 재료 하나가 부족한 것으로 본다
+        List<RecipeIngredientIndex.Match> matches = index.topK(pantry, 5);
+        assertThat(matches).hasSize(2);
+        assertThat(matches.get(0).cookId()).isEqualTo(1);
+        assertThat(matches.get(0).cookable()).isTrue();
+        assertThat(matches.get(1).cookId()).isEqualTo(2);
+        assertThat(matches.get(1).missingRequiredCount()).isEqualTo(1);
+        assertThat(matches.get(1).ingredientCount()).isEqualTo(RecipeIngredientIndex.MAX_INGREDIENTS - 1);
+        assertThat(matches.get(1).cookable()).isFalse();
+
+        index.put(2, new int[] {50_000}, new boolean[] {true});
+        assertThat(index.describe()).contains("잘린 레시피 0개");
+    }
+
+    @Test
+    void fullRecipeWithLastIngredientRequiredIsNotTruncated() {
+        RecipeIngredientIndex index = new RecipeIngredientIndex();
+        int[] foodIds = new int[RecipeIngredientIndex.MAX_INGREDIENTS];
+        boolean[] required = new boolean[foodIds.length];
+        for (int i = 0; i < foodIds.length; i++) {
+            foodIds[i] = 50_000 + i;
+        }
+        // 32번째 재료가 필수면 필수 재료 비트셋의 마지막 비트가 켜지지만 잘린 레시피는 아니다
+        required[foodIds.length - 1] = true;
+        assertThat(index.put(1, foodIds, required)).isFalse();
+        assertThat(index.describe()).contains("잘린 레시피 0개");
+
+        List<RecipeIngredientIndex.Match> matches = index.topK(foodIds, 5);
+        assertThat(matches).hasSize(1);
+        assertThat(matches.get(0).ingredientCount()).isEqualTo(RecipeIngredientIndex.MAX_INGREDIENTS);
+        assertThat(matches.get(0).cookable()).isTrue();
+
+        index.remove(1);
+        assertThat(index.describe()).contains("잘린 레시피 0개");
+    }
+
+    private static void assertSameRanking(RecipeIngredientIndex index, Map<Integer, Recipe> reference,
+                                          int[] pantry, int k) {
+        Set<Integer> pantrySet = new HashSet<>();
+        for (int foodId : pantry) {
+            pantrySet.add(foodId);
+        }
+        List<long[]> expected = new ArrayList<>();
+        for (Recipe recipe : reference.values()) {
+            long score = score(recipe, pantrySet);
+            if (score >= 0) {
+                expected.add(new long[] {score, recipe.cookId()});
+            }
+        }
+        expected.sort((a, b) -> Long.compare(b[0], a[0]));
+
+        List<RecipeIngredientIndex.Match> actual = index.topK(pantry, k);
+        assertThat(actual).hasSize(Math.min(k, expected.size()));
+        for (int i = 0; i < actual.size(); i++) {
+            assertThat(actual.get(i).cookId()).isEqualTo((int) expected.get(i)[1]);
+        }
+        // 스레드별 작업 배열이 비워졌는지 (같은 질의를 다시 해도 같은 결과)
+        assertThat(index.topK(pantry, k)).isEqualTo(actual);
+    }
+
+    // 클래스 설명의 순서를 그대로 계산: 부족한 필수 재료 수 → 선택 재료 보유 비율 → 보유 수 → 먼저 색인된 순
+    private static long score(Recipe recipe, Set<Integer> pantry) {
+        Map<Integer, Boolean> distinct = new LinkedHashMap<>();
+        for (int i = 0; i < recipe.foodIds().length; i++) {
+            distinct.merge(recipe.foodIds()[i], recipe.required()[i], Boolean::logicalOr);
+        }
+        int matched = 0;
+        int missingRequired = 0;
+        int optionalMatched = 0;
+        int optional = 0;
+        for (Map.Entry<Integer, Boolean> ingredient : distinct.entrySet()) {
+            boolean has = pantry.contains(ingredient.getKey());
+            matched += has ? 1 : 0;
+            if (ingredient.getValue()) {
+                missingRequired += has ? 0 : 1;
+            } else {
+                optional++;
+                optionalMatched += has ? 1 : 0;
+            }
+        }
+        if (matched == 0) {
+            return -1;
+        }
+        long coverage = optional == 0 ? 0xFFFF : optionalMatched * 0xFFFFL / optional;
+        return ((long) (RecipeIngredientIndex.MAX_INGREDIENTS - missingRequired) << 53)
+                | (coverage << 37)
+                | ((long) matched << 31)
+                | (Integer.MAX_VALUE - recipe.order());
+    }
+
+    private static Recipe randomRecipe(Random random, int cookId, long order, int length, int foodRange) {
+        int[] foodIds = new int[length];
+        boolean[] required = new boolean[length];
+        for (int i = 0; i < length; i++) {
+            foodIds[i] = 50_000 + random.nextInt(foodRange);
+            required[i] = random.nextInt(10) < 7;
+        }
+        return new Recipe(cookId, foodIds, required, order);
+    }
+}
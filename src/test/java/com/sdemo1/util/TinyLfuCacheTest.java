@@ -0,0 +1,127 @@
+package com.sdemo1.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * TinyLfuCache 승인/승격/퇴출과 바이트 한도
+ * - maxBytes 1000 → window 10, main 990 (protected 792)
+ * - 값(Integer)이 곧 무게(바이트)
+ */
+class TinyLfuCacheTest {
+
+    private static final long MAX_BYTES = 1000;
+
+    private final TinyLfuCache<String, Integer> cache = new TinyLfuCache<>(MAX_BYTES, 100, value -> value);
+
+    @Test
+    void newEntryStaysInWindowUntilPushedOut() {
+        cache.put("a", 10);
+        assertThat(cache.segmentOf("a")).isEqualTo("window");
+
+        cache.put("b", 10);
+        assertThat(cache.segmentOf("a")).isEqualTo("probation");
+        assertThat(cache.segmentOf("b")).isEqualTo("window");
+    }
+
+    @Test
+    void probationHitIsPromotedToProtected() {
+        cache.put("a", 10);
+        cache.put("b", 10);
+
+        assertThat(cache.get("a")).isEqualTo(10);
+        assertThat(cache.segmentOf("a")).isEqualTo("protected");
+    }
+
+    @Test
+    void coldCandidateIsRejectedWhenMainIsFull() {
+        fillMain("hot", 3);
+
+        cache.put("cold1", 10);
+        cache.put("cold2", 10); // cold1이 window에서 밀려나 승인 심사
+
+        assertThat(cache.segmentOf("cold1")).isNull();
+        for (int i = 0; i < 99; i++) {
+            assertThat(cache.segmentOf("hot" + i)).isNotNull();
+        }
+        assertThat(cache.usedBytes()).isLessThanOrEqualTo(MAX_BYTES);
+    }
+
+    @Test
+    void frequentCandidateEvictsProbationLruWhenMainIsFull() {
+        fillMain("cold", 0);
+        for (int i = 0; i < 5; i++) {
+            assertThat(cache.get("popular")).isNull(); // 미적중도 빈도에 기록된다
+        }
+
+        cache.put("popular", 10);
+        cache.put("next", 10);
+
+        assertThat(cache.segmentOf("popular")).isEqualTo("probation");
+        assertThat(cache.segmentOf("cold0")).isNull(); // probation에서 가장 오래된 항목이 퇴출
+        assertThat(cache.segmentOf("cold1")).isEqualTo("probation");
+        assertThat(cache.usedBytes()).isLessThanOrEqualTo(MAX_BYTES);
+    }
+
+    @Test
+    void oversizeEntryGoesStraightToAdmissionAndKeepsByteBound() {
+        fillMain("hot", 3);
+
+        // window(10)보다 큰 새 항목은 window에 남지 않고 바로 승인 심사 → 빈도가 낮아 거절
+        cache.put("large", 500);
+        assertThat(cache.segmentOf("large")).isNull();
+        assertThat(cache.usedBytes()).isLessThanOrEqualTo(MAX_BYTES);
+
+        // 빈도가 높으면 승인되고, 자리를 만들 만큼 main에서 퇴출
+        for (int i = 0; i < 10; i++) {
+            cache.get("large2");
+        }
+        cache.put("large2", 500);
+        assertThat(cache.segmentOf("large2")).isEqualTo("probation");
+        assertThat(cache.usedBytes()).isLessThanOrEqualTo(MAX_BYTES);
+    }
+
+    @Test
+    void valueLargerThanMainIsNeverStored() {
+        cache.put("huge", 995);
+
+        assertThat(cache.segmentOf("huge")).isNull();
+        assertThat(cache.usedBytes()).isEqualTo(0L);
+    }
+
+    @Test
+    void replacingKeyDoesNotDoubleCountBytes() {
+        cache.put("a", 10);
+        cache.put("a", 8);
+
+        assertThat(cache.usedBytes()).isEqualTo(8L);
+        assertThat(cache.get("a")).isEqualTo(8);
+    }
+
+    @Test
+    void byteBoundHoldsUnderMixedWorkload() {
+        java.util.Random random = new java.util.Random(1);
+        for (int i = 0; i < 20_000; i++) {
+            String key = "k" + (int) Math.abs(random.nextGaussian() * 50);
+            if (cache.get(key) == null) {
+                cache.put(key, 1 + random.nextInt(200));
+            }
+            assertThat(cache.usedBytes()).isLessThanOrEqualTo(MAX_BYTES);
+        }
+    }
+
+    // 무게 10짜리 항목 99개(prefix0~98)로 main(990)을 채우고 각각 reads번 조회
+    private void fillMain(String prefix, int reads) {
+        for (int i = 0; i < 100; i++) {
+            cache.put(prefix + i, 10);
+        }
+        // 마지막 항목(prefix99)은 window에 남아 있으므로 따로 밀어낸다
+        cache.put("filler", 10);
+        for (int r = 0; r < reads; r++) {
+            for (int i = 0; i < 99; i++) {
+                cache.get(prefix + i);
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.sdemo1.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * TopKSelector 결과를 전체 정렬 후 앞 K개와 비교
+ */
+class TopKSelectorTest {
+
+    @Test
+    void matchesFullSort() {
+        Random random = new Random(1);
+        for (int round = 0; round < 500; round++) {
+            int n = random.nextInt(2_000);
+            // 점수 범위를 좁혀 동점이 자주 나오게 하고, 하위 비트에 인덱스를 넣어 순서를 하나로 정한다
+            long[] scores = new long[n];
+            for (int i = 0; i < n; i++) {
+                scores[i] = ((long) random.nextInt(50) << 32) | (Integer.MAX_VALUE - i);
+            }
+            int k = random.nextInt(40);
+
+            assertThat(TopKSelector.select(n, i -> scores[i], k)).containsExactly(bruteForce(scores, k));
+        }
+    }
+
+    @Test
+    void returnsEverythingWhenKExceedsCandidates() {
+        long[] scores = {3, 9, 1, 7};
+
+        assertThat(TopKSelector.select(scores.length, i -> scores[i], 10)).containsExactly(1, 3, 0, 2);
+        assertThat(TopKSelector.select(scores.length, i -> scores[i], 0)).isEmpty();
+        assertThat(TopKSelector.select(0, i -> 0, 5)).isEmpty();
+    }
+
+    @Test
+    void accumulatorReportsWhetherCandidateEntered() {
+        TopKSelector.Accumulator top = new TopKSelector.Accumulator(2);
+
+        assertThat(top.offer(0, 5)).isTrue();
+        assertThat(top.offer(1, 3)).isTrue();
+        assertThat(top.offer(2, 1)).isFalse(); // 현재 2위(3)보다 낮음
+        assertThat(top.offer(3, 3)).isFalse(); // 같은 점수는 먼저 들어온 후보 유지
+        assertThat(top.offer(4, 8)).isTrue();
+
+        assertThat(top.drainDescending()).containsExactly(4, 0);
+        assertThat(top.drainDescending()).isEmpty();
+    }
+
+    private static int[] bruteForce(long[] scores, int k) {
+        Integer[] order = new Integer[scores.length];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, Comparator.comparingLong((Integer i) -> scores[i]).reversed());
+        return Arrays.stream(order).limit(k).mapToInt(Integer::intValue).toArray();
+    }
+}